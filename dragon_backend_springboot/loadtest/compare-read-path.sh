@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Runs hot-reads.js against the backend twice, on the JPA read path and with the reactive-reads profile, and
+# prints throughput and latency per scenario side by side. Needs k6, jq and a PostgreSQL database as in
+# application.yml.
+#   ./compare-read-path.sh [vus] [duration]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VUS="${1:-500}"
+DURATION="${2:-2m}"
+OUT="target/loadtest"
+JAR="$(ls target/dragon_backend_springboot-*.jar 2>/dev/null | grep -v plain | head -1 || true)"
+
+if [ -z "$JAR" ]; then
+    ./mvnw -B -q -DskipTests package
+    JAR="$(ls target/dragon_backend_springboot-*.jar | grep -v plain | head -1)"
+fi
+mkdir -p "$OUT"
+
+run() {
+    local mode="$1" profiles="$2"
+    java -jar "$JAR" --spring.profiles.active="$profiles" --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.com.dragon.backend=INFO --logging.level.org.springframework.web=INFO \
+        > "$OUT/$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -s -o /dev/null http://localhost:8080/actuator/health; do sleep 1; done
+
+    k6 run --quiet -e VUS="$VUS" -e DURATION="$DURATION" --summary-export "$OUT/$mode.json" loadtest/hot-reads.js || true
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run jpa "${SPRING_PROFILES:-default}"
+run reactive "${SPRING_PROFILES:-default},reactive-reads"
+
+printf '%-10s %-20s %10s %8s %8s %8s %10s\n' mode scenario req/s p50 p95 p99 failed
+for mode in jpa reactive; do
+    for scenario in team_trainings lineup_by_training roster; do
+        jq -r --arg mode "$mode" --arg s "$scenario" '
+            .metrics["http_reqs{scenario:" + $s + "}"] as $r
+            | .metrics["http_req_duration{scenario:" + $s + "}"] as $d
+            | .metrics["http_req_failed{scenario:" + $s + "}"] as $f
+            | [$mode, $s, ($r.rate | floor), ($d["p(50)"] | floor), ($d["p(95)"] | floor), ($d["p(99)"] | floor),
+               $f.value] | @tsv' \
+            "$OUT/$mode.json" | xargs printf '%-10s %-20s %10s %8s %8s %8s %10s\n'
+    done
+done
+echo "Logs and raw summaries: $OUT"
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Runs lineup-mix.js against the backend twice, on platform threads and with the virtual-threads profile, and
+# prints both summaries side by side. Needs Java 21+, k6, jq and a PostgreSQL database as in application.yml.
+#   ./compare-threading.sh [rate] [duration]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RATE="${1:-200}"
+DURATION="${2:-2m}"
+OUT="target/loadtest"
+JAR="$(ls target/dragon_backend_springboot-*.jar 2>/dev/null | grep -v plain | head -1 || true)"
+
+if [ -z "$JAR" ]; then
+    ./mvnw -B -q -Pjava21 -DskipTests package
+    JAR="$(ls target/dragon_backend_springboot-*.jar | grep -v plain | head -1)"
+fi
+mkdir -p "$OUT"
+
+run() {
+    local mode="$1" profiles="$2"
+    java -XX:StartFlightRecording=filename="$OUT/$mode.jfr",settings=profile \
+        -jar "$JAR" --spring.profiles.active="$profiles" --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.com.dragon.backend=INFO --logging.level.org.springframework.web=INFO \
+        > "$OUT/$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -s -o /dev/null http://localhost:8080/actuator/health; do sleep 1; done
+
+    k6 run --quiet -e RATE="$RATE" -e DURATION="$DURATION" --summary-export "$OUT/$mode.json" loadtest/lineup-mix.js
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform "${SPRING_PROFILES:-default}"
+run virtual "${SPRING_PROFILES:-default},virtual-threads"
+
+printf '%-10s %-14s %8s %8s %8s %10s\n' mode scenario p50 p95 p99 failed
+for mode in platform virtual; do
+    for scenario in lineup_read lineup_write login; do
+        jq -r --arg mode "$mode" --arg s "$scenario" '
+            .metrics["http_req_duration{scenario:" + $s + "}"] as $d
+            | .metrics["http_req_failed{scenario:" + $s + "}"] as $f
+            | [$mode, $s, ($d["p(50)"] | floor), ($d["p(95)"] | floor), ($d["p(99)"] | floor), $f.value] | @tsv' \
+            "$OUT/$mode.json" | xargs printf '%-10s %-14s %8s %8s %8s %10s\n'
+    done
+done
+echo "Recordings, logs and raw summaries: $OUT (pinning: jfr print --events jdk.VirtualThreadPinned $OUT/virtual.jfr)"
@@ -0,0 +1,80 @@
+// k6 load test: the three hot reads with a fixed number of concurrent clients, to compare throughput.
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=500 hot-reads.js
+// Needs trainings with lineups and team rosters (e.g. the sample data) and the admin user from DataInitializer.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 500); // Concurrent clients, each sending its next request as soon as one returns
+const DURATION = __ENV.DURATION || '2m';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+
+function scenario(exec, share) {
+    return {
+        executor: 'constant-vus',
+        exec,
+        vus: Math.max(1, Math.round(VUS * share)),
+        duration: DURATION,
+    };
+}
+
+export const options = {
+    scenarios: {
+        team_trainings: scenario('teamTrainings', 0.40),
+        lineup_by_training: scenario('lineupByTraining', 0.35),
+        roster: scenario('roster', 0.25),
+    },
+    // Per-scenario thresholds also make k6 export the per-scenario numbers compare-read-path.sh reads
+    thresholds: {
+        'http_reqs{scenario:team_trainings}': ['count>0'],
+        'http_reqs{scenario:lineup_by_training}': ['count>0'],
+        'http_reqs{scenario:roster}': ['count>0'],
+        'http_req_duration{scenario:team_trainings}': ['p(95)<500'],
+        'http_req_duration{scenario:lineup_by_training}': ['p(95)<500'],
+        'http_req_duration{scenario:roster}': ['p(95)<500'],
+        'http_req_failed{scenario:team_trainings}': ['rate<0.01'],
+        'http_req_failed{scenario:lineup_by_training}': ['rate<0.01'],
+        'http_req_failed{scenario:roster}': ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const login = http.post(`${BASE_URL}/api/auth/token`, JSON.stringify({ username: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    const access = login.json('access');
+    const headers = { Authorization: `Bearer ${access}` };
+    const lineups = http.get(`${BASE_URL}/api/lineups?limit=100`, { headers }).json('results');
+    const trainingIds = lineups.map((lineup) => lineup.training.id);
+    const teamIds = [...new Set(lineups.map((lineup) => lineup.training.team.id))];
+    if (trainingIds.length === 0) {
+        throw new Error('No lineups to test against');
+    }
+    return { access, trainingIds, teamIds };
+}
+
+function pick(ids) {
+    return ids[Math.floor(Math.random() * ids.length)];
+}
+
+// Plain GETs without If-None-Match, so every request runs its queries
+function get(data, path, name) {
+    const res = http.get(`${BASE_URL}${path}`, {
+        headers: { Authorization: `Bearer ${data.access}` },
+        tags: { name },
+    });
+    check(res, { [`${name} 200`]: (r) => r.status === 200 });
+}
+
+export function teamTrainings(data) {
+    get(data, `/api/trainings?teamId=${pick(data.teamIds)}`, 'GET /api/trainings?teamId=');
+}
+
+export function lineupByTraining(data) {
+    get(data, `/api/lineups?trainingId=${pick(data.trainingIds)}`, 'GET /api/lineups?trainingId=');
+}
+
+export function roster(data) {
+    get(data, `/api/memberships?teamId=${pick(data.teamIds)}`, 'GET /api/memberships?teamId=');
+}
@@ -0,0 +1,85 @@
+// k6 load test: lineup reads, lineup writes and logins at fixed arrival rates.
+//   k6 run -e BASE_URL=http://localhost:8080 -e RATE=200 lineup-mix.js
+// Needs lineups with at least seats L1 and L2 (e.g. the sample data) and the admin user from DataInitializer.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = Number(__ENV.RATE || 200); // Requests per second over all three scenarios
+const DURATION = __ENV.DURATION || '2m';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+
+function scenario(exec, share) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec,
+        rate: Math.max(1, Math.round(RATE * share)),
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: Math.max(10, Math.round(RATE * share)),
+        maxVUs: Math.max(50, RATE * 4),
+    };
+}
+
+export const options = {
+    scenarios: {
+        lineup_read: scenario('lineupRead', 0.80),
+        lineup_write: scenario('lineupWrite', 0.15),
+        login: scenario('login', 0.05),
+    },
+    // Per-scenario thresholds also make k6 export the per-scenario numbers compare-threading.sh reads
+    thresholds: {
+        'http_req_duration{scenario:lineup_read}': ['p(95)<250'],
+        'http_req_duration{scenario:lineup_write}': ['p(95)<500'],
+        'http_req_duration{scenario:login}': ['p(95)<1000'],
+        'http_req_failed{scenario:lineup_read}': ['rate<0.01'],
+        'http_req_failed{scenario:lineup_write}': ['rate<0.01'],
+        'http_req_failed{scenario:login}': ['rate<0.05'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function token() {
+    const res = http.post(`${BASE_URL}/api/auth/token`, JSON.stringify({ username: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login 200': (r) => r.status === 200 });
+    return res.json('access');
+}
+
+export function setup() {
+    const access = token();
+    const res = http.get(`${BASE_URL}/api/lineups?limit=50`, { headers: { Authorization: `Bearer ${access}` } });
+    const lineupIds = res.json('results').map((lineup) => lineup.id);
+    if (lineupIds.length === 0) {
+        throw new Error('No lineups to test against');
+    }
+    return { access, lineupIds };
+}
+
+function pick(ids) {
+    return ids[Math.floor(Math.random() * ids.length)];
+}
+
+export function lineupRead(data) {
+    const res = http.get(`${BASE_URL}/api/lineups/${pick(data.lineupIds)}/full`, {
+        headers: { Authorization: `Bearer ${data.access}` },
+        tags: { name: 'GET /api/lineups/{id}/full' },
+    });
+    check(res, { 'read 200': (r) => r.status === 200 });
+}
+
+export function lineupWrite(data) {
+    const res = http.post(`${BASE_URL}/api/lineups/${pick(data.lineupIds)}/seats/swap`, JSON.stringify({
+        from: { side: 'L', seatNumber: 1 },
+        to: { side: 'L', seatNumber: 2 },
+    }), {
+        headers: { Authorization: `Bearer ${data.access}`, 'Content-Type': 'application/json' },
+        tags: { name: 'POST /api/lineups/{id}/seats/swap' },
+    });
+    check(res, { 'write 200': (r) => r.status === 200 });
+}
+
+export function login() {
+    token();
+}
@@ -0,0 +1,40 @@
+package com.dragon.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    public static final String TEAMS = "teams";
+    public static final String LOCATIONS = "locations"; // Embeds the location's team DTO
+    public static final String PERSONS = "persons";
+    public static final String TEAM_CALENDAR = "teamCalendar"; // One month of a team's trainings, see TrainingCalendarService
+    public static final String USER_STATUS = "userStatus"; // Short TTL, bounds how long a deactivated user's tokens keep working
+
+    private final CachingProperties properties;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        // Fixed set of caches, all created up front so actuator binds their hit/miss metrics at startup
+        manager.setCacheNames(List.of());
+        for (String name : List.of(TEAMS, LOCATIONS, PERSONS, TEAM_CALENDAR, USER_STATUS)) {
+            String spec = properties.getSpecs().getOrDefault(name, properties.getDefaultSpec());
+            manager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        }
+        // Puts and evictions issued inside a transaction are applied only after it commits
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
@@ -0,0 +1,19 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "caching")
+@Getter
+@Setter
+public class CachingProperties {
+
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+    private Map<String, String> specs = new LinkedHashMap<>(); // Caffeine spec per cache name
+}
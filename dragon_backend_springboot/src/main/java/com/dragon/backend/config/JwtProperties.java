@@ -5,13 +5,18 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "jwt")
 @Getter
 @Setter
 public class JwtProperties {
 
-    private String secret;
+    private String secret; // Current signing key
+    private String keyId = "default"; // Written to the "kid" header of issued tokens
+    private Map<String, String> verificationKeys = new LinkedHashMap<>(); // kid -> secret of retired keys still accepted
     private Long expiration; // Access token expiration (e.g., 15 minutes)
     private Long refreshExpiration; // Refresh token expiration (e.g., 7 days)
-}
\ No newline at end of file
+}
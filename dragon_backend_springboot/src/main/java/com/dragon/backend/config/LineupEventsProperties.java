@@ -0,0 +1,21 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "lineup-events")
+@Getter
+@Setter
+public class LineupEventsProperties {
+
+    private Duration timeout = Duration.ofMinutes(30); // Streams are closed then; EventSource reconnects by itself
+    private Duration heartbeat = Duration.ofSeconds(20); // Keeps proxies from closing idle streams
+    private int bufferSize = 64; // Undelivered events per subscriber before it is dropped as too slow
+    private int maxSubscribers = 10000; // Further subscribe attempts get 503
+    private int dispatchThreads = 4;
+}
@@ -0,0 +1,22 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "lineup-optimizer")
+@Getter
+@Setter
+public class LineupOptimizerProperties {
+
+    private Duration deadline = Duration.ofMillis(50); // The search returns its best assignment by then
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int seatsPerSide = 10;
+    private double sideWeight = 1.0; // Cost per kg of left/right difference
+    private double trimWeight = 1.0; // Cost per kg·row of front/back moment around the boat's middle
+    private double defaultPaddlerWeight = 75.0; // kg, for persons without a recorded weight
+}
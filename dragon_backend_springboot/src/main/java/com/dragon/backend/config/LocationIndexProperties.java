@@ -0,0 +1,20 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "location-index")
+@Getter
+@Setter
+public class LocationIndexProperties {
+
+    private double cellDegrees = 0.1; // Grid cell edge, must divide 360; 0.1° is 11 km north-south
+    private Duration refreshInterval = Duration.ofMinutes(10); // Full reload, for changes made outside LocationService
+    private double maxRadiusKm = 500; // Largest radius a client may ask for
+    private int maxDays = 31; // Longest time window for trainings near a point
+}
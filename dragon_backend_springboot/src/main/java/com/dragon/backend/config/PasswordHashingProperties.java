@@ -0,0 +1,18 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    private int strength = 10; // BCrypt log rounds; raising it rehashes passwords on next login
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64; // Hash requests waiting beyond this are rejected with 429
+    private long retryAfterSeconds = 2;
+}
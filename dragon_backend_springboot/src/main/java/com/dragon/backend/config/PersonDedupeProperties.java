@@ -0,0 +1,22 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "person-dedupe")
+@Getter
+@Setter
+public class PersonDedupeProperties {
+
+    private Duration interval = Duration.ofHours(6);
+    private Duration initialDelay = Duration.ofMinutes(5); // First scan after startup
+    private String defaultCountryCode = "90"; // For phone numbers stored without one
+    private double minScore = 0.75; // Pairs scoring lower are not reported
+    private int maxBlockSize = 50; // Larger name blocks (very common names) are skipped, they would cost n² pairs
+    private int maxCandidates = 1000; // Best pairs kept from a scan
+}
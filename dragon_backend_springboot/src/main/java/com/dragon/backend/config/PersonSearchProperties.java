@@ -0,0 +1,18 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "person-search")
+@Getter
+@Setter
+public class PersonSearchProperties {
+
+    private double minScore = 0.5; // Share of the query's trigrams a name needs, unless it starts with the query
+    private Duration refreshInterval = Duration.ofMinutes(30); // Full rebuild, drops removed entries and bulk changes
+}
@@ -0,0 +1,23 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "reactive-reads")
+@Getter
+@Setter
+public class ReactiveReadProperties {
+
+    private boolean enabled = false; // On in the reactive-reads profile
+    private String url; // r2dbc:postgresql://host:port/database
+    private String username;
+    private String password;
+    private int initialPoolSize = 4;
+    private int maxPoolSize = 16; // Connections are only held while a statement runs, so a few serve many requests
+    private Duration maxIdleTime = Duration.ofMinutes(30);
+}
@@ -0,0 +1,19 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "refresh-token-purge")
+@Getter
+@Setter
+public class RefreshTokenPurgeProperties {
+
+    private Duration interval = Duration.ofMinutes(10);
+    private int batchSize = 1000; // Rows per DELETE statement (and transaction)
+    private int maxBatches = 100; // Per run, so a large backlog is drained over several runs
+}
@@ -0,0 +1,36 @@
+package com.dragon.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Platform threads are already bounded by Tomcat's worker pool; capping them at the connection pool would only cost
+// throughput
+@Configuration
+@ConditionalOnProperty(name = "request-concurrency.enabled", havingValue = "true")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestConcurrencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyFilter> requestConcurrencyFilter(
+            RequestConcurrencyProperties properties, DataSource dataSource, MeterRegistry meterRegistry)
+            throws SQLException {
+        int permits = properties.getPermits() > 0
+                ? properties.getPermits()
+                : dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        FilterRegistrationBean<RequestConcurrencyFilter> registration =
+                new FilterRegistrationBean<>(new RequestConcurrencyFilter(permits, properties, meterRegistry));
+        // Behind Spring Security, so requests rejected there never take a permit
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
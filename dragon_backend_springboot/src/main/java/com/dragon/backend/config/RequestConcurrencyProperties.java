@@ -0,0 +1,20 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "request-concurrency")
+@Getter
+@Setter
+public class RequestConcurrencyProperties {
+
+    private boolean enabled = false; // On in the virtual-threads profile; only applied when running on virtual threads
+    private int permits = 0; // Requests in flight at once; 0 uses the Hikari maximum pool size
+    private Duration acquireTimeout = Duration.ofMillis(500); // Wait for a permit before answering 503
+    private long retryAfterSeconds = 1;
+}
@@ -0,0 +1,19 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "rsvp")
+@Getter
+@Setter
+public class RsvpProperties {
+
+    private Duration flushInterval = Duration.ofSeconds(2); // How far the counts in TrainingResponseDTO may lag
+    private int batchSize = 500; // Trainings per UPDATE batch
+    private Duration retainAfterStart = Duration.ofHours(1); // Counters of started trainings are dropped after this
+}
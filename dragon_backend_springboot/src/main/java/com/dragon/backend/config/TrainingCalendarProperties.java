@@ -0,0 +1,20 @@
+package com.dragon.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "training-calendar")
+@Getter
+@Setter
+public class TrainingCalendarProperties {
+
+    private Duration eventDuration = Duration.ofMinutes(90); // Trainings have no end time; events get this length
+    private int monthsBack = 1; // Default feed window: the previous month...
+    private int monthsAhead = 6; // ...through this many months after the current one
+    private int maxMonths = 24; // Longest window a client may ask for
+}
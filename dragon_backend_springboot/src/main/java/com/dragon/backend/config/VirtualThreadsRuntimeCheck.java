@@ -0,0 +1,24 @@
+package com.dragon.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fails startup when virtual threads are requested on a JVM that has none. Before Java 21 Spring ignores
+ * {@code spring.threads.virtual.enabled}, so the virtual-threads profile would silently run on platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsRuntimeCheck {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsRuntimeCheck() {
+        int version = Runtime.version().feature();
+        if (version < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs Java " + MIN_JAVA_VERSION
+                    + "+, but this JVM is Java " + version + ". Run on Java 21 (build with -Pjava21) or drop the "
+                    + "virtual-threads profile.");
+        }
+    }
+}
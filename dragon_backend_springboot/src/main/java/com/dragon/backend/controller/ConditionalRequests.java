@@ -0,0 +1,35 @@
+package com.dragon.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Conditional request handling on top of {@link WebRequest#checkNotModified(String)}: GETs compare If-None-Match
+ * with the resource's ETag and answer 304, writes compare If-Match and answer 412. In both cases the handler
+ * returns null and nothing else is loaded.
+ */
+final class ConditionalRequests {
+
+    // Browsers keep the response but revalidate it on every use, instead of Spring Security's no-store default
+    static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private ConditionalRequests() {
+    }
+
+    // The ETag is only looked up when the client sent If-Match
+    static boolean preconditionFailed(WebRequest request, Supplier<String> etag) {
+        return request.getHeader(HttpHeaders.IF_MATCH) != null && request.checkNotModified(etag.get());
+    }
+
+    // For handlers that learn the ETag asynchronously, after the request thread has moved on (weak comparison)
+    static boolean matches(String ifNoneMatch, String etag) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
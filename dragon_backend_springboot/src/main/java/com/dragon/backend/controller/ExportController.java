@@ -0,0 +1,52 @@
+package com.dragon.backend.controller;
+
+import com.dragon.backend.service.ExportFormat;
+import com.dragon.backend.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/trainings")
+    public ResponseEntity<StreamingResponseBody> exportTrainings(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("trainings", exportFormat, out -> exportService.exportTrainings(exportFormat, out));
+    }
+
+    @GetMapping("/lineup-seats")
+    public ResponseEntity<StreamingResponseBody> exportLineupSeats(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("lineup-seats", exportFormat, out -> exportService.exportLineupSeats(exportFormat, out));
+    }
+
+    @GetMapping("/memberships")
+    public ResponseEntity<StreamingResponseBody> exportMemberships(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("memberships", exportFormat, out -> exportService.exportMemberships(exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,27 @@
+package com.dragon.backend.controller;
+
+import com.dragon.backend.dto.importing.RosterImportReportDTO;
+import com.dragon.backend.service.RosterImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final RosterImportService rosterImportService;
+
+    // Raw CSV body, read as it arrives; the report lists every row that was not imported
+    @PostMapping(value = "/roster", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<RosterImportReportDTO> importRoster(InputStream body) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(rosterImportService.importRoster(reader));
+    }
+}
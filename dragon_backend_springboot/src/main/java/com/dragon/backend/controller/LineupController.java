@@ -1,16 +1,28 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.lineup.LineupBalanceDTO;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupOptimizeRequestDTO;
 import com.dragon.backend.dto.lineup.LineupRequestDTO;
 import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.lineup.LineupSeatSwapRequestDTO;
+import com.dragon.backend.dto.lineup.LineupSeatsRequestDTO;
 import com.dragon.backend.model.Lineup;
+import com.dragon.backend.service.LineupBalanceService;
+import com.dragon.backend.service.LineupEventBroadcaster;
+import com.dragon.backend.service.LineupOptimizationService;
 import com.dragon.backend.service.LineupService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/lineups")
@@ -18,23 +30,70 @@ import java.util.List;
 public class LineupController {
 
     private final LineupService lineupService;
+    private final LineupOptimizationService lineupOptimizationService;
+    private final LineupBalanceService lineupBalanceService;
+    private final LineupEventBroadcaster lineupEventBroadcaster;
 
     @GetMapping
-    public ResponseEntity<List<LineupResponseDTO>> getAllLineups(
+    public ResponseEntity<CursorPageDTO<LineupResponseDTO>> getAllLineups(
             @RequestParam(required = false) Lineup.State state,
-            @RequestParam(required = false) Short trainingId) {
-        if (state != null) {
-            return ResponseEntity.ok(lineupService.getLineupsByState(state));
-        }
+            @RequestParam(required = false) Long trainingId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering,
+            WebRequest request) {
         if (trainingId != null) {
-            return ResponseEntity.ok(List.of(lineupService.getLineupByTrainingId(trainingId)));
+            String etag = lineupService.getLineupETagByTrainingId(trainingId);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                    .body(lineupService.getLineupsByTrainingId(trainingId, state));
         }
-        return ResponseEntity.ok(lineupService.getAllLineups());
+        return ResponseEntity.ok(lineupService.getAllLineups(state, cursor, limit, ordering));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LineupResponseDTO> getLineupById(@PathVariable Long id) {
-        return ResponseEntity.ok(lineupService.getLineupById(id));
+    public ResponseEntity<LineupResponseDTO> getLineupById(@PathVariable Long id, WebRequest request) {
+        String etag = lineupService.getLineupETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(lineupService.getLineupById(id));
+    }
+
+    @GetMapping("/{id}/full")
+    public ResponseEntity<LineupFullResponseDTO> getFullLineupById(@PathVariable Long id, WebRequest request) {
+        String etag = lineupService.getLineupETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(lineupService.getFullLineupById(id));
+    }
+
+    @GetMapping("/full")
+    public ResponseEntity<LineupFullResponseDTO> getFullLineupByTrainingId(@RequestParam Long trainingId,
+                                                                           WebRequest request) {
+        String etag = lineupService.getLineupETagByTrainingId(trainingId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(lineupService.getFullLineupByTrainingId(trainingId));
+    }
+
+    // Server-Sent Events: one stream per client instead of polling; see LineupEventDTO for the payload
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToLineup(@PathVariable Long id) {
+        return lineupEventBroadcaster.subscribeToLineup(id);
+    }
+
+    // Every lineup of a team, e.g. for the team's training list
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTeamLineups(@RequestParam UUID teamId) {
+        return lineupEventBroadcaster.subscribeToTeam(teamId);
     }
 
     @PostMapping
@@ -46,12 +105,57 @@ public class LineupController {
     @PutMapping("/{id}")
     public ResponseEntity<LineupResponseDTO> updateLineup(
             @PathVariable Long id,
-            @Valid @RequestBody LineupRequestDTO requestDTO) {
+            @Valid @RequestBody LineupRequestDTO requestDTO,
+            WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> lineupService.getLineupETag(id))) {
+            return null;
+        }
         return ResponseEntity.ok(lineupService.updateLineup(id, requestDTO));
     }
 
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<LineupBalanceDTO> getLineupBalance(@PathVariable Long id) {
+        return ResponseEntity.ok(lineupBalanceService.getBalance(id));
+    }
+
+    @PutMapping("/{id}/seats")
+    public ResponseEntity<LineupFullResponseDTO> replaceSeats(
+            @PathVariable Long id,
+            @Valid @RequestBody LineupSeatsRequestDTO requestDTO,
+            WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> lineupService.getLineupETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok(lineupService.replaceSeats(id, requestDTO));
+    }
+
+    @PostMapping("/{id}/optimize")
+    public ResponseEntity<LineupFullResponseDTO> optimizeSeats(
+            @PathVariable Long id,
+            @Valid @RequestBody LineupOptimizeRequestDTO requestDTO,
+            WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> lineupService.getLineupETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok(lineupOptimizationService.optimize(id, requestDTO));
+    }
+
+    @PostMapping("/{id}/seats/swap")
+    public ResponseEntity<LineupFullResponseDTO> swapSeats(
+            @PathVariable Long id,
+            @Valid @RequestBody LineupSeatSwapRequestDTO requestDTO,
+            WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> lineupService.getLineupETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok(lineupService.swapSeats(id, requestDTO));
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteLineup(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteLineup(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> lineupService.getLineupETag(id))) {
+            return null;
+        }
         lineupService.deleteLineup(id);
         return ResponseEntity.noContent().build();
     }
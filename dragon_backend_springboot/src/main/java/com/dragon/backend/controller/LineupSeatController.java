@@ -1,16 +1,18 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.lineup.LineupSeatRequestDTO;
 import com.dragon.backend.dto.lineup.LineupSeatResponseDTO;
 import com.dragon.backend.model.LineupSeat;
 import com.dragon.backend.service.LineupSeatService;
+import com.dragon.backend.service.LineupService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/lineup-seats")
@@ -18,18 +20,28 @@ import java.util.List;
 public class LineupSeatController {
 
     private final LineupSeatService lineupSeatService;
+    private final LineupService lineupService;
 
     @GetMapping
-    public ResponseEntity<List<LineupSeatResponseDTO>> getAllLineupSeats(
+    public ResponseEntity<CursorPageDTO<LineupSeatResponseDTO>> getAllLineupSeats(
             @RequestParam(required = false) Long lineupId,
-            @RequestParam(required = false) LineupSeat.Side side) {
-        if (lineupId != null && side != null) {
-            return ResponseEntity.ok(lineupSeatService.getLineupSeatsByLineupIdAndSide(lineupId, side));
-        }
+            @RequestParam(required = false) LineupSeat.Side side,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering,
+            WebRequest request) {
+        // A single boat is small enough to return in one page, revalidated with the lineup's ETag
         if (lineupId != null) {
-            return ResponseEntity.ok(lineupSeatService.getLineupSeatsByLineupId(lineupId));
+            String etag = lineupService.getLineupETag(lineupId);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                    .body(CursorPageDTO.of(side != null
+                            ? lineupSeatService.getLineupSeatsByLineupIdAndSide(lineupId, side)
+                            : lineupSeatService.getLineupSeatsByLineupId(lineupId)));
         }
-        return ResponseEntity.ok(lineupSeatService.getAllLineupSeats());
+        return ResponseEntity.ok(lineupSeatService.getAllLineupSeats(cursor, limit, ordering));
     }
 
     @GetMapping("/{id}")
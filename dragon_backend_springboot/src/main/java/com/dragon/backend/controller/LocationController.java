@@ -1,5 +1,7 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.location.LocationDistanceDTO;
 import com.dragon.backend.dto.location.LocationRequestDTO;
 import com.dragon.backend.dto.location.LocationResponseDTO;
 import com.dragon.backend.service.LocationService;
@@ -9,7 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,12 +21,21 @@ public class LocationController {
     private final LocationService locationService;
 
     @GetMapping
-    public ResponseEntity<List<LocationResponseDTO>> getAllLocations(
-            @RequestParam(required = false) UUID teamId) {
-        if (teamId != null) {
-            return ResponseEntity.ok(locationService.getLocationsByTeamId(teamId));
-        }
-        return ResponseEntity.ok(locationService.getAllLocations());
+    public ResponseEntity<CursorPageDTO<LocationResponseDTO>> getAllLocations(
+            @RequestParam(required = false) UUID teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering) {
+        return ResponseEntity.ok(locationService.getAllLocations(teamId, cursor, limit, ordering));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<CursorPageDTO<LocationDistanceDTO>> getNearbyLocations(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(locationService.getNearbyLocations(lat, lon, radiusKm, limit));
     }
 
     @GetMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.membership.MembershipRequestDTO;
 import com.dragon.backend.dto.membership.MembershipResponseDTO;
 import com.dragon.backend.service.MembershipService;
@@ -8,8 +9,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,16 +21,23 @@ public class MembershipController {
     private final MembershipService membershipService;
 
     @GetMapping
-    public ResponseEntity<List<MembershipResponseDTO>> getAllMemberships(
+    public ResponseEntity<CursorPageDTO<MembershipResponseDTO>> getAllMemberships(
             @RequestParam(required = false) UUID teamId,
-            @RequestParam(required = false) UUID personId) {
-        if (teamId != null) {
-            return ResponseEntity.ok(membershipService.getMembershipsByTeamId(teamId));
+            @RequestParam(required = false) UUID personId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering,
+            WebRequest request) {
+        if (teamId == null || personId != null) {
+            return ResponseEntity.ok(membershipService.getAllMemberships(teamId, personId, cursor, limit, ordering));
         }
-        if (personId != null) {
-            return ResponseEntity.ok(membershipService.getMembershipsByPersonId(personId));
+        // A team's roster, the list the frontends poll
+        String etag = membershipService.getRosterETag(teamId);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return ResponseEntity.ok(membershipService.getAllMemberships());
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(membershipService.getAllMemberships(teamId, null, cursor, limit, ordering));
     }
 
     @GetMapping("/{id}")
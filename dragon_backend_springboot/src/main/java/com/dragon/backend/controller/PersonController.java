@@ -1,7 +1,11 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.person.DuplicateCandidateDTO;
+import com.dragon.backend.dto.person.PersonMergeRequestDTO;
 import com.dragon.backend.dto.person.PersonRequestDTO;
 import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.service.PersonDedupeService;
 import com.dragon.backend.service.PersonService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +13,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,14 +21,24 @@ import java.util.UUID;
 public class PersonController {
 
     private final PersonService personService;
+    private final PersonDedupeService personDedupeService;
 
     @GetMapping
-    public ResponseEntity<List<PersonResponseDTO>> getAllPersons(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<CursorPageDTO<PersonResponseDTO>> getAllPersons(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering) {
         if (search != null && !search.isBlank()) {
-            return ResponseEntity.ok(personService.searchByName(search));
+            return ResponseEntity.ok(CursorPageDTO.of(personService.search(search, limit)));
         }
-        return ResponseEntity.ok(personService.getAllPersons());
+        return ResponseEntity.ok(personService.getAllPersons(cursor, limit, ordering));
+    }
+
+    @GetMapping("/duplicates")
+    public ResponseEntity<CursorPageDTO<DuplicateCandidateDTO>> getDuplicateCandidates(
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(personDedupeService.getCandidates(limit));
     }
 
     @GetMapping("/{id}")
@@ -46,6 +59,13 @@ public class PersonController {
         return ResponseEntity.ok(personService.updatePerson(id, requestDTO));
     }
 
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<PersonResponseDTO> mergePerson(
+            @PathVariable UUID id,
+            @Valid @RequestBody PersonMergeRequestDTO requestDTO) {
+        return ResponseEntity.ok(personDedupeService.merge(id, requestDTO));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePerson(@PathVariable UUID id) {
         personService.deletePerson(id);
@@ -0,0 +1,75 @@
+package com.dragon.backend.controller;
+
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.membership.MembershipResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Lineup;
+import com.dragon.backend.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking versions of the three hottest reads, enabled by the reactive-reads profile. Their params conditions
+ * are more specific than those of TrainingController, LineupController and MembershipController, so they take
+ * over exactly these requests and everything else keeps going to the JPA handlers. Returning a Mono releases the
+ * Tomcat thread for the duration of the query.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping(path = "/trainings", params = "teamId")
+    public Mono<ResponseEntity<CursorPageDTO<TrainingResponseDTO>>> getTeamTrainings(
+            @RequestParam UUID teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return reactiveReadService.getTeamTrainingsETag(teamId)
+                .flatMap(etag -> ConditionalRequests.matches(ifNoneMatch, etag)
+                        ? Mono.just(notModified(etag))
+                        : reactiveReadService.getTeamTrainings(teamId, cursor, limit, ordering)
+                                .map(page -> ok(etag, page)));
+    }
+
+    @GetMapping(path = "/lineups", params = "trainingId")
+    public Mono<ResponseEntity<CursorPageDTO<LineupResponseDTO>>> getLineupByTrainingId(
+            @RequestParam Long trainingId,
+            @RequestParam(required = false) Lineup.State state) {
+        return reactiveReadService.getLineupsByTrainingId(trainingId, state).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "/memberships", params = {"teamId", "!personId"})
+    public Mono<ResponseEntity<CursorPageDTO<MembershipResponseDTO>>> getRoster(
+            @RequestParam UUID teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return reactiveReadService.getRosterETag(teamId)
+                .flatMap(etag -> ConditionalRequests.matches(ifNoneMatch, etag)
+                        ? Mono.just(notModified(etag))
+                        : reactiveReadService.getRoster(teamId, cursor, limit, ordering)
+                                .map(page -> ok(etag, page)));
+    }
+
+    private static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE).body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ConditionalRequests.REVALIDATE).build();
+    }
+}
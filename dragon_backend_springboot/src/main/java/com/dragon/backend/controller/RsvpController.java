@@ -0,0 +1,39 @@
+package com.dragon.backend.controller;
+
+import com.dragon.backend.dto.rsvp.RsvpRequestDTO;
+import com.dragon.backend.dto.rsvp.RsvpResponseDTO;
+import com.dragon.backend.dto.rsvp.TrainingRsvpsDTO;
+import com.dragon.backend.service.RsvpService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/trainings/{trainingId}/rsvps")
+@RequiredArgsConstructor
+public class RsvpController {
+
+    private final RsvpService rsvpService;
+
+    @GetMapping
+    public ResponseEntity<TrainingRsvpsDTO> getRsvps(@PathVariable Long trainingId) {
+        return ResponseEntity.ok(rsvpService.getRsvps(trainingId));
+    }
+
+    // One RSVP per person and training; answering again replaces the answer
+    @PutMapping
+    public ResponseEntity<RsvpResponseDTO> respond(
+            @PathVariable Long trainingId,
+            @Valid @RequestBody RsvpRequestDTO requestDTO) {
+        return ResponseEntity.ok(rsvpService.respond(trainingId, requestDTO));
+    }
+
+    @DeleteMapping("/{personId}")
+    public ResponseEntity<Void> withdraw(@PathVariable Long trainingId, @PathVariable UUID personId) {
+        rsvpService.withdraw(trainingId, personId);
+        return ResponseEntity.noContent().build();
+    }
+}
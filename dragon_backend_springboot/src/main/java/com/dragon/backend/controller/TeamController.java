@@ -1,5 +1,6 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.team.TeamRequestDTO;
 import com.dragon.backend.dto.team.TeamResponseDTO;
 import com.dragon.backend.service.TeamService;
@@ -9,7 +10,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,8 +20,11 @@ public class TeamController {
     private final TeamService teamService;
 
     @GetMapping
-    public ResponseEntity<List<TeamResponseDTO>> getAllTeams() {
-        return ResponseEntity.ok(teamService.getAllTeams());
+    public ResponseEntity<CursorPageDTO<TeamResponseDTO>> getAllTeams(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering) {
+        return ResponseEntity.ok(teamService.getAllTeams(cursor, limit, ordering));
     }
 
     @GetMapping("/{id}")
@@ -1,15 +1,24 @@
 package com.dragon.backend.controller;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.training.TrainingCalendarMonthDTO;
+import com.dragon.backend.dto.training.TrainingDistanceDTO;
 import com.dragon.backend.dto.training.TrainingRequestDTO;
 import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.service.TrainingCalendarService;
 import com.dragon.backend.service.TrainingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.YearMonth;
 import java.util.UUID;
 
 @RestController
@@ -17,20 +26,84 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TrainingController {
 
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
     private final TrainingService trainingService;
+    private final TrainingCalendarService trainingCalendarService;
 
     @GetMapping
-    public ResponseEntity<List<TrainingResponseDTO>> getAllTrainings(
-            @RequestParam(required = false) UUID teamId) {
-        if (teamId != null) {
-            return ResponseEntity.ok(trainingService.getTrainingsByTeamId(teamId));
+    public ResponseEntity<CursorPageDTO<TrainingResponseDTO>> getAllTrainings(
+            @RequestParam(required = false) UUID teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String ordering,
+            WebRequest request) {
+        if (teamId == null) {
+            return ResponseEntity.ok(trainingService.getAllTrainings(null, cursor, limit, ordering));
+        }
+        String etag = trainingService.getTeamTrainingsETag(teamId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(trainingService.getAllTrainings(teamId, cursor, limit, ordering));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<CursorPageDTO<TrainingDistanceDTO>> getNearbyTrainings(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(trainingService.getNearbyTrainings(lat, lon, radiusKm, days, cursor, limit));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<TrainingCalendarMonthDTO> getCalendarMonth(
+            @RequestParam UUID teamId,
+            @RequestParam(required = false) YearMonth month,
+            WebRequest request) {
+        TrainingCalendarService.TeamCalendar calendar = trainingCalendarService.getCalendar(
+                teamId, month != null ? month : YearMonth.now(), 1);
+        if (request.checkNotModified(calendar.etag())) {
+            return null;
         }
-        return ResponseEntity.ok(trainingService.getAllTrainings());
+        return ResponseEntity.ok().eTag(calendar.etag()).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(calendar.months().get(0));
+    }
+
+    // Subscription feed for calendar apps; without from/months it covers the configured window around today
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(
+            @RequestParam UUID teamId,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) Integer months,
+            WebRequest request) {
+        TrainingCalendarService.TeamCalendar calendar = trainingCalendarService.getCalendar(teamId, from, months);
+        if (request.checkNotModified(calendar.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename("trainings.ics")
+                        .build()
+                        .toString())
+                .eTag(calendar.etag())
+                .cacheControl(ConditionalRequests.REVALIDATE)
+                .body(out -> trainingCalendarService.writeICalendar(calendar, out));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TrainingResponseDTO> getTrainingById(@PathVariable Short id) {
-        return ResponseEntity.ok(trainingService.getTrainingById(id));
+    public ResponseEntity<TrainingResponseDTO> getTrainingById(@PathVariable Long id, WebRequest request) {
+        String etag = trainingService.getTrainingETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ConditionalRequests.REVALIDATE)
+                .body(trainingService.getTrainingById(id));
     }
 
     @PostMapping
@@ -41,13 +114,20 @@ public class TrainingController {
 
     @PutMapping("/{id}")
     public ResponseEntity<TrainingResponseDTO> updateTraining(
-            @PathVariable Short id,
-            @Valid @RequestBody TrainingRequestDTO requestDTO) {
+            @PathVariable Long id,
+            @Valid @RequestBody TrainingRequestDTO requestDTO,
+            WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> trainingService.getTrainingETag(id))) {
+            return null;
+        }
         return ResponseEntity.ok(trainingService.updateTraining(id, requestDTO));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTraining(@PathVariable Short id) {
+    public ResponseEntity<Void> deleteTraining(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.preconditionFailed(request, () -> trainingService.getTrainingETag(id))) {
+            return null;
+        }
         trainingService.deleteTraining(id);
         return ResponseEntity.noContent().build();
     }
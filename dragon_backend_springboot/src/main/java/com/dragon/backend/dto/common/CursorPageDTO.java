@@ -0,0 +1,22 @@
+package com.dragon.backend.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> results;
+    private String next; // Opaque cursor for the following page, null on the last page
+
+    public static <T> CursorPageDTO<T> of(List<T> results) {
+        return new CursorPageDTO<>(results, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.dragon.backend.dto.export;
+
+import com.dragon.backend.model.LineupSeat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineupSeatExportRow {
+
+    private Long id;
+    private Long lineupId;
+    private Long trainingId;
+    private LocalDateTime trainingStartAt;
+    private LineupSeat.Side side;
+    private Short seatNumber;
+    private UUID personId; // Null for empty seats
+    private String personName;
+}
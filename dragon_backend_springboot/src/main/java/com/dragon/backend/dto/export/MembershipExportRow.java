@@ -0,0 +1,22 @@
+package com.dragon.backend.dto.export;
+
+import com.dragon.backend.model.Membership;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipExportRow {
+
+    private UUID id;
+    private UUID teamId;
+    private String teamName;
+    private UUID personId;
+    private String personName;
+    private String phone;
+    private Membership.Role role;
+}
@@ -0,0 +1,23 @@
+package com.dragon.backend.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingExportRow {
+
+    private Long id;
+    private UUID teamId;
+    private String teamName;
+    private Integer locationId;
+    private String locationName;
+    private Double lat;
+    private Double lon;
+    private LocalDateTime startAt;
+}
@@ -0,0 +1,16 @@
+package com.dragon.backend.dto.importing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RosterImportErrorDTO {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.dragon.backend.dto.importing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RosterImportReportDTO {
+
+    private int rows;
+    private int personsCreated;
+    private int personsMatched;
+    private int membershipsCreated;
+    private int membershipsExisting;
+
+    @Builder.Default
+    private List<RosterImportErrorDTO> errors = new ArrayList<>();
+}
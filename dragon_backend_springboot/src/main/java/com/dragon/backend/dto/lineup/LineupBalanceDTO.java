@@ -0,0 +1,21 @@
+package com.dragon.backend.dto.lineup;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupBalanceDTO {
+
+    private int leftWeight; // kg
+    private int rightWeight; // kg
+    private int imbalance; // left minus right, kg
+    private double trimMoment; // kg·seat behind the middle of the boat; positive is stern heavy
+    private int seats;
+    private int emptySeats;
+    private int unknownWeights; // Seated paddlers without a recorded weight, counted as 0 kg
+}
@@ -0,0 +1,34 @@
+package com.dragon.backend.dto.lineup;
+
+import com.dragon.backend.model.Lineup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pushed to lineup subscribers after a change commits. It only says what changed; clients reload the lineup,
+ * which is cheap with If-None-Match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupEventDTO {
+
+    public enum Type {
+        CREATED,
+        SEATS, // Seats added, moved, reassigned or removed
+        UPDATED, // State or training changed
+        DELETED
+    }
+
+    private Type type;
+    private Long lineupId;
+    private UUID teamId;
+    private Lineup.State state; // Set on CREATED and UPDATED
+    private LocalDateTime at;
+}
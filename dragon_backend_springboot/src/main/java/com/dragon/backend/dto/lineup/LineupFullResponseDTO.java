@@ -0,0 +1,28 @@
+package com.dragon.backend.dto.lineup;
+
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Lineup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupFullResponseDTO {
+
+    private Long id;
+    private TrainingResponseDTO training;
+    private Lineup.State state;
+    private Long version;
+    private LineupBalanceDTO balance;
+    private List<LineupFullSeatDTO> left;
+    private List<LineupFullSeatDTO> right;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
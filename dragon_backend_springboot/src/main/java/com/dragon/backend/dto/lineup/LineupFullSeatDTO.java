@@ -0,0 +1,19 @@
+package com.dragon.backend.dto.lineup;
+
+import com.dragon.backend.dto.person.PersonSummaryDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupFullSeatDTO {
+
+    private Long id;
+    private Short seatNumber;
+    private Long version;
+    private PersonSummaryDTO person; // Null for empty seats
+}
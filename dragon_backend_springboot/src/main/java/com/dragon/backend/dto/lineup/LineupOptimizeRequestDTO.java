@@ -0,0 +1,33 @@
+package com.dragon.backend.dto.lineup;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupOptimizeRequestDTO {
+
+    // Empty: the team's players and captains
+    @Builder.Default
+    private List<@NotNull UUID> personIds = new ArrayList<>();
+
+    @Min(value = 1, message = "Seats per side must be at least 1")
+    @Max(value = 20, message = "Seats per side must be at most 20")
+    private Short seatsPerSide;
+
+    // Seats the coach fixed; a null personId keeps the seat empty
+    @Builder.Default
+    private List<@Valid @NotNull LineupSeatAssignmentDTO> pinned = new ArrayList<>();
+}
@@ -14,8 +14,10 @@ import lombok.NoArgsConstructor;
 public class LineupRequestDTO {
 
     @NotNull(message = "Training ID is required")
-    private Short trainingId;
+    private Long trainingId;
 
     @NotNull(message = "State is required")
     private Lineup.State state = Lineup.State.DRAFT;
+
+    private Long version; // Optional: the version the client edited; a newer one is rejected with 409
 }
\ No newline at end of file
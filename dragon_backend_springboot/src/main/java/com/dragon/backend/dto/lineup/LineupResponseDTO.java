@@ -18,6 +18,8 @@ public class LineupResponseDTO {
     private Long id;
     private TrainingResponseDTO training;
     private Lineup.State state;
+    private Long version;
+    private LineupBalanceDTO balance;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.dragon.backend.dto.lineup;
+
+import com.dragon.backend.model.LineupSeat;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupSeatPositionDTO {
+
+    @NotNull(message = "Side is required")
+    private LineupSeat.Side side;
+
+    @NotNull(message = "Seat number is required")
+    @Positive(message = "Seat number must be positive")
+    private Short seatNumber;
+}
@@ -27,4 +27,6 @@ public class LineupSeatRequestDTO {
     @NotNull(message = "Seat number is required")
     @Positive(message = "Seat number must be positive")
     private Short seatNumber;
-}
\ No newline at end of file
+
+    private Long version; // Optional: the version the client edited; a newer one is rejected with 409
+}
@@ -20,6 +20,7 @@ public class LineupSeatResponseDTO {
     private PersonResponseDTO person; // Null for empty seats
     private LineupSeat.Side side;
     private Short seatNumber;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.dragon.backend.dto.lineup;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Exchanges the occupants of two seats; when {@code to} has no seat yet, the {@code from} seat moves there.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupSeatSwapRequestDTO {
+
+    @Valid
+    @NotNull(message = "From seat is required")
+    private LineupSeatPositionDTO from;
+
+    @Valid
+    @NotNull(message = "To seat is required")
+    private LineupSeatPositionDTO to;
+
+    private Long version; // Optional: the lineup version the client edited; a newer one is rejected with 409
+}
@@ -0,0 +1,23 @@
+package com.dragon.backend.dto.lineup;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The complete seat map of a boat; seats that are not listed are removed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupSeatsRequestDTO {
+
+    @NotNull(message = "Seats are required")
+    private List<@Valid @NotNull LineupSeatAssignmentDTO> seats;
+}
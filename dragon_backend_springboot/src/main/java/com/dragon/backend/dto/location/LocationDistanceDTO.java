@@ -0,0 +1,16 @@
+package com.dragon.backend.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationDistanceDTO {
+
+    private LocationResponseDTO location;
+    private double distanceKm; // Great-circle distance from the requested point
+}
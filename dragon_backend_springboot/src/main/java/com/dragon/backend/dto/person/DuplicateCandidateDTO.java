@@ -0,0 +1,19 @@
+package com.dragon.backend.dto.person;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateCandidateDTO {
+
+    private PersonResponseDTO person;
+    private PersonResponseDTO duplicate;
+    private Double score; // 0-1, see DuplicateFinder
+    private Boolean samePhone; // Same number once both are in E.164 form
+    private Double nameSimilarity; // 0-1
+}
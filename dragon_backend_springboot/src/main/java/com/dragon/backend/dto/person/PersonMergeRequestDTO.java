@@ -0,0 +1,19 @@
+package com.dragon.backend.dto.person;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonMergeRequestDTO {
+
+    @NotNull(message = "Duplicate ID is required")
+    private UUID duplicateId; // Merged into the person in the path, then deleted
+}
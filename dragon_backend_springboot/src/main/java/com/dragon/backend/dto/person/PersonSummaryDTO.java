@@ -0,0 +1,23 @@
+package com.dragon.backend.dto.person;
+
+import com.dragon.backend.model.Person;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonSummaryDTO {
+
+    private UUID id;
+    private String name;
+    private Short height;
+    private Short weight;
+    private Person.Side side;
+    private String profilePictureUrl;
+}
@@ -0,0 +1,17 @@
+package com.dragon.backend.dto.rsvp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RsvpCountsDTO {
+
+    private Integer yes; // Going
+    private Integer maybe;
+    private Integer no;
+}
@@ -0,0 +1,23 @@
+package com.dragon.backend.dto.rsvp;
+
+import com.dragon.backend.model.Rsvp;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RsvpRequestDTO {
+
+    @NotNull(message = "Person ID is required")
+    private UUID personId;
+
+    @NotNull(message = "Response is required")
+    private Rsvp.Response response;
+}
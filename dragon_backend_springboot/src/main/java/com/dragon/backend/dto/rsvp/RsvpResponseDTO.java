@@ -0,0 +1,24 @@
+package com.dragon.backend.dto.rsvp;
+
+import com.dragon.backend.dto.person.PersonSummaryDTO;
+import com.dragon.backend.model.Rsvp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RsvpResponseDTO {
+
+    private Long id;
+    private Long trainingId;
+    private PersonSummaryDTO person;
+    private Rsvp.Response response;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.dragon.backend.dto.rsvp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainingRsvpsDTO {
+
+    private Long trainingId;
+    private RsvpCountsDTO counts; // Counted off the list itself, so always exact
+    private List<RsvpResponseDTO> rsvps; // Yes first, then maybe, then no; by name within each
+}
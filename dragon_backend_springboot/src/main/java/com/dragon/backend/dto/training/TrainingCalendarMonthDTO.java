@@ -0,0 +1,19 @@
+package com.dragon.backend.dto.training;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainingCalendarMonthDTO {
+
+    private YearMonth month;
+    private List<TrainingResponseDTO> trainings; // Ordered by start time
+}
@@ -0,0 +1,16 @@
+package com.dragon.backend.dto.training;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainingDistanceDTO {
+
+    private TrainingResponseDTO training;
+    private double distanceKm; // Great-circle distance of the training's location from the requested point
+}
@@ -1,6 +1,7 @@
 package com.dragon.backend.dto.training;
 
 import com.dragon.backend.dto.location.LocationResponseDTO;
+import com.dragon.backend.dto.rsvp.RsvpCountsDTO;
 import com.dragon.backend.dto.team.TeamResponseDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,10 +16,11 @@ import java.time.LocalDateTime;
 @Builder
 public class TrainingResponseDTO {
 
-    private Short id;
+    private Long id;
     private TeamResponseDTO team;
     private LocationResponseDTO location;
     private LocalDateTime startAt;
+    private RsvpCountsDTO rsvps; // As of the last RsvpCounters flush; null in calendar months
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
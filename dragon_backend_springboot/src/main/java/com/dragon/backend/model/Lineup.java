@@ -3,10 +3,15 @@ package com.dragon.backend.model;
 import com.dragon.backend.model.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "lineup", indexes = {
-        @Index(name = "idx_lineup_state", columnList = "state")
+        @Index(name = "idx_lineup_state", columnList = "state"),
+        @Index(name = "idx_lineup_created", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -37,9 +42,15 @@ public class Lineup extends BaseEntity {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lineup_seq")
+    @SequenceGenerator(name = "lineup_seq", sequenceName = "lineup_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "training_id", nullable = false, unique = true)
     private Training training;
@@ -48,6 +59,15 @@ public class Lineup extends BaseEntity {
     @Column(nullable = false)
     private State state = State.DRAFT;
 
+    @Embedded
+    @Builder.Default
+    private LineupBalance balance = new LineupBalance();
+
+    @OneToMany(mappedBy = "lineup")
+    @OrderBy("side ASC, seatNumber ASC")
+    @Builder.Default
+    private List<LineupSeat> seats = new ArrayList<>();
+
     @Override
     public String toString() {
         return "Lineup #" + id + " for training " +
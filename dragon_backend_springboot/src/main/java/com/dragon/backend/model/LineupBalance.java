@@ -0,0 +1,54 @@
+package com.dragon.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Running weight totals of a lineup's seats. Seat writes adjust them by a delta through
+ * {@code LineupBalanceRepository}; they are never written by entity updates, so a lineup loaded before a
+ * seat edit cannot overwrite them. A paddler's weight change marks the lineups seating them stale until
+ * the totals are rebuilt from the seats.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineupBalance {
+
+    @ColumnDefault("0")
+    @Column(name = "balance_left_weight", nullable = false, updatable = false)
+    private int leftWeight; // kg
+
+    @ColumnDefault("0")
+    @Column(name = "balance_right_weight", nullable = false, updatable = false)
+    private int rightWeight; // kg
+
+    @ColumnDefault("0")
+    @Column(name = "balance_weighted_seats", nullable = false, updatable = false)
+    private long weightedSeats; // Sum of weight * seat number, for the trim moment
+
+    @ColumnDefault("0")
+    @Column(name = "balance_seat_numbers", nullable = false, updatable = false)
+    private long seatNumbers; // Sum of seat numbers; over seats gives the middle of the boat for the trim moment
+
+    @ColumnDefault("0")
+    @Column(name = "balance_seats", nullable = false, updatable = false)
+    private int seats;
+
+    @ColumnDefault("0")
+    @Column(name = "balance_empty_seats", nullable = false, updatable = false)
+    private int emptySeats;
+
+    @ColumnDefault("0")
+    @Column(name = "balance_unknown_weights", nullable = false, updatable = false)
+    private int unknownWeights; // Seated paddlers without a recorded weight
+
+    // Set by a paddler's weight change; reads compute stale totals from the seats until GET /balance rebuilds them
+    @ColumnDefault("false")
+    @Column(name = "balance_stale", nullable = false, updatable = false)
+    private boolean stale;
+}
@@ -3,6 +3,7 @@ package com.dragon.backend.model;
 import com.dragon.backend.model.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "lineup_seat",
@@ -12,7 +13,8 @@ import lombok.*;
         },
         indexes = {
                 @Index(name = "idx_lineup_seat_lineup_side", columnList = "lineup_id, side"),
-                @Index(name = "idx_lineup_seat_lineup_person", columnList = "lineup_id, person_id")
+                @Index(name = "idx_lineup_seat_lineup_person", columnList = "lineup_id, person_id"),
+                @Index(name = "idx_lineup_seat_created", columnList = "created_at, id")
         }
 )
 @Getter
@@ -38,9 +40,15 @@ public class LineupSeat extends BaseEntity {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lineup_seat_seq")
+    @SequenceGenerator(name = "lineup_seat_seq", sequenceName = "lineup_seat_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lineup_id", nullable = false)
     private Lineup lineup;
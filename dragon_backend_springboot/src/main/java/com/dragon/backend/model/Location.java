@@ -6,7 +6,8 @@ import lombok.*;
 
 @Entity
 @Table(name = "location", indexes = {
-        @Index(name = "idx_location_team", columnList = "team_id")
+        @Index(name = "idx_location_team", columnList = "team_id"),
+        @Index(name = "idx_location_created", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -16,7 +17,8 @@ import lombok.*;
 public class Location extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "location_seq")
+    @SequenceGenerator(name = "location_seq", sequenceName = "location_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
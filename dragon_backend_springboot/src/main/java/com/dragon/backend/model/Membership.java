@@ -13,7 +13,8 @@ import java.util.UUID;
         },
         indexes = {
                 @Index(name = "idx_membership_team", columnList = "team_id"),
-                @Index(name = "idx_membership_person", columnList = "person_id")
+                @Index(name = "idx_membership_person", columnList = "person_id"),
+                @Index(name = "idx_membership_created", columnList = "created_at, id")
         }
 )
 @Getter
@@ -9,7 +9,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "person", indexes = {
         @Index(name = "idx_person_phone", columnList = "phone"),
-        @Index(name = "idx_person_name", columnList = "name")
+        @Index(name = "idx_person_name", columnList = "name"),
+        @Index(name = "idx_person_created", columnList = "created_at, id")
 })
 @Getter
 @Setter
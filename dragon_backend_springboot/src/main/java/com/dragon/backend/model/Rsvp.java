@@ -0,0 +1,67 @@
+package com.dragon.backend.model;
+
+import com.dragon.backend.model.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "training_rsvp",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_rsvp_training_person", columnNames = {"training_id", "person_id"})
+        },
+        indexes = {
+                @Index(name = "idx_rsvp_person", columnList = "person_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Rsvp extends BaseEntity {
+
+    public enum Response {
+        YES(0, "Yes"),
+        MAYBE(1, "Maybe"),
+        NO(2, "No");
+
+        private final int value;
+        private final String label;
+
+        Response(int value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_rsvp_seq")
+    @SequenceGenerator(name = "training_rsvp_seq", sequenceName = "training_rsvp_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "training_id", nullable = false)
+    private Training training;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "person_id", nullable = false)
+    private Person person;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private Response response;
+
+    @Override
+    public String toString() {
+        return person + " -> " + (response != null ? response.getLabel() : "?") + " for training " +
+                (training != null ? training.getId() : "?");
+    }
+}
@@ -0,0 +1,31 @@
+package com.dragon.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * RSVP totals of a training. {@code RsvpCounters} adds to them in batches; like {@link LineupBalance} they are never
+ * written by entity updates, so a training loaded before a flush cannot overwrite them.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RsvpCounts {
+
+    @ColumnDefault("0")
+    @Column(name = "rsvp_yes", nullable = false, updatable = false)
+    private int yes;
+
+    @ColumnDefault("0")
+    @Column(name = "rsvp_maybe", nullable = false, updatable = false)
+    private int maybe;
+
+    @ColumnDefault("0")
+    @Column(name = "rsvp_no", nullable = false, updatable = false)
+    private int no;
+}
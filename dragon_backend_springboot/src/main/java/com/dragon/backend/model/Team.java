@@ -7,7 +7,9 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "team")
+@Table(name = "team", indexes = {
+        @Index(name = "idx_team_created", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,8 +19,9 @@ import java.time.LocalDateTime;
 public class Training extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Short id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_seq")
+    @SequenceGenerator(name = "training_seq", sequenceName = "training_seq", allocationSize = 50)
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", nullable = false)
@@ -33,6 +34,10 @@ public class Training extends BaseEntity {
     @Column(name = "start_at", nullable = false)
     private LocalDateTime startAt;
 
+    @Embedded
+    @Builder.Default
+    private RsvpCounts rsvpCounts = new RsvpCounts();
+
     @Override
     public String toString() {
         return "Training — " + (team != null ? team.getName() : "?") + " @ " + startAt;
@@ -0,0 +1,120 @@
+package com.dragon.backend.repository;
+
+import com.dragon.backend.model.LineupBalance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Reads and writes the balance columns of lineup (see {@link LineupBalance}) on the JPA transaction's connection.
+ * Every write is a single-row UPDATE, so concurrent seat edits of one boat serialize on the lineup row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LineupBalanceRepository {
+
+    private static final RowMapper<LineupBalance> BALANCE = (rs, rowNum) -> new LineupBalance(
+            rs.getInt("left_weight"),
+            rs.getInt("right_weight"),
+            rs.getLong("weighted_seats"),
+            rs.getLong("seat_numbers"),
+            rs.getInt("seats"),
+            rs.getInt("empty_seats"),
+            rs.getInt("unknown_weights"),
+            rs.getBoolean("stale"));
+
+    private static final String SEAT_TOTALS = """
+            SELECT s.lineup_id AS lineup_id,
+                   COALESCE(SUM(CASE WHEN s.side = 'L' THEN p.weight ELSE 0 END), 0) AS left_weight,
+                   COALESCE(SUM(CASE WHEN s.side = 'R' THEN p.weight ELSE 0 END), 0) AS right_weight,
+                   COALESCE(SUM(CAST(p.weight AS integer) * s.seat_number), 0) AS weighted_seats,
+                   COALESCE(SUM(CAST(s.seat_number AS bigint)), 0) AS seat_numbers,
+                   COUNT(s.id) AS seats,
+                   COUNT(s.id) - COUNT(s.person_id) AS empty_seats,
+                   COUNT(s.person_id) - COUNT(p.weight) AS unknown_weights,
+                   FALSE AS stale
+            FROM lineup_seat s
+            LEFT JOIN person p ON p.id = s.person_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<LineupBalance> findBalance(Long lineupId) {
+        return jdbcTemplate.query("""
+                        SELECT balance_left_weight AS left_weight, balance_right_weight AS right_weight,
+                               balance_weighted_seats AS weighted_seats, balance_seat_numbers AS seat_numbers,
+                               balance_seats AS seats,
+                               balance_empty_seats AS empty_seats, balance_unknown_weights AS unknown_weights,
+                               balance_stale AS stale
+                        FROM lineup WHERE id = ?
+                        """, BALANCE, lineupId)
+                .stream().findFirst();
+    }
+
+    // Totals from the seats themselves, for several lineups in one grouped query; lineups without seats get zero
+    // totals. Reads only, so it also serves stale lineups inside read-only transactions
+    public Map<Long, LineupBalance> computeBalances(Collection<Long> lineupIds) {
+        Map<Long, LineupBalance> balances = new HashMap<>(lineupIds.size());
+        lineupIds.forEach(id -> balances.put(id, new LineupBalance()));
+        namedJdbcTemplate.query(SEAT_TOTALS + "WHERE s.lineup_id IN (:ids) GROUP BY s.lineup_id",
+                new MapSqlParameterSource("ids", lineupIds),
+                (RowCallbackHandler) rs -> balances.put(rs.getLong("lineup_id"), BALANCE.mapRow(rs, rs.getRow())));
+        return balances;
+    }
+
+    public int adjust(Long lineupId, LineupBalance delta) {
+        return jdbcTemplate.update("""
+                        UPDATE lineup SET
+                            balance_left_weight = balance_left_weight + ?,
+                            balance_right_weight = balance_right_weight + ?,
+                            balance_weighted_seats = balance_weighted_seats + ?,
+                            balance_seat_numbers = balance_seat_numbers + ?,
+                            balance_seats = balance_seats + ?,
+                            balance_empty_seats = balance_empty_seats + ?,
+                            balance_unknown_weights = balance_unknown_weights + ?
+                        WHERE id = ?
+                        """,
+                delta.getLeftWeight(), delta.getRightWeight(), delta.getWeightedSeats(), delta.getSeatNumbers(),
+                delta.getSeats(),
+                delta.getEmptySeats(), delta.getUnknownWeights(), lineupId);
+    }
+
+    /**
+     * Recomputes the totals from the seats and clears the stale flag. The row lock is taken before the seats are
+     * read, so deltas from concurrent seat edits are either already committed or applied on top afterwards.
+     */
+    public Optional<LineupBalance> rebuild(Long lineupId) {
+        if (jdbcTemplate.update("UPDATE lineup SET balance_stale = FALSE WHERE id = ?", lineupId) == 0) {
+            return Optional.empty();
+        }
+        LineupBalance balance = computeBalances(List.of(lineupId)).get(lineupId);
+        jdbcTemplate.update("""
+                        UPDATE lineup SET
+                            balance_left_weight = ?,
+                            balance_right_weight = ?,
+                            balance_weighted_seats = ?,
+                            balance_seat_numbers = ?,
+                            balance_seats = ?,
+                            balance_empty_seats = ?,
+                            balance_unknown_weights = ?
+                        WHERE id = ?
+                        """,
+                balance.getLeftWeight(), balance.getRightWeight(), balance.getWeightedSeats(), balance.getSeatNumbers(),
+                balance.getSeats(),
+                balance.getEmptySeats(), balance.getUnknownWeights(), lineupId);
+        return Optional.of(balance);
+    }
+
+    public int markStaleForPerson(UUID personId) {
+        return jdbcTemplate.update(
+                "UPDATE lineup SET balance_stale = TRUE WHERE id IN (SELECT lineup_id FROM lineup_seat WHERE person_id = ?)",
+                personId);
+    }
+}
@@ -2,18 +2,88 @@ package com.dragon.backend.repository;
 
 import com.dragon.backend.model.Lineup;
 import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.projection.ChangeMarker;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface LineupRepository extends JpaRepository<Lineup, Long> {
 
     // Custom query methods:
     Optional<Lineup> findByTraining(Training training);
-    Optional<Lineup> findByTrainingId(Short trainingId);
+    Optional<Lineup> findByTrainingId(Long trainingId);
     List<Lineup> findByState(Lineup.State state);
-    boolean existsByTrainingId(Short trainingId);
-}
\ No newline at end of file
+    boolean existsByTrainingId(Long trainingId);
+
+    // Full lineup graph (training, team, location, seats, paddlers) in a single round trip
+    @Query("""
+            select l from Lineup l
+            join fetch l.training t
+            join fetch t.team
+            join fetch t.location loc
+            join fetch loc.team
+            left join fetch l.seats s
+            left join fetch s.person
+            where l.id = :id
+            """)
+    Optional<Lineup> findFullById(@Param("id") Long id);
+
+    @Query("""
+            select l from Lineup l
+            join fetch l.training t
+            join fetch t.team
+            join fetch t.location loc
+            join fetch loc.team
+            left join fetch l.seats s
+            left join fetch s.person
+            where t.id = :trainingId
+            """)
+    Optional<Lineup> findFullByTrainingId(@Param("trainingId") Long trainingId);
+
+    // Row-locks the lineup until commit (serializing whole-boat seat writes) and records the change; the version
+    // bump makes concurrent optimistic edits of the lineup fail
+    @Modifying
+    @Query("update Lineup l set l.version = l.version + 1, l.updatedAt = :now where l.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // As touch, but only while the lineup is still at the version the client edited
+    @Modifying
+    @Query("update Lineup l set l.version = l.version + 1, l.updatedAt = :now where l.id = :id and l.version = :version")
+    int touch(@Param("id") Long id, @Param("version") Long version, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Lineup l set l.state = :state, l.version = l.version + 1, l.updatedAt = :now where l.id = :id")
+    int updateState(@Param("id") Long id, @Param("state") Lineup.State state, @Param("now") LocalDateTime now);
+
+    @Query("select l.id from Lineup l where l.training.id = :trainingId")
+    Optional<Long> findIdByTrainingId(@Param("trainingId") Long trainingId);
+
+    @Query("select l.training.team.id from Lineup l where l.id = :id")
+    Optional<UUID> findTeamIdById(@Param("id") Long id);
+
+    // ETag source for both lineup representations: the lineup, its training graph, seats and seated paddlers
+    @Query("""
+            select new com.dragon.backend.repository.projection.ChangeMarker(
+                l.version, count(s), coalesce(sum(s.version), 0),
+                greatest(l.updatedAt, t.updatedAt, tm.updatedAt, loc.updatedAt, lt.updatedAt,
+                         coalesce(max(s.updatedAt), l.updatedAt), coalesce(max(p.updatedAt), l.updatedAt)))
+            from Lineup l
+            join l.training t
+            join t.team tm
+            join t.location loc
+            join loc.team lt
+            left join l.seats s
+            left join s.person p
+            where l.id = :id
+            group by l.id, l.version, l.updatedAt, t.updatedAt, tm.updatedAt, loc.updatedAt, lt.updatedAt
+            """)
+    Optional<ChangeMarker> findChangeMarker(@Param("id") Long id);
+}
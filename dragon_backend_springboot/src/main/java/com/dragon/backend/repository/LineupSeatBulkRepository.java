@@ -0,0 +1,125 @@
+package com.dragon.backend.repository;
+
+import com.dragon.backend.model.LineupSeat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based seat writes for a whole boat. Runs on the JPA transaction's connection; callers are expected to
+ * hold the lineup row lock so the diff they computed stays valid while these statements run.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LineupSeatBulkRepository {
+
+    public record SeatRow(Long id, LineupSeat.Side side, Short seatNumber, UUID personId) {
+    }
+
+    private static final int SEQUENCE_INCREMENT = 50; // allocationSize of lineup_seat_seq, see LineupSeat
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile Boolean deferrableConstraints;
+
+    public List<SeatRow> findSeats(Long lineupId) {
+        return jdbcTemplate.query(
+                "SELECT id, side, seat_number, person_id FROM lineup_seat WHERE lineup_id = ?",
+                (rs, rowNum) -> new SeatRow(
+                        rs.getLong("id"),
+                        LineupSeat.Side.valueOf(rs.getString("side")),
+                        rs.getShort("seat_number"),
+                        rs.getObject("person_id", UUID.class)),
+                lineupId);
+    }
+
+    public void deleteSeats(Collection<Long> seatIds) {
+        if (!seatIds.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM lineup_seat WHERE id IN (:ids)", new MapSqlParameterSource("ids", seatIds));
+        }
+    }
+
+    /**
+     * Defers uq_lineup_side_seat and uq_lineup_person_once to commit for the current transaction, so seat occupants
+     * can be exchanged directly. Only PostgreSQL databases migrated with db/migration/003_lineup_versions.sql have
+     * deferrable seat constraints; returns false elsewhere and the caller has to order its writes instead.
+     */
+    public boolean deferSeatConstraints() {
+        if (deferrableConstraints == null) {
+            deferrableConstraints = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                            && jdbcTemplate.queryForObject("""
+                                    SELECT COUNT(*) FROM pg_constraint
+                                    WHERE conname IN ('uq_lineup_side_seat', 'uq_lineup_person_once') AND condeferrable
+                                    """, Integer.class) == 2);
+        }
+        if (deferrableConstraints) {
+            jdbcTemplate.execute("SET CONSTRAINTS uq_lineup_side_seat, uq_lineup_person_once DEFERRED");
+        }
+        return deferrableConstraints;
+    }
+
+    // Frees the paddlers of seats about to be reassigned, so swaps don't trip uq_lineup_person_once midway
+    public void clearPersons(Collection<Long> seatIds) {
+        if (!seatIds.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE lineup_seat SET person_id = NULL, version = version + 1 WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", seatIds));
+        }
+    }
+
+    public void updatePersons(List<SeatRow> seats, LocalDateTime now) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE lineup_seat SET person_id = ?, updated_at = ?, version = version + 1 WHERE id = ?",
+                seats, seats.size(), (ps, seat) -> {
+                    ps.setObject(1, seat.personId());
+                    ps.setTimestamp(2, Timestamp.valueOf(now));
+                    ps.setLong(3, seat.id());
+                });
+    }
+
+    public void insertSeats(Long lineupId, List<SeatRow> seats, LocalDateTime now) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        Iterator<Long> ids = allocateIds(seats.size()).iterator();
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO lineup_seat (id, lineup_id, side, seat_number, person_id, version, created_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, 0, ?, ?)
+                        """,
+                seats, seats.size(), (ps, seat) -> {
+                    ps.setLong(1, ids.next());
+                    ps.setLong(2, lineupId);
+                    ps.setString(3, seat.side().name());
+                    ps.setShort(4, seat.seatNumber());
+                    ps.setObject(5, seat.personId());
+                    ps.setTimestamp(6, Timestamp.valueOf(now));
+                    ps.setTimestamp(7, Timestamp.valueOf(now));
+                });
+    }
+
+    // Same blocks as Hibernate's pooled optimizer: each nextval reserves (value - increment, value], so a boat
+    // normally costs one sequence call and never collides with ids handed out by Hibernate
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long hi = jdbcTemplate.queryForObject("SELECT nextval('lineup_seat_seq')", Long.class);
+            for (long id = Math.max(1, hi - SEQUENCE_INCREMENT + 1); id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
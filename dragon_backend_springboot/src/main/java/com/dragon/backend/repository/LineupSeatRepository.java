@@ -1,14 +1,20 @@
 package com.dragon.backend.repository;
 
+import com.dragon.backend.dto.export.LineupSeatExportRow;
 import com.dragon.backend.model.Lineup;
 import com.dragon.backend.model.LineupSeat;
 import com.dragon.backend.model.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LineupSeatRepository extends JpaRepository<LineupSeat, Long> {
@@ -21,4 +27,20 @@ public interface LineupSeatRepository extends JpaRepository<LineupSeat, Long> {
     List<LineupSeat> findByPersonId(UUID personId);
     Optional<LineupSeat> findByLineupIdAndSideAndSeatNumber(Long lineupId, LineupSeat.Side side, Short seatNumber);
     boolean existsByLineupIdAndPersonId(Long lineupId, UUID personId);
+
+    // Export: flat rows streamed with a JDBC fetch size, nothing is kept in the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.dragon.backend.dto.export.LineupSeatExportRow(
+                s.id, l.id, t.id, t.startAt, s.side, s.seatNumber, p.id, p.name)
+            from LineupSeat s
+            join s.lineup l
+            join l.training t
+            left join s.person p
+            order by s.id
+            """)
+    Stream<LineupSeatExportRow> streamAllForExport();
 }
\ No newline at end of file
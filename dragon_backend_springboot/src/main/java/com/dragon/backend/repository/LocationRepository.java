@@ -2,11 +2,16 @@ package com.dragon.backend.repository;
 
 import com.dragon.backend.model.Location;
 import com.dragon.backend.model.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Integer> {
@@ -15,4 +20,18 @@ public interface LocationRepository extends JpaRepository<Location, Integer> {
     List<Location> findByTeam(Team team);
     List<Location> findByTeamId(UUID teamId);
     List<Location> findByNameContainingIgnoreCase(String name);
+
+    interface LocationCoordinates {
+        Integer getId();
+        Double getLat();
+        Double getLon();
+    }
+
+    // Loads LocationIndex: coordinates only, streamed with a JDBC fetch size
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l.id as id, l.lat as lat, l.lon as lon from Location l")
+    Stream<LocationCoordinates> streamAllCoordinates();
 }
\ No newline at end of file
@@ -1,14 +1,23 @@
 package com.dragon.backend.repository;
 
+import com.dragon.backend.dto.export.MembershipExportRow;
 import com.dragon.backend.model.Membership;
 import com.dragon.backend.model.Person;
 import com.dragon.backend.model.Team;
+import com.dragon.backend.repository.projection.ChangeMarker;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MembershipRepository extends JpaRepository<Membership, UUID> {
@@ -21,4 +30,48 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     List<Membership> findByRole(Membership.Role role);
     Optional<Membership> findByPersonAndTeam(Person person, Team team);
     boolean existsByPersonIdAndTeamId(UUID personId, UUID teamId);
-}
\ No newline at end of file
+
+    @Query("select m.person.id from Membership m where m.team.id = :teamId and m.role in :roles")
+    List<UUID> findPersonIdsByTeamIdAndRoleIn(@Param("teamId") UUID teamId,
+                                              @Param("roles") Collection<Membership.Role> roles);
+
+    interface MembershipKey {
+        UUID getPersonId();
+        UUID getTeamId();
+    }
+
+    // Import: which of a chunk's (person, team) pairs already exist, in one query
+    @Query("""
+            select m.person.id as personId, m.team.id as teamId
+            from Membership m
+            where m.person.id in :personIds and m.team.id in :teamIds
+            """)
+    List<MembershipKey> findKeys(@Param("personIds") Collection<UUID> personIds,
+                                 @Param("teamIds") Collection<UUID> teamIds);
+
+    // Export: flat rows streamed with a JDBC fetch size, nothing is kept in the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.dragon.backend.dto.export.MembershipExportRow(
+                m.id, tm.id, tm.name, p.id, p.name, p.phone, m.role)
+            from Membership m
+            join m.team tm
+            join m.person p
+            order by tm.name, p.name, m.id
+            """)
+    Stream<MembershipExportRow> streamAllForExport();
+
+    // ETag source for a team's roster, covering every page like TrainingRepository.findChangeMarkerByTeamId
+    @Query("""
+            select new com.dragon.backend.repository.projection.ChangeMarker(
+                0L, count(m), 0L, greatest(max(m.updatedAt), max(p.updatedAt), max(tm.updatedAt)))
+            from Membership m
+            join m.team tm
+            join m.person p
+            where tm.id = :teamId
+            """)
+    ChangeMarker findChangeMarkerByTeamId(@Param("teamId") UUID teamId);
+}
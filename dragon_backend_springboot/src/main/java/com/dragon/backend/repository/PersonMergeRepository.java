@@ -0,0 +1,85 @@
+package com.dragon.backend.repository;
+
+import com.dragon.backend.model.Rsvp;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based rewrites of a duplicate person's references onto the person it is merged into: a handful of
+ * statements per merge, however many teams, lineups and RSVPs the duplicate has. Runs on the JPA transaction's
+ * connection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PersonMergeRepository {
+
+    // An RSVP of the duplicate's that was dropped, for RsvpCounters
+    public record DroppedRsvp(Long trainingId, LocalDateTime startAt, Rsvp.Response response) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findLineupIds(UUID personId) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT lineup_id FROM lineup_seat WHERE person_id = ?",
+                Long.class, personId);
+    }
+
+    /**
+     * Moves the duplicate's memberships to the survivor. Teams the survivor is already in keep the survivor's
+     * membership (and role), the duplicate's is dropped, as uq_person_team_once allows only one.
+     */
+    public int moveMemberships(UUID survivorId, UUID duplicateId, LocalDateTime now) {
+        jdbcTemplate.update("""
+                DELETE FROM person_team
+                WHERE person_id = ? AND team_id IN (SELECT team_id FROM person_team WHERE person_id = ?)
+                """, duplicateId, survivorId);
+        return jdbcTemplate.update("UPDATE person_team SET person_id = ?, updated_at = ? WHERE person_id = ?",
+                survivorId, Timestamp.valueOf(now), duplicateId);
+    }
+
+    /**
+     * Moves the duplicate's seats to the survivor. Where both sit in the same boat the survivor keeps their seat
+     * and the duplicate's is left empty, as uq_lineup_person_once allows one seat per person.
+     */
+    public int moveSeats(UUID survivorId, UUID duplicateId, LocalDateTime now) {
+        jdbcTemplate.update("""
+                UPDATE lineup_seat SET person_id = NULL, updated_at = ?, version = version + 1
+                WHERE person_id = ? AND lineup_id IN (SELECT lineup_id FROM lineup_seat WHERE person_id = ?)
+                """, Timestamp.valueOf(now), duplicateId, survivorId);
+        return jdbcTemplate.update(
+                "UPDATE lineup_seat SET person_id = ?, updated_at = ?, version = version + 1 WHERE person_id = ?",
+                survivorId, Timestamp.valueOf(now), duplicateId);
+    }
+
+    /**
+     * Moves the duplicate's RSVPs to the survivor. Where both answered for the same training the survivor's answer
+     * stands; the duplicate's is deleted and returned, so the counts can be corrected.
+     */
+    public List<DroppedRsvp> moveRsvps(UUID survivorId, UUID duplicateId, LocalDateTime now) {
+        List<DroppedRsvp> dropped = jdbcTemplate.query("""
+                        SELECT r.training_id, t.start_at, r.response
+                        FROM training_rsvp r
+                        JOIN training t ON t.id = r.training_id
+                        WHERE r.person_id = ?
+                          AND r.training_id IN (SELECT training_id FROM training_rsvp WHERE person_id = ?)
+                        """,
+                (rs, rowNum) -> new DroppedRsvp(
+                        rs.getLong("training_id"),
+                        rs.getTimestamp("start_at").toLocalDateTime(),
+                        Rsvp.Response.values()[rs.getInt("response")]),
+                duplicateId, survivorId);
+        jdbcTemplate.update("""
+                DELETE FROM training_rsvp
+                WHERE person_id = ? AND training_id IN (SELECT training_id FROM training_rsvp WHERE person_id = ?)
+                """, duplicateId, survivorId);
+        jdbcTemplate.update("UPDATE training_rsvp SET person_id = ?, updated_at = ? WHERE person_id = ?",
+                survivorId, Timestamp.valueOf(now), duplicateId);
+        return dropped;
+    }
+}
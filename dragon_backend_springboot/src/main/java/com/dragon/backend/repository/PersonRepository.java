@@ -1,12 +1,18 @@
 package com.dragon.backend.repository;
 
 import com.dragon.backend.model.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, UUID> {
@@ -16,4 +22,35 @@ public interface PersonRepository extends JpaRepository<Person, UUID> {
     List<Person> findByNameContainingIgnoreCase(String name);
     List<Person> findBySide(Person.Side side);
     boolean existsByPhone(String phone);
-}
\ No newline at end of file
+    List<Person> findByPhoneIn(Collection<String> phones);
+
+    interface SearchFields {
+        UUID getId();
+        String getName();
+        String getPhone();
+    }
+
+    // Loads PersonSearchIndex
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.id as id, p.name as name, p.phone as phone from Person p")
+    Stream<SearchFields> streamAllSearchFields();
+
+    interface DedupeFields {
+        UUID getId();
+        String getName();
+        String getPhone();
+        Short getHeight();
+        Short getWeight();
+    }
+
+    // Feeds PersonDedupeService's scan
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.id as id, p.name as name, p.phone as phone, p.height as height, p.weight as weight from Person p")
+    Stream<DedupeFields> streamAllDedupeFields();
+}
@@ -0,0 +1,297 @@
+package com.dragon.backend.repository;
+
+import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.location.LocationResponseDTO;
+import com.dragon.backend.dto.membership.MembershipResponseDTO;
+import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.dto.rsvp.RsvpCountsDTO;
+import com.dragon.backend.dto.team.TeamResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Lineup;
+import com.dragon.backend.model.LineupBalance;
+import com.dragon.backend.model.Membership;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.repository.projection.ChangeMarker;
+import com.dragon.backend.service.pagination.KeysetCursor;
+import com.dragon.backend.service.pagination.KeysetSort;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The hot read queries in plain SQL over R2DBC, mapped straight to the response DTOs. Each one is a single
+ * statement with the same joins as {@link com.dragon.backend.repository.projection.ResponseProjections}, so the
+ * JSON matches the JPA endpoints field for field. Keyset pages follow {@code KeysetPager}: they return one row
+ * more than requested and take the same cursors.
+ */
+@Repository
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveReadRepository {
+
+    private static final String TRAINING_COLUMNS = """
+            t.id, t.start_at, t.rsvp_yes, t.rsvp_maybe, t.rsvp_no, t.created_at, t.updated_at,
+            """ + teamColumns("tm", "team_") + ",\n" + """
+            loc.id AS location_id, loc.lat AS location_lat, loc.lon AS location_lon, loc.name AS location_name,
+            loc.created_at AS location_created_at, loc.updated_at AS location_updated_at,
+            """ + teamColumns("lt", "location_team_");
+
+    private static final String TRAINING_JOINS = """
+            JOIN team tm ON tm.id = t.team_id
+            JOIN location loc ON loc.id = t.location_id
+            JOIN team lt ON lt.id = loc.team_id
+            """;
+
+    // Sort properties accepted by the JPA endpoints, by column
+    private static final Map<String, String> TRAINING_SORT = Map.of("startAt", "t.start_at", "createdAt", "t.created_at");
+    private static final Map<String, String> MEMBERSHIP_SORT = Map.of("createdAt", "m.created_at");
+
+    public record LineupRow(LineupResponseDTO lineup, LineupBalance balance) {
+    }
+
+    private final DatabaseClient reactiveReadDatabaseClient;
+
+    public Flux<TrainingResponseDTO> findTrainingsByTeamId(UUID teamId, KeysetSort sort, String cursor, int limit) {
+        return page("SELECT " + TRAINING_COLUMNS + " FROM training t " + TRAINING_JOINS + "WHERE t.team_id = :teamId",
+                "t.id", TRAINING_SORT.get(sort.property()), sort, cursor, Long::valueOf, limit)
+                .bind("teamId", teamId)
+                .map(ReactiveReadRepository::training)
+                .all();
+    }
+
+    public Flux<MembershipResponseDTO> findMembershipsByTeamId(UUID teamId, KeysetSort sort, String cursor, int limit) {
+        String select = """
+                SELECT m.id, m.role, m.created_at, m.updated_at,
+                       p.id AS person_id, p.name AS person_name, p.phone AS person_phone, p.height AS person_height,
+                       p.weight AS person_weight, p.side AS person_side,
+                       p.profile_picture_url AS person_profile_picture_url,
+                       p.created_at AS person_created_at, p.updated_at AS person_updated_at,
+                """ + teamColumns("tm", "team_") + """
+
+                FROM person_team m
+                JOIN person p ON p.id = m.person_id
+                JOIN team tm ON tm.id = m.team_id
+                WHERE m.team_id = :teamId""";
+        return page(select, "m.id", MEMBERSHIP_SORT.get(sort.property()), sort, cursor, UUID::fromString, limit)
+                .bind("teamId", teamId)
+                .map(ReactiveReadRepository::membership)
+                .all();
+    }
+
+    public Mono<LineupRow> findLineupByTrainingId(Long trainingId) {
+        return reactiveReadDatabaseClient.sql("""
+                        SELECT l.id AS lineup_id, l.state AS lineup_state, l.version AS lineup_version,
+                               l.created_at AS lineup_created_at, l.updated_at AS lineup_updated_at,
+                               l.balance_left_weight, l.balance_right_weight, l.balance_weighted_seats,
+                               l.balance_seat_numbers,
+                               l.balance_seats, l.balance_empty_seats, l.balance_unknown_weights, l.balance_stale,
+                        """ + TRAINING_COLUMNS + """
+
+                        FROM lineup l
+                        JOIN training t ON t.id = l.training_id
+                        """ + TRAINING_JOINS + """
+                        WHERE l.training_id = :trainingId
+                        """)
+                .bind("trainingId", trainingId)
+                .map(row -> new LineupRow(
+                        LineupResponseDTO.builder()
+                                .id(row.get("lineup_id", Long.class))
+                                .training(training(row))
+                                .state(Lineup.State.values()[intValue(row, "lineup_state")])
+                                .version(row.get("lineup_version", Long.class))
+                                .createdAt(row.get("lineup_created_at", LocalDateTime.class))
+                                .updatedAt(row.get("lineup_updated_at", LocalDateTime.class))
+                                .build(),
+                        new LineupBalance(
+                                intValue(row, "balance_left_weight"),
+                                intValue(row, "balance_right_weight"),
+                                row.get("balance_weighted_seats", Number.class).longValue(),
+                                row.get("balance_seat_numbers", Number.class).longValue(),
+                                intValue(row, "balance_seats"),
+                                intValue(row, "balance_empty_seats"),
+                                intValue(row, "balance_unknown_weights"),
+                                Boolean.TRUE.equals(row.get("balance_stale", Boolean.class)))))
+                .one();
+    }
+
+    // Same totals as LineupBalanceRepository.computeBalances, for lineups whose stored balance is stale
+    public Mono<LineupBalance> computeBalance(Long lineupId) {
+        return reactiveReadDatabaseClient.sql("""
+                        SELECT COALESCE(SUM(CASE WHEN s.side = 'L' THEN p.weight ELSE 0 END), 0) AS left_weight,
+                               COALESCE(SUM(CASE WHEN s.side = 'R' THEN p.weight ELSE 0 END), 0) AS right_weight,
+                               COALESCE(SUM(CAST(p.weight AS integer) * s.seat_number), 0) AS weighted_seats,
+                               COALESCE(SUM(CAST(s.seat_number AS bigint)), 0) AS seat_numbers,
+                               COUNT(s.id) AS seats,
+                               COUNT(s.id) - COUNT(s.person_id) AS empty_seats,
+                               COUNT(s.person_id) - COUNT(p.weight) AS unknown_weights
+                        FROM lineup_seat s
+                        LEFT JOIN person p ON p.id = s.person_id
+                        WHERE s.lineup_id = :lineupId
+                        """)
+                .bind("lineupId", lineupId)
+                .map(row -> new LineupBalance(
+                        intValue(row, "left_weight"),
+                        intValue(row, "right_weight"),
+                        row.get("weighted_seats", Number.class).longValue(),
+                        row.get("seat_numbers", Number.class).longValue(),
+                        intValue(row, "seats"),
+                        intValue(row, "empty_seats"),
+                        intValue(row, "unknown_weights"),
+                        false))
+                .one();
+    }
+
+    // Same aggregates as TrainingRepository.findChangeMarkerByTeamId, so both paths hand out the same ETags
+    public Mono<ChangeMarker> findTrainingsChangeMarker(UUID teamId) {
+        return changeMarker("""
+                SELECT COUNT(t.id) AS row_count,
+                       GREATEST(MAX(t.updated_at), MAX(loc.updated_at), MAX(lt.updated_at), MAX(tm.updated_at)) AS last_modified
+                FROM training t
+                """ + TRAINING_JOINS + """
+                WHERE tm.id = :teamId
+                """, teamId);
+    }
+
+    // Same aggregates as MembershipRepository.findChangeMarkerByTeamId
+    public Mono<ChangeMarker> findRosterChangeMarker(UUID teamId) {
+        return changeMarker("""
+                SELECT COUNT(m.id) AS row_count,
+                       GREATEST(MAX(m.updated_at), MAX(p.updated_at), MAX(tm.updated_at)) AS last_modified
+                FROM person_team m
+                JOIN team tm ON tm.id = m.team_id
+                JOIN person p ON p.id = m.person_id
+                WHERE tm.id = :teamId
+                """, teamId);
+    }
+
+    private Mono<ChangeMarker> changeMarker(String sql, UUID teamId) {
+        return reactiveReadDatabaseClient.sql(sql)
+                .bind("teamId", teamId)
+                .map(row -> new ChangeMarker(0L, row.get("row_count", Number.class).longValue(), 0L,
+                        row.get("last_modified", LocalDateTime.class)))
+                .one();
+    }
+
+    /**
+     * Adds the keyset range, order and limit to a filtered select: "(key, id) > (:key, :id) ORDER BY key, id",
+     * reversed for descending sorts. Sort keys are always timestamps.
+     */
+    private DatabaseClient.GenericExecuteSpec page(String select, String idColumn, String keyColumn, KeysetSort sort,
+                                                   String cursor, Function<String, Object> idParser, int limit) {
+        String direction = sort.ascending() ? "ASC" : "DESC";
+        String comparison = sort.ascending() ? ">" : "<";
+        StringBuilder sql = new StringBuilder(select);
+        Object keyValue = null;
+        Object idValue = null;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            try {
+                keyValue = LocalDateTime.parse(position.key());
+                idValue = idParser.apply(position.id());
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            sql.append(" AND (").append(keyColumn).append(' ').append(comparison).append(" :key OR (")
+                    .append(keyColumn).append(" = :key AND ").append(idColumn).append(' ').append(comparison)
+                    .append(" :id))");
+        }
+        sql.append(" ORDER BY ").append(keyColumn).append(' ').append(direction).append(", ")
+                .append(idColumn).append(' ').append(direction)
+                .append(" LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = reactiveReadDatabaseClient.sql(sql.toString()).bind("limit", limit);
+        if (keyValue != null) {
+            spec = spec.bind("key", keyValue).bind("id", idValue);
+        }
+        return spec;
+    }
+
+    private static String teamColumns(String alias, String prefix) {
+        return String.join(", ",
+                alias + ".id AS " + prefix + "id",
+                alias + ".name AS " + prefix + "name",
+                alias + ".city AS " + prefix + "city",
+                alias + ".max_members AS " + prefix + "max_members",
+                alias + ".created_at AS " + prefix + "created_at",
+                alias + ".updated_at AS " + prefix + "updated_at");
+    }
+
+    private static TrainingResponseDTO training(Readable row) {
+        return TrainingResponseDTO.builder()
+                .id(row.get("id", Long.class))
+                .team(team(row, "team_"))
+                .location(LocationResponseDTO.builder()
+                        .id(intValue(row, "location_id"))
+                        .team(team(row, "location_team_"))
+                        .lat(row.get("location_lat", Double.class))
+                        .lon(row.get("location_lon", Double.class))
+                        .name(row.get("location_name", String.class))
+                        .createdAt(row.get("location_created_at", LocalDateTime.class))
+                        .updatedAt(row.get("location_updated_at", LocalDateTime.class))
+                        .build())
+                .startAt(row.get("start_at", LocalDateTime.class))
+                .rsvps(RsvpCountsDTO.builder()
+                        .yes(intValue(row, "rsvp_yes"))
+                        .maybe(intValue(row, "rsvp_maybe"))
+                        .no(intValue(row, "rsvp_no"))
+                        .build())
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static TeamResponseDTO team(Readable row, String prefix) {
+        return TeamResponseDTO.builder()
+                .id(row.get(prefix + "id", UUID.class))
+                .name(row.get(prefix + "name", String.class))
+                .city(row.get(prefix + "city", String.class))
+                .maxMembers(intValue(row, prefix + "max_members"))
+                .createdAt(row.get(prefix + "created_at", LocalDateTime.class))
+                .updatedAt(row.get(prefix + "updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static MembershipResponseDTO membership(Readable row) {
+        return MembershipResponseDTO.builder()
+                .id(row.get("id", UUID.class))
+                .person(PersonResponseDTO.builder()
+                        .id(row.get("person_id", UUID.class))
+                        .name(row.get("person_name", String.class))
+                        .phone(row.get("person_phone", String.class))
+                        .height(shortValue(row, "person_height"))
+                        .weight(shortValue(row, "person_weight"))
+                        .side(Person.Side.values()[intValue(row, "person_side")])
+                        .profilePictureUrl(row.get("person_profile_picture_url", String.class))
+                        .createdAt(row.get("person_created_at", LocalDateTime.class))
+                        .updatedAt(row.get("person_updated_at", LocalDateTime.class))
+                        .build())
+                .team(team(row, "team_"))
+                .role(Membership.Role.values()[intValue(row, "role")])
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    // Small integer columns come back as Short, Integer or Byte depending on the driver
+    private static Integer intValue(Readable row, String column) {
+        Number value = row.get(column, Number.class);
+        return value == null ? null : value.intValue();
+    }
+
+    private static Short shortValue(Readable row, String column) {
+        Number value = row.get(column, Number.class);
+        return value == null ? null : value.shortValue();
+    }
+}
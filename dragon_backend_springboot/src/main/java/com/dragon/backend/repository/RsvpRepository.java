@@ -0,0 +1,40 @@
+package com.dragon.backend.repository;
+
+import com.dragon.backend.model.Rsvp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RsvpRepository extends JpaRepository<Rsvp, Long> {
+
+    // Custom query methods:
+    Optional<Rsvp> findByTrainingIdAndPersonId(Long trainingId, UUID personId);
+
+    // A training's RSVP list with the paddlers, in one query
+    @Query("""
+            select r from Rsvp r
+            join fetch r.person p
+            where r.training.id = :trainingId
+            order by r.response, p.name, p.id
+            """)
+    List<Rsvp> findAllWithPersonByTrainingId(@Param("trainingId") Long trainingId);
+
+    // A person's RSVPs with their trainings, so the counts can be corrected before the person is deleted
+    @Query("select r from Rsvp r join fetch r.training where r.person.id = :personId")
+    List<Rsvp> findAllWithTrainingByPersonId(@Param("personId") UUID personId);
+
+    @Modifying
+    @Query("delete from Rsvp r where r.person.id = :personId")
+    int deleteByPersonId(@Param("personId") UUID personId);
+
+    @Modifying
+    @Query("delete from Rsvp r where r.training.id = :trainingId")
+    int deleteByTrainingId(@Param("trainingId") Long trainingId);
+}
@@ -4,6 +4,8 @@ import com.dragon.backend.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +14,5 @@ public interface TeamRepository extends JpaRepository<Team, UUID> {
 
     Optional<Team> findByName(String name);
     boolean existsByName(String name);
+    List<Team> findByNameIn(Collection<String> names);
 }
\ No newline at end of file
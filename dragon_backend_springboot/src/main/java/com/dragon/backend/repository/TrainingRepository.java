@@ -1,17 +1,26 @@
 package com.dragon.backend.repository;
 
+import com.dragon.backend.dto.export.TrainingExportRow;
 import com.dragon.backend.model.Training;
 import com.dragon.backend.model.Team;
 import com.dragon.backend.model.Location;
+import com.dragon.backend.repository.projection.ChangeMarker;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TrainingRepository extends JpaRepository<Training, Short> {
+public interface TrainingRepository extends JpaRepository<Training, Long> {
 
     // Custom query methods:
     List<Training> findByTeam(Team team);
@@ -21,4 +30,64 @@ public interface TrainingRepository extends JpaRepository<Training, Short> {
     List<Training> findByTeamIdAndStartAtBetween(UUID teamId, LocalDateTime start, LocalDateTime end);
     List<Training> findByStartAtAfter(LocalDateTime dateTime);
     List<Training> findByStartAtBefore(LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    // Export: flat rows streamed with a JDBC fetch size, nothing is kept in the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.dragon.backend.dto.export.TrainingExportRow(
+                t.id, tm.id, tm.name, loc.id, loc.name, loc.lat, loc.lon, t.startAt)
+            from Training t
+            join t.team tm
+            join t.location loc
+            order by t.startAt, t.id
+            """)
+    Stream<TrainingExportRow> streamAllForExport();
+
+    interface TrainingLocationKey {
+        Long getId();
+        LocalDateTime getStartAt();
+        Integer getLocationId();
+    }
+
+    // Nearby trainings: walks idx_training_start from the keyset position (afterStart, afterId) to the end of the
+    // time window; the caller filters by location
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t.id as id, t.startAt as startAt, t.location.id as locationId
+            from Training t
+            where (t.startAt > :afterStart or (t.startAt = :afterStart and t.id > :afterId)) and t.startAt < :to
+            order by t.startAt, t.id
+            """)
+    Stream<TrainingLocationKey> streamLocationsStartingBetween(@Param("afterStart") LocalDateTime afterStart,
+                                                              @Param("afterId") Long afterId,
+                                                              @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.dragon.backend.repository.projection.ChangeMarker(
+                0L, 1L, 0L, greatest(t.updatedAt, tm.updatedAt, loc.updatedAt, lt.updatedAt))
+            from Training t
+            join t.team tm
+            join t.location loc
+            join loc.team lt
+            where t.id = :id
+            """)
+    Optional<ChangeMarker> findChangeMarker(@Param("id") Long id);
+
+    // ETag source for a team's training list; covers every page, since a change anywhere may shift the pages
+    @Query("""
+            select new com.dragon.backend.repository.projection.ChangeMarker(
+                0L, count(t), 0L, greatest(max(t.updatedAt), max(loc.updatedAt), max(lt.updatedAt), max(tm.updatedAt)))
+            from Training t
+            join t.team tm
+            join t.location loc
+            join loc.team lt
+            where tm.id = :teamId
+            """)
+    ChangeMarker findChangeMarkerByTeamId(@Param("teamId") UUID teamId);
+}
@@ -0,0 +1,11 @@
+package com.dragon.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a response was built from, reduced to a few aggregates: a version (0 where the entity has none), the number
+ * of rows involved, the sum of their versions and the latest updated_at among them. Any insert, update or delete
+ * of those rows changes at least one of them, which makes it a cheap basis for ETags.
+ */
+public record ChangeMarker(long version, long rows, long nestedVersions, LocalDateTime lastModified) {
+}
@@ -0,0 +1,49 @@
+package com.dragon.backend.repository.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only queries that return {@link RowProjection} results instead of managed entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectionQueries {
+
+    private final EntityManager entityManager;
+
+    public <E, R> Optional<R> findById(Class<E> type, Object id, RowProjection<E, R> projection) {
+        List<R> rows = findAll(type, (root, query, cb) -> cb.equal(root.get("id"), id), projection, null);
+        return rows.stream().findFirst();
+    }
+
+    public <E, R> List<R> findAll(Class<E> type, Specification<E> filter, RowProjection<E, R> projection,
+                                  String orderBy) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+        query.multiselect(projection.select(root));
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (orderBy != null) {
+            query.orderBy(cb.asc(root.get(orderBy)), cb.asc(root.get("id")));
+        }
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(projection::map)
+                .toList();
+    }
+}
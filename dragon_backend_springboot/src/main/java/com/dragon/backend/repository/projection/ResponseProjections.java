@@ -0,0 +1,170 @@
+package com.dragon.backend.repository.projection;
+
+import com.dragon.backend.dto.location.LocationResponseDTO;
+import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.dto.rsvp.RsvpCountsDTO;
+import com.dragon.backend.dto.team.TeamResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Column projections that build response DTOs (including nested team/location DTOs) from a single joined row.
+ */
+public final class ResponseProjections {
+
+    private ResponseProjections() {
+    }
+
+    public static RowProjection<Team, TeamResponseDTO> team() {
+        return new RowProjection<>() {
+            @Override
+            public List<Selection<?>> select(Root<Team> root) {
+                return teamColumns(root, "");
+            }
+
+            @Override
+            public TeamResponseDTO map(Tuple row) {
+                return team(row, "");
+            }
+        };
+    }
+
+    public static RowProjection<Person, PersonResponseDTO> person() {
+        return new RowProjection<>() {
+            @Override
+            public List<Selection<?>> select(Root<Person> root) {
+                return List.of(
+                        root.get("id").alias("id"),
+                        root.get("name").alias("name"),
+                        root.get("phone").alias("phone"),
+                        root.get("height").alias("height"),
+                        root.get("weight").alias("weight"),
+                        root.get("side").alias("side"),
+                        root.get("profilePictureUrl").alias("profilePictureUrl"),
+                        root.get("createdAt").alias("createdAt"),
+                        root.get("updatedAt").alias("updatedAt"));
+            }
+
+            @Override
+            public PersonResponseDTO map(Tuple row) {
+                return PersonResponseDTO.builder()
+                        .id(row.get("id", UUID.class))
+                        .name(row.get("name", String.class))
+                        .phone(row.get("phone", String.class))
+                        .height(row.get("height", Short.class))
+                        .weight(row.get("weight", Short.class))
+                        .side(row.get("side", Person.Side.class))
+                        .profilePictureUrl(row.get("profilePictureUrl", String.class))
+                        .createdAt(row.get("createdAt", LocalDateTime.class))
+                        .updatedAt(row.get("updatedAt", LocalDateTime.class))
+                        .build();
+            }
+        };
+    }
+
+    public static RowProjection<Location, LocationResponseDTO> location() {
+        return new RowProjection<>() {
+            @Override
+            public List<Selection<?>> select(Root<Location> root) {
+                return locationColumns(root, "");
+            }
+
+            @Override
+            public LocationResponseDTO map(Tuple row) {
+                return location(row, "");
+            }
+        };
+    }
+
+    public static RowProjection<Training, TrainingResponseDTO> training() {
+        return new RowProjection<>() {
+            @Override
+            public List<Selection<?>> select(Root<Training> root) {
+                List<Selection<?>> columns = new ArrayList<>();
+                columns.add(root.get("id").alias("id"));
+                columns.add(root.get("startAt").alias("startAt"));
+                Path<?> rsvps = root.get("rsvpCounts");
+                columns.add(rsvps.get("yes").alias("rsvpYes"));
+                columns.add(rsvps.get("maybe").alias("rsvpMaybe"));
+                columns.add(rsvps.get("no").alias("rsvpNo"));
+                columns.add(root.get("createdAt").alias("createdAt"));
+                columns.add(root.get("updatedAt").alias("updatedAt"));
+                columns.addAll(teamColumns(root.join("team"), "team_"));
+                columns.addAll(locationColumns(root.join("location"), "location_"));
+                return columns;
+            }
+
+            @Override
+            public TrainingResponseDTO map(Tuple row) {
+                return TrainingResponseDTO.builder()
+                        .id(row.get("id", Long.class))
+                        .team(team(row, "team_"))
+                        .location(location(row, "location_"))
+                        .startAt(row.get("startAt", LocalDateTime.class))
+                        .rsvps(RsvpCountsDTO.builder()
+                                .yes(row.get("rsvpYes", Integer.class))
+                                .maybe(row.get("rsvpMaybe", Integer.class))
+                                .no(row.get("rsvpNo", Integer.class))
+                                .build())
+                        .createdAt(row.get("createdAt", LocalDateTime.class))
+                        .updatedAt(row.get("updatedAt", LocalDateTime.class))
+                        .build();
+            }
+        };
+    }
+
+    private static List<Selection<?>> teamColumns(Path<?> team, String prefix) {
+        return List.of(
+                team.get("id").alias(prefix + "id"),
+                team.get("name").alias(prefix + "name"),
+                team.get("city").alias(prefix + "city"),
+                team.get("maxMembers").alias(prefix + "maxMembers"),
+                team.get("createdAt").alias(prefix + "createdAt"),
+                team.get("updatedAt").alias(prefix + "updatedAt"));
+    }
+
+    private static TeamResponseDTO team(Tuple row, String prefix) {
+        return TeamResponseDTO.builder()
+                .id(row.get(prefix + "id", UUID.class))
+                .name(row.get(prefix + "name", String.class))
+                .city(row.get(prefix + "city", String.class))
+                .maxMembers(row.get(prefix + "maxMembers", Integer.class))
+                .createdAt(row.get(prefix + "createdAt", LocalDateTime.class))
+                .updatedAt(row.get(prefix + "updatedAt", LocalDateTime.class))
+                .build();
+    }
+
+    private static List<Selection<?>> locationColumns(From<?, ?> location, String prefix) {
+        List<Selection<?>> columns = new ArrayList<>(List.of(
+                location.get("id").alias(prefix + "id"),
+                location.get("lat").alias(prefix + "lat"),
+                location.get("lon").alias(prefix + "lon"),
+                location.get("name").alias(prefix + "name"),
+                location.get("createdAt").alias(prefix + "createdAt"),
+                location.get("updatedAt").alias(prefix + "updatedAt")));
+        columns.addAll(teamColumns(location.join("team"), prefix + "team_"));
+        return columns;
+    }
+
+    private static LocationResponseDTO location(Tuple row, String prefix) {
+        return LocationResponseDTO.builder()
+                .id(row.get(prefix + "id", Integer.class))
+                .team(team(row, prefix + "team_"))
+                .lat(row.get(prefix + "lat", Double.class))
+                .lon(row.get(prefix + "lon", Double.class))
+                .name(row.get(prefix + "name", String.class))
+                .createdAt(row.get(prefix + "createdAt", LocalDateTime.class))
+                .updatedAt(row.get(prefix + "updatedAt", LocalDateTime.class))
+                .build();
+    }
+}
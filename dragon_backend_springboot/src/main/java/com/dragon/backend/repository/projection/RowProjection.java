@@ -0,0 +1,36 @@
+package com.dragon.backend.repository.projection;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+
+/**
+ * Maps a criteria query straight to a read model: {@link #select} picks aliased columns (adding joins as needed)
+ * and {@link #map} builds the result from the returned row. No entity is loaded, so nothing is added to the
+ * persistence context and no dirty-checking snapshot is taken.
+ */
+public interface RowProjection<E, R> {
+
+    List<Selection<?>> select(Root<E> root);
+
+    R map(Tuple row);
+
+    /**
+     * Selects the managed entity itself, for callers that still need it.
+     */
+    static <E> RowProjection<E, E> entity(Class<E> type) {
+        return new RowProjection<>() {
+            @Override
+            public List<Selection<?>> select(Root<E> root) {
+                return List.of(root.alias("entity"));
+            }
+
+            @Override
+            public E map(Tuple row) {
+                return row.get("entity", type);
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.dragon.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Authenticated user as described by the access token claims; built without loading the {@code User} entity.
+ */
+public record JwtPrincipal(UUID id, String username, List<GrantedAuthority> authorities)
+        implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dragon.backend.security;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Whether a user may still authenticate with an already issued access token.
+ * Cached briefly so deactivating a user takes effect within the cache TTL without a query per request.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatusService {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USER_STATUS, key = "#userId")
+    public boolean isActive(UUID userId) {
+        return userRepository.findIsActiveById(userId).orElse(false);
+    }
+}
@@ -4,25 +4,26 @@ import com.dragon.backend.dto.auth.*;
 import com.dragon.backend.model.RefreshToken;
 import com.dragon.backend.model.User;
 import com.dragon.backend.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.dragon.backend.security.PasswordHasher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
-    private final AuthenticationManager authenticationManager;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // Not transactional as a whole: hashing runs on the hashing pool without holding a DB connection
     public AuthResponseDTO register(RegisterRequestDTO requestDTO) {
         if (userRepository.existsByUsername(requestDTO.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -34,47 +35,38 @@ public class AuthService {
         User user = User.builder()
                 .username(requestDTO.getUsername())
                 .email(requestDTO.getEmail())
-                .password(passwordEncoder.encode(requestDTO.getPassword()))
+                .password(passwordHasher.encode(requestDTO.getPassword()))
                 .isStaff(false)
                 .isSuperuser(false)
                 .isActive(true)
                 .build();
 
-        User saved = userRepository.save(user);
-        String accessToken = jwtService.generateToken(saved.getUsername());
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(saved);
-
-        return AuthResponseDTO.builder()
-                .access(accessToken)
-                .refresh(refreshToken.getToken())
-                .userId(saved.getId())
-                .username(saved.getUsername())
-                .email(saved.getEmail())
-                .build();
+        return transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            return authResponse(saved, refreshTokenService.createRefreshToken(saved));
+        });
     }
 
-    @Transactional
     public AuthResponseDTO login(LoginRequestDTO requestDTO) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        requestDTO.getUsername(),
-                        requestDTO.getPassword()
-                )
-        );
-
-        User user = userRepository.findByUsername(requestDTO.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = userRepository.findByUsername(requestDTO.getUsername()).orElse(null);
+        if (user == null) {
+            passwordHasher.matchesUnknownUser(requestDTO.getPassword());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordHasher.matches(requestDTO.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
 
-        String accessToken = jwtService.generateToken(user.getUsername());
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+        // Transparent upgrade when the configured BCrypt strength changed since this hash was made
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            String rehashed = passwordHasher.encode(requestDTO.getPassword());
+            userRepository.updatePassword(user.getId(), rehashed);
+        }
 
-        return AuthResponseDTO.builder()
-                .access(accessToken)
-                .refresh(refreshToken.getToken())
-                .userId(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .build();
+        return authResponse(user, refreshTokenService.createRefreshToken(user));
     }
 
     @Transactional
@@ -83,7 +75,7 @@ public class AuthService {
         refreshToken = refreshTokenService.verifyExpiration(refreshToken);
 
         User user = refreshToken.getUser();
-        String newAccessToken = jwtService.generateToken(user.getUsername());
+        String newAccessToken = jwtService.generateToken(user);
 
         // Optionally rotate refresh token
         RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
@@ -109,10 +101,20 @@ public class AuthService {
 
     public boolean verifyToken(String token) {
         try {
-            String username = jwtService.extractUsername(token);
-            return username != null && !jwtService.isTokenExpired(token);
-        } catch (Exception e) {
+            jwtService.parseClaims(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
+
+    private AuthResponseDTO authResponse(User user, RefreshToken refreshToken) {
+        return AuthResponseDTO.builder()
+                .access(jwtService.generateToken(user))
+                .refresh(refreshToken.getToken())
+                .userId(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .build();
+    }
 }
\ No newline at end of file
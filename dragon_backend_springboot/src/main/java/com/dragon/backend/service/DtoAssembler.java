@@ -0,0 +1,345 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.dto.lineup.LineupBalanceDTO;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupFullSeatDTO;
+import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.lineup.LineupSeatResponseDTO;
+import com.dragon.backend.dto.location.LocationResponseDTO;
+import com.dragon.backend.dto.membership.MembershipResponseDTO;
+import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.dto.person.PersonSummaryDTO;
+import com.dragon.backend.dto.rsvp.RsvpCountsDTO;
+import com.dragon.backend.dto.team.TeamResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LocationRepository;
+import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds response DTOs for a whole page of entities at once.
+ * Foreign keys are collected first, every referenced type is loaded with a single IN (...) query
+ * and nested DTOs are shared through an identity map, so the number of statements per list call
+ * no longer depends on the number of rows.
+ * Teams, locations and persons that would need a query are looked up in the reference data caches first
+ * (see {@link CacheConfig}); whatever had to be loaded is put back into them.
+ */
+@Component
+@RequiredArgsConstructor
+public class DtoAssembler {
+
+    private final TeamRepository teamRepository;
+    private final LocationRepository locationRepository;
+    private final PersonRepository personRepository;
+    private final TrainingRepository trainingRepository;
+    private final CacheManager cacheManager;
+    private final LineupBalanceService lineupBalanceService;
+
+    // Teams
+
+    public TeamResponseDTO toTeamDTO(Team team) {
+        return toTeamDTOs(List.of(team)).get(0);
+    }
+
+    public List<TeamResponseDTO> toTeamDTOs(Collection<Team> teams) {
+        Map<UUID, TeamResponseDTO> dtos = teamDTOs(teams);
+        return teams.stream().map(t -> dtos.get(t.getId())).collect(Collectors.toList());
+    }
+
+    // Persons
+
+    public PersonResponseDTO toPersonDTO(Person person) {
+        return toPersonDTOs(List.of(person)).get(0);
+    }
+
+    public List<PersonResponseDTO> toPersonDTOs(Collection<Person> persons) {
+        Map<UUID, PersonResponseDTO> dtos = personDTOs(persons);
+        return persons.stream().map(p -> dtos.get(p.getId())).collect(Collectors.toList());
+    }
+
+    // Locations
+
+    public LocationResponseDTO toLocationDTO(Location location) {
+        return toLocationDTOs(List.of(location)).get(0);
+    }
+
+    public List<LocationResponseDTO> toLocationDTOs(Collection<Location> locations) {
+        Map<Integer, LocationResponseDTO> dtos = locationDTOs(locations);
+        return locations.stream().map(l -> dtos.get(l.getId())).collect(Collectors.toList());
+    }
+
+    // Trainings
+
+    public TrainingResponseDTO toTrainingDTO(Training training) {
+        return toTrainingDTOs(List.of(training)).get(0);
+    }
+
+    public List<TrainingResponseDTO> toTrainingDTOs(Collection<Training> trainings) {
+        Map<Long, TrainingResponseDTO> dtos = trainingDTOs(trainings);
+        return trainings.stream().map(t -> dtos.get(t.getId())).collect(Collectors.toList());
+    }
+
+    // Lineups
+
+    public LineupResponseDTO toLineupDTO(Lineup lineup) {
+        return toLineupDTOs(List.of(lineup)).get(0);
+    }
+
+    public List<LineupResponseDTO> toLineupDTOs(Collection<Lineup> lineups) {
+        Map<Long, Training> trainings = resolve(
+                lineups.stream().map(Lineup::getTraining), Training::getId, trainingRepository::findAllById);
+        Map<Long, TrainingResponseDTO> trainingDTOs = trainingDTOs(trainings.values());
+        Map<Long, LineupBalanceDTO> balances = lineupBalanceService.toDTOs(lineups);
+
+        return lineups.stream()
+                .map(lineup -> LineupResponseDTO.builder()
+                        .id(lineup.getId())
+                        .training(trainingDTOs.get(lineup.getTraining().getId()))
+                        .state(lineup.getState())
+                        .version(lineup.getVersion())
+                        .balance(balances.get(lineup.getId()))
+                        .createdAt(lineup.getCreatedAt())
+                        .updatedAt(lineup.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Expects a lineup loaded with its training graph, seats and paddlers already fetched
+     * (see {@code LineupRepository.findFullById}); no further statements are issued in that case.
+     */
+    public LineupFullResponseDTO toLineupFullDTO(Lineup lineup) {
+        TrainingResponseDTO training = trainingDTOs(List.of(lineup.getTraining())).get(lineup.getTraining().getId());
+        Map<LineupSeat.Side, List<LineupFullSeatDTO>> sides = new EnumMap<>(LineupSeat.Side.class);
+        for (LineupSeat.Side side : LineupSeat.Side.values()) {
+            sides.put(side, new ArrayList<>());
+        }
+        for (LineupSeat seat : lineup.getSeats()) {
+            Person person = seat.getPerson();
+            sides.get(seat.getSide()).add(LineupFullSeatDTO.builder()
+                    .id(seat.getId())
+                    .seatNumber(seat.getSeatNumber())
+                    .version(seat.getVersion())
+                    .person(person != null ? PersonSummaryDTO.builder()
+                            .id(person.getId())
+                            .name(person.getName())
+                            .height(person.getHeight())
+                            .weight(person.getWeight())
+                            .side(person.getSide())
+                            .profilePictureUrl(person.getProfilePictureUrl())
+                            .build() : null)
+                    .build());
+        }
+
+        return LineupFullResponseDTO.builder()
+                .id(lineup.getId())
+                .training(training)
+                .state(lineup.getState())
+                .version(lineup.getVersion())
+                .balance(lineupBalanceService.toDTOs(List.of(lineup)).get(lineup.getId()))
+                .left(sides.get(LineupSeat.Side.L))
+                .right(sides.get(LineupSeat.Side.R))
+                .createdAt(lineup.getCreatedAt())
+                .updatedAt(lineup.getUpdatedAt())
+                .build();
+    }
+
+    // Lineup seats
+
+    public LineupSeatResponseDTO toLineupSeatDTO(LineupSeat seat) {
+        return toLineupSeatDTOs(List.of(seat)).get(0);
+    }
+
+    public List<LineupSeatResponseDTO> toLineupSeatDTOs(Collection<LineupSeat> seats) {
+        Map<UUID, PersonResponseDTO> personDTOs = personDTOs(
+                seats.stream().map(LineupSeat::getPerson).filter(Objects::nonNull).toList());
+
+        return seats.stream()
+                .map(seat -> LineupSeatResponseDTO.builder()
+                        .id(seat.getId())
+                        .lineupId(seat.getLineup().getId())
+                        .person(seat.getPerson() != null ? personDTOs.get(seat.getPerson().getId()) : null)
+                        .side(seat.getSide())
+                        .seatNumber(seat.getSeatNumber())
+                        .version(seat.getVersion())
+                        .createdAt(seat.getCreatedAt())
+                        .updatedAt(seat.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Memberships
+
+    public MembershipResponseDTO toMembershipDTO(Membership membership) {
+        return toMembershipDTOs(List.of(membership)).get(0);
+    }
+
+    public List<MembershipResponseDTO> toMembershipDTOs(Collection<Membership> memberships) {
+        Map<UUID, PersonResponseDTO> personDTOs = personDTOs(memberships.stream().map(Membership::getPerson).toList());
+        Map<UUID, TeamResponseDTO> teamDTOs = teamDTOs(memberships.stream().map(Membership::getTeam).toList());
+
+        return memberships.stream()
+                .map(membership -> MembershipResponseDTO.builder()
+                        .id(membership.getId())
+                        .person(personDTOs.get(membership.getPerson().getId()))
+                        .team(teamDTOs.get(membership.getTeam().getId()))
+                        .role(membership.getRole())
+                        .createdAt(membership.getCreatedAt())
+                        .updatedAt(membership.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Identity maps
+
+    private Map<UUID, TeamResponseDTO> teamDTOs(Collection<Team> refs) {
+        Map<UUID, TeamResponseDTO> dtos = cached(refs.stream(), Team::getId, CacheConfig.TEAMS, TeamResponseDTO.class);
+        Map<UUID, Team> teams = resolve(
+                refs.stream().filter(t -> !dtos.containsKey(t.getId())), Team::getId, teamRepository::findAllById);
+        teams.forEach((id, team) -> dtos.put(id, TeamResponseDTO.builder()
+                .id(team.getId())
+                .name(team.getName())
+                .city(team.getCity())
+                .maxMembers(team.getMaxMembers())
+                .createdAt(team.getCreatedAt())
+                .updatedAt(team.getUpdatedAt())
+                .build()));
+        store(CacheConfig.TEAMS, teams.keySet(), dtos);
+        return dtos;
+    }
+
+    private Map<UUID, PersonResponseDTO> personDTOs(Collection<Person> refs) {
+        Map<UUID, PersonResponseDTO> dtos = cached(refs.stream(), Person::getId, CacheConfig.PERSONS, PersonResponseDTO.class);
+        Map<UUID, Person> persons = resolve(
+                refs.stream().filter(p -> !dtos.containsKey(p.getId())), Person::getId, personRepository::findAllById);
+        persons.forEach((id, person) -> dtos.put(id, PersonResponseDTO.builder()
+                .id(person.getId())
+                .name(person.getName())
+                .phone(person.getPhone())
+                .height(person.getHeight())
+                .weight(person.getWeight())
+                .side(person.getSide())
+                .profilePictureUrl(person.getProfilePictureUrl())
+                .createdAt(person.getCreatedAt())
+                .updatedAt(person.getUpdatedAt())
+                .build()));
+        store(CacheConfig.PERSONS, persons.keySet(), dtos);
+        return dtos;
+    }
+
+    private Map<Integer, LocationResponseDTO> locationDTOs(Collection<Location> refs) {
+        Map<Integer, LocationResponseDTO> dtos = cached(
+                refs.stream(), Location::getId, CacheConfig.LOCATIONS, LocationResponseDTO.class);
+        Map<Integer, Location> locations = resolve(
+                refs.stream().filter(l -> !dtos.containsKey(l.getId())), Location::getId, locationRepository::findAllById);
+        Map<UUID, TeamResponseDTO> teamDTOs = teamDTOs(locations.values().stream().map(Location::getTeam).toList());
+        dtos.putAll(locationDTOs(locations, teamDTOs));
+        return dtos;
+    }
+
+    private Map<Integer, LocationResponseDTO> locationDTOs(Map<Integer, Location> locations,
+                                                           Map<UUID, TeamResponseDTO> teamDTOs) {
+        Map<Integer, LocationResponseDTO> dtos = new HashMap<>(locations.size());
+        locations.forEach((id, location) -> dtos.put(id, LocationResponseDTO.builder()
+                .id(location.getId())
+                .team(teamDTOs.get(location.getTeam().getId()))
+                .lat(location.getLat())
+                .lon(location.getLon())
+                .name(location.getName())
+                .createdAt(location.getCreatedAt())
+                .updatedAt(location.getUpdatedAt())
+                .build()));
+        store(CacheConfig.LOCATIONS, locations.keySet(), dtos);
+        return dtos;
+    }
+
+    private Map<Long, TrainingResponseDTO> trainingDTOs(Collection<Training> refs) {
+        Map<Long, Training> trainings = resolve(refs.stream(), Training::getId, trainingRepository::findAllById);
+        Map<Integer, LocationResponseDTO> locationDTOs = cached(trainings.values().stream().map(Training::getLocation),
+                Location::getId, CacheConfig.LOCATIONS, LocationResponseDTO.class);
+        Map<Integer, Location> locations = resolve(
+                trainings.values().stream().map(Training::getLocation).filter(l -> !locationDTOs.containsKey(l.getId())),
+                Location::getId, locationRepository::findAllById);
+        // Training teams and location teams are loaded together in one query
+        Map<UUID, TeamResponseDTO> teamDTOs = teamDTOs(Stream.concat(
+                trainings.values().stream().map(Training::getTeam),
+                locations.values().stream().map(Location::getTeam)).toList());
+        locationDTOs.putAll(locationDTOs(locations, teamDTOs));
+
+        Map<Long, TrainingResponseDTO> dtos = new HashMap<>(trainings.size());
+        trainings.forEach((id, training) -> dtos.put(id, TrainingResponseDTO.builder()
+                .id(training.getId())
+                .team(teamDTOs.get(training.getTeam().getId()))
+                .location(locationDTOs.get(training.getLocation().getId()))
+                .startAt(training.getStartAt())
+                .rsvps(RsvpCountsDTO.builder()
+                        .yes(training.getRsvpCounts().getYes())
+                        .maybe(training.getRsvpCounts().getMaybe())
+                        .no(training.getRsvpCounts().getNo())
+                        .build())
+                .createdAt(training.getCreatedAt())
+                .updatedAt(training.getUpdatedAt())
+                .build()));
+        return dtos;
+    }
+
+    /**
+     * Returns cached DTOs for the references that are still uninitialized proxies. Initialized entities are
+     * skipped: they cost no query and may carry changes the cache has not seen yet.
+     */
+    private <T, ID, D> Map<ID, D> cached(Stream<T> refs, Function<T, ID> idOf, String cacheName, Class<D> type) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Map<ID, D> hits = new HashMap<>();
+        refs.filter(ref -> ref != null && !Hibernate.isInitialized(ref)).forEach(ref -> {
+            ID id = idOf.apply(ref);
+            D dto = cache.get(id, type);
+            if (dto != null) {
+                hits.put(id, dto);
+            }
+        });
+        return hits;
+    }
+
+    private <ID, D> void store(String cacheName, Set<ID> ids, Map<ID, D> dtos) {
+        Cache cache = cacheManager.getCache(cacheName);
+        ids.forEach(id -> cache.put(id, dtos.get(id)));
+    }
+
+    /**
+     * Returns an id -> entity map for the given references. Initialized entities are used as-is;
+     * uninitialized proxies are collected and loaded together with one call to {@code loader}.
+     */
+    private <T, ID> Map<ID, T> resolve(Stream<T> refs, Function<T, ID> idOf, Function<Set<ID>, List<T>> loader) {
+        Map<ID, T> resolved = new LinkedHashMap<>();
+        Set<ID> missing = new LinkedHashSet<>();
+        refs.filter(Objects::nonNull).forEach(ref -> {
+            ID id = idOf.apply(ref);
+            if (resolved.containsKey(id)) {
+                return;
+            }
+            if (Hibernate.isInitialized(ref)) {
+                resolved.put(id, ref);
+                missing.remove(id);
+            } else {
+                missing.add(id);
+            }
+        });
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach(entity -> resolved.put(idOf.apply(entity), entity));
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,99 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.dto.export.LineupSeatExportRow;
+import com.dragon.backend.dto.export.MembershipExportRow;
+import com.dragon.backend.dto.export.TrainingExportRow;
+import com.dragon.backend.repository.LineupSeatRepository;
+import com.dragon.backend.repository.MembershipRepository;
+import com.dragon.backend.repository.TrainingRepository;
+import com.dragon.backend.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes full-table exports row by row. Rows come from Stream-returning repository projections
+ * read with a JDBC fetch size, so heap use stays flat regardless of the number of rows exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final TrainingRepository trainingRepository;
+    private final LineupSeatRepository lineupSeatRepository;
+    private final MembershipRepository membershipRepository;
+    private final ObjectMapper objectMapper;
+
+    public void exportTrainings(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TrainingExportRow> rows = trainingRepository.streamAllForExport()) {
+            write(rows, format, out,
+                    new String[]{"id", "teamId", "teamName", "locationId", "locationName", "lat", "lon", "startAt"},
+                    r -> new Object[]{r.getId(), r.getTeamId(), r.getTeamName(), r.getLocationId(),
+                            r.getLocationName(), r.getLat(), r.getLon(), r.getStartAt()});
+        }
+    }
+
+    public void exportLineupSeats(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<LineupSeatExportRow> rows = lineupSeatRepository.streamAllForExport()) {
+            write(rows, format, out,
+                    new String[]{"id", "lineupId", "trainingId", "trainingStartAt", "side", "seatNumber",
+                            "personId", "personName"},
+                    r -> new Object[]{r.getId(), r.getLineupId(), r.getTrainingId(), r.getTrainingStartAt(),
+                            r.getSide(), r.getSeatNumber(), r.getPersonId(), r.getPersonName()});
+        }
+    }
+
+    public void exportMemberships(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<MembershipExportRow> rows = membershipRepository.streamAllForExport()) {
+            write(rows, format, out,
+                    new String[]{"id", "teamId", "teamName", "personId", "personName", "phone", "role"},
+                    r -> new Object[]{r.getId(), r.getTeamId(), r.getTeamName(), r.getPersonId(),
+                            r.getPersonName(), r.getPhone(), r.getRole()});
+        }
+    }
+
+    private <T> void write(Stream<T> rows, ExportFormat format, OutputStream out,
+                           String[] header, Function<T, Object[]> csvValues) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        int count = 0;
+        if (format == ExportFormat.CSV) {
+            CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            csv.writeRow((Object[]) header);
+            while (iterator.hasNext()) {
+                csv.writeRow(csvValues.apply(iterator.next()));
+                if (++count % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+            csv.flush();
+            return;
+        }
+
+        // writeValue would otherwise flush after every row and defeat FLUSH_EVERY
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+}
@@ -1,78 +1,127 @@
 package com.dragon.backend.service;
 
 import com.dragon.backend.config.JwtProperties;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.dragon.backend.model.User;
+import com.dragon.backend.security.JwtPrincipal;
+import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
+/**
+ * Issues and verifies tokens. Keys and the (thread-safe) parser are built once; the parser picks the
+ * verification key from the token's "kid" header, so keys can be rotated without invalidating live tokens.
+ */
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    // Claim names follow djangorestframework-simplejwt
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String USER_ID_CLAIM = "user_id";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+
     private final JwtProperties jwtProperties;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+    private final JwtParser parser;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    public JwtService(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = hmacKey(jwtProperties.getSecret());
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+        Map<String, Key> keys = new HashMap<>();
+        jwtProperties.getVerificationKeys().forEach((keyId, secret) -> keys.put(keyId, hmacKey(secret)));
+        keys.put(jwtProperties.getKeyId(), signingKey);
+        this.verificationKeys = Map.copyOf(keys);
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies signature and expiry and returns the claims; the token is parsed exactly once.
+     *
+     * @throws JwtException if the token is malformed, expired or not signed with our key
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+    /**
+     * Builds the principal from an access token's claims, without loading the user.
+     *
+     * @throws JwtException if the token is invalid or is not an access token
+     */
+    public JwtPrincipal parseAccessToken(String token) {
+        Claims claims = parseClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (!ACCESS.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) || userId == null || roles == null) {
+            throw new MalformedJwtException("Not an access token");
+        }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+        return new JwtPrincipal(UUID.fromString(userId), claims.getSubject(), authorities);
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username, jwtProperties.getExpiration());
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS);
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        return createToken(claims, user.getUsername(), jwtProperties.getExpiration());
     }
 
     public String generateRefreshToken(String username) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH);
         return createToken(claims, username, jwtProperties.getRefreshExpiration());
     }
 
     private String createToken(Map<String, Object> claims, String username, Long expiration) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, jwtProperties.getKeyId())
                 .setClaims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Tokens issued before key ids were introduced carry no "kid" and were signed with the current secret
+    private Key verificationKey(String keyId) {
+        if (keyId == null) {
+            return signingKey;
+        }
+        Key key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.dto.lineup.LineupBalanceDTO;
+import com.dragon.backend.model.Lineup;
+import com.dragon.backend.model.LineupBalance;
+import com.dragon.backend.model.LineupSeat;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Keeps {@link LineupBalance} in step with seat edits: each created, changed or deleted seat adjusts the totals by
+ * its own contribution, so an edit costs one single-row UPDATE however large the boat is.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LineupBalanceService {
+
+    private final LineupBalanceRepository lineupBalanceRepository;
+
+    // Rebuilds stale totals, which is why this is the one read that needs a writable transaction
+    @Transactional
+    public LineupBalanceDTO getBalance(Long lineupId) {
+        LineupBalance balance = lineupBalanceRepository.findBalance(lineupId)
+                .orElseThrow(() -> new RuntimeException("Lineup not found with id: " + lineupId));
+        if (balance.isStale()) {
+            balance = lineupBalanceRepository.rebuild(lineupId).orElseThrow();
+        }
+        return toDTO(balance);
+    }
+
+    /**
+     * Balances of a page of lineups by id. Stale totals are computed from the seats with one grouped query for the
+     * whole page, without locking or writing them back; {@link #getBalance} rebuilds them.
+     */
+    public Map<Long, LineupBalanceDTO> toDTOs(Collection<Lineup> lineups) {
+        List<Long> stale = lineups.stream().filter(l -> l.getBalance().isStale()).map(Lineup::getId).toList();
+        Map<Long, LineupBalance> computed = stale.isEmpty() ? Map.of() : lineupBalanceRepository.computeBalances(stale);
+        Map<Long, LineupBalanceDTO> dtos = new HashMap<>(lineups.size());
+        for (Lineup lineup : lineups) {
+            dtos.put(lineup.getId(), toDTO(computed.getOrDefault(lineup.getId(), lineup.getBalance())));
+        }
+        return dtos;
+    }
+
+    public void seatAdded(LineupSeat seat) {
+        lineupBalanceRepository.adjust(seat.getLineup().getId(), contribution(seat, 1));
+    }
+
+    public void seatRemoved(LineupSeat seat) {
+        lineupBalanceRepository.adjust(seat.getLineup().getId(), contribution(seat, -1));
+    }
+
+    // Contribution of a group of seats, taken before and after an edit that changes several of them at once
+    public LineupBalance contribution(Collection<LineupSeat> seats) {
+        LineupBalance total = new LineupBalance();
+        for (LineupSeat seat : seats) {
+            total = plus(total, contribution(seat, 1));
+        }
+        return total;
+    }
+
+    public void adjust(Long lineupId, LineupBalance before, LineupBalance after) {
+        lineupBalanceRepository.adjust(lineupId, plus(after, negate(before)));
+    }
+
+    public void rebuild(Long lineupId) {
+        lineupBalanceRepository.rebuild(lineupId);
+    }
+
+    public void personWeightChanged(UUID personId) {
+        lineupBalanceRepository.markStaleForPerson(personId);
+    }
+
+    private static LineupBalance contribution(LineupSeat seat, int sign) {
+        Person person = seat.getPerson();
+        int weight = person != null && person.getWeight() != null ? person.getWeight() * sign : 0;
+        return LineupBalance.builder()
+                .leftWeight(seat.getSide() == LineupSeat.Side.L ? weight : 0)
+                .rightWeight(seat.getSide() == LineupSeat.Side.R ? weight : 0)
+                .weightedSeats((long) weight * seat.getSeatNumber())
+                .seatNumbers((long) seat.getSeatNumber() * sign)
+                .seats(sign)
+                .emptySeats(person == null ? sign : 0)
+                .unknownWeights(person != null && person.getWeight() == null ? sign : 0)
+                .build();
+    }
+
+    private static LineupBalance plus(LineupBalance a, LineupBalance b) {
+        return LineupBalance.builder()
+                .leftWeight(a.getLeftWeight() + b.getLeftWeight())
+                .rightWeight(a.getRightWeight() + b.getRightWeight())
+                .weightedSeats(a.getWeightedSeats() + b.getWeightedSeats())
+                .seatNumbers(a.getSeatNumbers() + b.getSeatNumbers())
+                .seats(a.getSeats() + b.getSeats())
+                .emptySeats(a.getEmptySeats() + b.getEmptySeats())
+                .unknownWeights(a.getUnknownWeights() + b.getUnknownWeights())
+                .build();
+    }
+
+    private static LineupBalance negate(LineupBalance balance) {
+        return LineupBalance.builder()
+                .leftWeight(-balance.getLeftWeight())
+                .rightWeight(-balance.getRightWeight())
+                .weightedSeats(-balance.getWeightedSeats())
+                .seatNumbers(-balance.getSeatNumbers())
+                .seats(-balance.getSeats())
+                .emptySeats(-balance.getEmptySeats())
+                .unknownWeights(-balance.getUnknownWeights())
+                .build();
+    }
+
+    public LineupBalanceDTO toDTO(LineupBalance balance) {
+        // Mean seat number of the boat's own seats: (n + 1) / 2 for a boat with rows 1..n on each side
+        double middle = balance.getSeats() == 0 ? 0 : (double) balance.getSeatNumbers() / balance.getSeats();
+        int total = balance.getLeftWeight() + balance.getRightWeight();
+        return LineupBalanceDTO.builder()
+                .leftWeight(balance.getLeftWeight())
+                .rightWeight(balance.getRightWeight())
+                .imbalance(balance.getLeftWeight() - balance.getRightWeight())
+                .trimMoment(balance.getWeightedSeats() - middle * total)
+                .seats(balance.getSeats())
+                .emptySeats(balance.getEmptySeats())
+                .unknownWeights(balance.getUnknownWeights())
+                .build();
+    }
+}
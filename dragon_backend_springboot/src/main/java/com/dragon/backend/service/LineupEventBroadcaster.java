@@ -0,0 +1,230 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.LineupEventsProperties;
+import com.dragon.backend.dto.lineup.LineupEventDTO;
+import com.dragon.backend.repository.LineupRepository;
+import com.dragon.backend.repository.TeamRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory fan-out of committed lineup changes to Server-Sent Events subscribers, per lineup or per team.
+ * Streams are async requests, so an idle subscriber holds a connection but no request thread. Each event is
+ * serialized once; every subscriber has a bounded queue drained by a small dispatch pool, and one whose queue
+ * overflows is disconnected instead of holding memory or delaying the others. Clients reconnect and reload.
+ */
+@Slf4j
+@Component
+public class LineupEventBroadcaster implements DisposableBean {
+
+    private final LineupEventsProperties properties;
+    private final LineupRepository lineupRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor dispatcher;
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter evictedCounter;
+
+    public LineupEventBroadcaster(LineupEventsProperties properties, LineupRepository lineupRepository,
+                                  TeamRepository teamRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.lineupRepository = lineupRepository;
+        this.teamRepository = teamRepository;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(properties.getDispatchThreads(), properties.getDispatchThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lineup-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.evictedCounter = Counter.builder("lineup.events.evicted").register(meterRegistry);
+        Gauge.builder("lineup.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public SseEmitter subscribeToLineup(Long lineupId) {
+        if (!lineupRepository.existsById(lineupId)) {
+            throw new RuntimeException("Lineup not found with id: " + lineupId);
+        }
+        return subscribe(lineupTopic(lineupId));
+    }
+
+    public SseEmitter subscribeToTeam(UUID teamId) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+        return subscribe(teamTopic(teamId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLineupEvent(LineupEventDTO event) {
+        Set<DataWithMediaType> frame;
+        try {
+            frame = frame(SseEmitter.event()
+                    .name(event.getType().name())
+                    .data(objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize lineup event {}", event, e);
+            return;
+        }
+        deliver(lineupTopic(event.getLineupId()), frame);
+        if (event.getTeamId() != null) {
+            deliver(teamTopic(event.getTeamId()), frame);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lineup-events.heartbeat:PT20S}", initialDelayString = "${lineup-events.heartbeat:PT20S}")
+    public void sendHeartbeats() {
+        Set<DataWithMediaType> frame = frame(SseEmitter.event().comment("heartbeat"));
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(frame)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Overridden in tests to observe what is sent
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private SseEmitter subscribe(String topic) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers");
+        }
+        SseEmitter emitter = createEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(topic, emitter, new ArrayBlockingQueue<>(properties.getBufferSize()));
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        topics.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        // Commits the response headers right away, so clients and proxies see an open stream
+        subscriber.offer(frame(SseEmitter.event().comment("subscribed")));
+        return emitter;
+    }
+
+    private void deliver(String topic, Set<DataWithMediaType> frame) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder event) {
+        return Collections.unmodifiableSet(event.build());
+    }
+
+    private static String lineupTopic(Long lineupId) {
+        return "lineup:" + lineupId;
+    }
+
+    private static String teamTopic(UUID teamId) {
+        return "team:" + teamId;
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private final class Subscriber {
+
+        private final String topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(String topic, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (removed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                evictedCounter.increment();
+                log.debug("Dropping slow lineup event subscriber on {}", topic);
+                remove();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        // Sends and completion both run here, never on the thread that committed the change
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!removed.get() && (frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports it through onError/onCompletion as well
+                remove();
+            }
+            if (removed.get()) {
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+            if (removed.get() || !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                queue.clear();
+                subscriberCount.decrementAndGet();
+                topics.computeIfPresent(topic, (key, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.dto.lineup.LineupEventDTO;
+import com.dragon.backend.model.Lineup;
+import com.dragon.backend.repository.LineupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raises lineup change events from inside the writing transaction; {@link LineupEventBroadcaster} only sends them
+ * once that transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class LineupEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final LineupRepository lineupRepository;
+
+    public void created(Long lineupId, Lineup.State state) {
+        publish(LineupEventDTO.Type.CREATED, lineupId, state);
+    }
+
+    public void seatsChanged(Long lineupId) {
+        publish(LineupEventDTO.Type.SEATS, lineupId, null);
+    }
+
+    public void updated(Long lineupId, Lineup.State state) {
+        publish(LineupEventDTO.Type.UPDATED, lineupId, state);
+    }
+
+    // Has to be called before the lineup is deleted, while its team can still be looked up
+    public void deleted(Long lineupId) {
+        publish(LineupEventDTO.Type.DELETED, lineupId, null);
+    }
+
+    private void publish(LineupEventDTO.Type type, Long lineupId, Lineup.State state) {
+        applicationEventPublisher.publishEvent(LineupEventDTO.builder()
+                .type(type)
+                .lineupId(lineupId)
+                .teamId(lineupRepository.findTeamIdById(lineupId).orElse(null))
+                .state(state)
+                .at(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,113 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupOptimizeRequestDTO;
+import com.dragon.backend.dto.lineup.LineupSeatAssignmentDTO;
+import com.dragon.backend.dto.lineup.LineupSeatsRequestDTO;
+import com.dragon.backend.model.LineupSeat;
+import com.dragon.backend.model.Membership;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.repository.LineupRepository;
+import com.dragon.backend.repository.MembershipRepository;
+import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.service.optimizer.LineupOptimizer;
+import com.dragon.backend.service.optimizer.SeatingProblem;
+import com.dragon.backend.service.optimizer.SeatingSolution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Generates a balanced seating for a lineup and saves it as a DRAFT. Not transactional: candidates are read
+ * first, the search runs without holding a connection, and the result is written in one transaction by
+ * {@link LineupService#saveDraftSeats}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LineupOptimizationService {
+
+    private static final List<Membership.Role> PADDLING_ROLES = List.of(Membership.Role.PLAYER, Membership.Role.CAPTAIN);
+
+    private final LineupRepository lineupRepository;
+    private final MembershipRepository membershipRepository;
+    private final PersonRepository personRepository;
+    private final LineupService lineupService;
+    private final LineupOptimizer lineupOptimizer;
+    private final LineupOptimizerProperties properties;
+
+    public LineupFullResponseDTO optimize(Long id, LineupOptimizeRequestDTO requestDTO) {
+        UUID teamId = lineupRepository.findTeamIdById(id)
+                .orElseThrow(() -> new RuntimeException("Lineup not found with id: " + id));
+        int rows = requestDTO.getSeatsPerSide() != null ? requestDTO.getSeatsPerSide() : properties.getSeatsPerSide();
+        List<LineupSeatAssignmentDTO> pinnedSeats = Objects.requireNonNullElse(requestDTO.getPinned(), List.of());
+
+        List<UUID> requested = requestDTO.getPersonIds();
+        Set<UUID> candidateIds = new LinkedHashSet<>(requested == null || requested.isEmpty()
+                ? membershipRepository.findPersonIdsByTeamIdAndRoleIn(teamId, PADDLING_ROLES)
+                : requested);
+        pinnedSeats.stream()
+                .map(LineupSeatAssignmentDTO::getPersonId)
+                .filter(Objects::nonNull)
+                .forEach(candidateIds::add);
+        List<Person> candidates = personRepository.findAllById(candidateIds);
+        if (candidates.size() != candidateIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown person among the candidates");
+        }
+
+        SeatingProblem problem = toProblem(rows, candidates, pinnedSeats);
+        SeatingSolution solution = lineupOptimizer.optimize(problem);
+        log.debug("Lineup {}: imbalance {} kg, trim {} kg·row, {} side violations after {} moves",
+                id, solution.imbalance(), solution.trimMoment(), solution.sideViolations(), solution.moves());
+
+        List<LineupSeatAssignmentDTO> seats = new ArrayList<>();
+        for (int seat = 0; seat < problem.seats(); seat++) {
+            int candidate = solution.seats()[seat];
+            if (candidate >= 0) {
+                seats.add(new LineupSeatAssignmentDTO(
+                        problem.sideOf(seat) == SeatingProblem.LEFT ? LineupSeat.Side.L : LineupSeat.Side.R,
+                        (short) (problem.rowOf(seat) + 1),
+                        candidates.get(candidate).getId()));
+            }
+        }
+        return lineupService.saveDraftSeats(id, new LineupSeatsRequestDTO(seats));
+    }
+
+    private SeatingProblem toProblem(int rows, List<Person> candidates, List<LineupSeatAssignmentDTO> pinnedSeats) {
+        double[] weights = new double[candidates.size()];
+        int[] preferredSides = new int[candidates.size()];
+        Map<UUID, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Person person = candidates.get(i);
+            weights[i] = person.getWeight() != null ? person.getWeight() : properties.getDefaultPaddlerWeight();
+            preferredSides[i] = person.getSide().getValue();
+            indexes.put(person.getId(), i);
+        }
+
+        int[] pinned = new int[2 * rows];
+        Arrays.fill(pinned, SeatingProblem.FREE);
+        Set<UUID> pinnedPersons = new HashSet<>();
+        for (LineupSeatAssignmentDTO seat : pinnedSeats) {
+            if (seat.getSeatNumber() > rows) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Seat " + seat.getSide() + seat.getSeatNumber() + " does not exist in a boat of " + rows + " rows");
+            }
+            int index = (seat.getSide() == LineupSeat.Side.L ? 0 : rows) + seat.getSeatNumber() - 1;
+            if (pinned[index] != SeatingProblem.FREE) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Seat " + seat.getSide() + seat.getSeatNumber() + " is pinned more than once");
+            }
+            if (seat.getPersonId() != null && !pinnedPersons.add(seat.getPersonId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Person " + seat.getPersonId() + " is pinned to more than one seat");
+            }
+            pinned[index] = seat.getPersonId() != null ? indexes.get(seat.getPersonId()) : SeatingProblem.EMPTY;
+        }
+        return new SeatingProblem(rows, weights, preferredSides, pinned);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.lineup.LineupSeatRequestDTO;
 import com.dragon.backend.dto.lineup.LineupSeatResponseDTO;
 import com.dragon.backend.model.Lineup;
@@ -8,12 +9,14 @@ import com.dragon.backend.model.Person;
 import com.dragon.backend.repository.LineupRepository;
 import com.dragon.backend.repository.LineupSeatRepository;
 import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,12 +26,14 @@ public class LineupSeatService {
     private final LineupSeatRepository lineupSeatRepository;
     private final LineupRepository lineupRepository;
     private final PersonRepository personRepository;
-    private final PersonService personService;
-
-    public List<LineupSeatResponseDTO> getAllLineupSeats() {
-        return lineupSeatRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    private final LineupBalanceService lineupBalanceService;
+    private final LineupEventPublisher lineupEventPublisher;
+    private final DtoAssembler dtoAssembler;
+    private final KeysetPager keysetPager;
+
+    public CursorPageDTO<LineupSeatResponseDTO> getAllLineupSeats(String cursor, Integer limit, String ordering) {
+        return keysetPager.findPage(LineupSeat.class, null, KeysetSort.parse(ordering, "createdAt"), cursor, limit)
+                .map(dtoAssembler::toLineupSeatDTOs);
     }
 
     public LineupSeatResponseDTO getLineupSeatById(Long id) {
@@ -38,15 +43,11 @@ public class LineupSeatService {
     }
 
     public List<LineupSeatResponseDTO> getLineupSeatsByLineupId(Long lineupId) {
-        return lineupSeatRepository.findByLineupId(lineupId).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return dtoAssembler.toLineupSeatDTOs(lineupSeatRepository.findByLineupId(lineupId));
     }
 
     public List<LineupSeatResponseDTO> getLineupSeatsByLineupIdAndSide(Long lineupId, LineupSeat.Side side) {
-        return lineupSeatRepository.findByLineupIdAndSide(lineupId, side).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return dtoAssembler.toLineupSeatDTOs(lineupSeatRepository.findByLineupIdAndSide(lineupId, side));
     }
 
     @Transactional
@@ -79,6 +80,8 @@ public class LineupSeatService {
                 .build();
 
         LineupSeat saved = lineupSeatRepository.save(seat);
+        lineupBalanceService.seatAdded(saved);
+        lineupEventPublisher.seatsChanged(lineup.getId());
         return toResponseDTO(saved);
     }
 
@@ -86,6 +89,9 @@ public class LineupSeatService {
     public LineupSeatResponseDTO updateLineupSeat(Long id, LineupSeatRequestDTO requestDTO) {
         LineupSeat seat = lineupSeatRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("LineupSeat not found with id: " + id));
+        if (requestDTO.getVersion() != null && !requestDTO.getVersion().equals(seat.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(LineupSeat.class, id);
+        }
 
         Lineup lineup = lineupRepository.findById(requestDTO.getLineupId())
                 .orElseThrow(() -> new RuntimeException("Lineup not found with id: " + requestDTO.getLineupId()));
@@ -96,33 +102,33 @@ public class LineupSeatService {
                     .orElseThrow(() -> new RuntimeException("Person not found with id: " + requestDTO.getPersonId()));
         }
 
+        lineupBalanceService.seatRemoved(seat);
+        Long previousLineupId = seat.getLineup().getId();
         seat.setLineup(lineup);
         seat.setPerson(person);
         seat.setSide(requestDTO.getSide());
         seat.setSeatNumber(requestDTO.getSeatNumber());
 
         LineupSeat updated = lineupSeatRepository.save(seat);
+        lineupBalanceService.seatAdded(updated);
+        lineupEventPublisher.seatsChanged(lineup.getId());
+        if (!previousLineupId.equals(lineup.getId())) {
+            lineupEventPublisher.seatsChanged(previousLineupId);
+        }
         return toResponseDTO(updated);
     }
 
     @Transactional
     public void deleteLineupSeat(Long id) {
-        if (!lineupSeatRepository.existsById(id)) {
-            throw new RuntimeException("LineupSeat not found with id: " + id);
-        }
-        lineupSeatRepository.deleteById(id);
+        LineupSeat seat = lineupSeatRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("LineupSeat not found with id: " + id));
+        lineupBalanceService.seatRemoved(seat);
+        lineupEventPublisher.seatsChanged(seat.getLineup().getId());
+        lineupSeatRepository.delete(seat);
     }
 
     // DTO Conversion
     private LineupSeatResponseDTO toResponseDTO(LineupSeat seat) {
-        return LineupSeatResponseDTO.builder()
-                .id(seat.getId())
-                .lineupId(seat.getLineup().getId())
-                .person(seat.getPerson() != null ? personService.getPersonById(seat.getPerson().getId()) : null)
-                .side(seat.getSide())
-                .seatNumber(seat.getSeatNumber())
-                .createdAt(seat.getCreatedAt())
-                .updatedAt(seat.getUpdatedAt())
-                .build();
+        return dtoAssembler.toLineupSeatDTO(seat);
     }
 }
\ No newline at end of file
@@ -1,17 +1,37 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
 import com.dragon.backend.dto.lineup.LineupRequestDTO;
 import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.lineup.LineupSeatAssignmentDTO;
+import com.dragon.backend.dto.lineup.LineupSeatPositionDTO;
+import com.dragon.backend.dto.lineup.LineupSeatSwapRequestDTO;
+import com.dragon.backend.dto.lineup.LineupSeatsRequestDTO;
 import com.dragon.backend.model.Lineup;
+import com.dragon.backend.model.LineupBalance;
+import com.dragon.backend.model.LineupSeat;
+import com.dragon.backend.model.Person;
 import com.dragon.backend.model.Training;
 import com.dragon.backend.repository.LineupRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.repository.LineupSeatRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository.SeatRow;
 import com.dragon.backend.repository.TrainingRepository;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
+import com.dragon.backend.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +40,18 @@ public class LineupService {
 
     private final LineupRepository lineupRepository;
     private final TrainingRepository trainingRepository;
-    private final TrainingService trainingService;
+    private final LineupSeatRepository lineupSeatRepository;
+    private final LineupSeatBulkRepository lineupSeatBulkRepository;
+    private final LineupBalanceService lineupBalanceService;
+    private final LineupEventPublisher lineupEventPublisher;
+    private final DtoAssembler dtoAssembler;
+    private final KeysetPager keysetPager;
 
-    public List<LineupResponseDTO> getAllLineups() {
-        return lineupRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LineupResponseDTO> getAllLineups(Lineup.State state, String cursor, Integer limit, String ordering) {
+        Specification<Lineup> filter = state == null ? null
+                : (root, query, cb) -> cb.equal(root.get("state"), state);
+        return keysetPager.findPage(Lineup.class, filter, KeysetSort.parse(ordering, "createdAt"), cursor, limit)
+                .map(dtoAssembler::toLineupDTOs);
     }
 
     public LineupResponseDTO getLineupById(Long id) {
@@ -34,16 +60,170 @@ public class LineupService {
         return toResponseDTO(lineup);
     }
 
-    public LineupResponseDTO getLineupByTrainingId(Short trainingId) {
+    public LineupResponseDTO getLineupByTrainingId(Long trainingId) {
         Lineup lineup = lineupRepository.findByTrainingId(trainingId)
                 .orElseThrow(() -> new RuntimeException("Lineup not found for training id: " + trainingId));
         return toResponseDTO(lineup);
     }
 
-    public List<LineupResponseDTO> getLineupsByState(Lineup.State state) {
-        return lineupRepository.findByState(state).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    // GET /api/lineups?trainingId=: a training has at most one lineup, which state still filters out when it differs
+    public CursorPageDTO<LineupResponseDTO> getLineupsByTrainingId(Long trainingId, Lineup.State state) {
+        LineupResponseDTO lineup = getLineupByTrainingId(trainingId);
+        return CursorPageDTO.of(state == null || state == lineup.getState() ? List.of(lineup) : List.of());
+    }
+
+    public LineupFullResponseDTO getFullLineupById(Long id) {
+        Lineup lineup = lineupRepository.findFullById(id)
+                .orElseThrow(() -> new RuntimeException("Lineup not found with id: " + id));
+        return dtoAssembler.toLineupFullDTO(lineup);
+    }
+
+    public LineupFullResponseDTO getFullLineupByTrainingId(Long trainingId) {
+        Lineup lineup = lineupRepository.findFullByTrainingId(trainingId)
+                .orElseThrow(() -> new RuntimeException("Lineup not found for training id: " + trainingId));
+        return dtoAssembler.toLineupFullDTO(lineup);
+    }
+
+    // Shared by the plain and the full representation, and checked against If-Match on writes
+    public String getLineupETag(Long id) {
+        return lineupRepository.findChangeMarker(id)
+                .map(marker -> ETags.of("lineup", id, marker))
+                .orElseThrow(() -> new RuntimeException("Lineup not found with id: " + id));
+    }
+
+    // For the reads addressed by training, which show the same lineup
+    public String getLineupETagByTrainingId(Long trainingId) {
+        return lineupRepository.findIdByTrainingId(trainingId)
+                .map(this::getLineupETag)
+                .orElseThrow(() -> new RuntimeException("Lineup not found for training id: " + trainingId));
+    }
+
+    /**
+     * Replaces the whole seat map of a lineup. The request is diffed against the current seats and applied as
+     * one DELETE, one UPDATE batch and one INSERT batch (plus a clearing UPDATE when paddlers swap seats and the
+     * seat constraints cannot be deferred), under the lineup row lock; the unique constraints reject anything that
+     * still conflicts.
+     */
+    @Transactional
+    public LineupFullResponseDTO replaceSeats(Long id, LineupSeatsRequestDTO requestDTO) {
+        LocalDateTime now = LocalDateTime.now();
+        if (lineupRepository.touch(id, now) == 0) {
+            throw new RuntimeException("Lineup not found with id: " + id);
+        }
+
+        Map<String, LineupSeatAssignmentDTO> desired = new LinkedHashMap<>();
+        Set<UUID> assignedPersons = new HashSet<>();
+        for (LineupSeatAssignmentDTO seat : requestDTO.getSeats()) {
+            if (desired.put(seatKey(seat.getSide(), seat.getSeatNumber()), seat) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Seat " + seat.getSide() + seat.getSeatNumber() + " is listed more than once");
+            }
+            if (seat.getPersonId() != null && !assignedPersons.add(seat.getPersonId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Person " + seat.getPersonId() + " is assigned to more than one seat");
+            }
+        }
+
+        List<Long> removed = new ArrayList<>();
+        List<SeatRow> updated = new ArrayList<>();
+        Set<UUID> movingPersons = new HashSet<>(); // Seated now on a seat that gets someone else
+        List<Long> vacated = new ArrayList<>();
+        for (SeatRow current : lineupSeatBulkRepository.findSeats(id)) {
+            LineupSeatAssignmentDTO wanted = desired.remove(seatKey(current.side(), current.seatNumber()));
+            if (wanted == null) {
+                removed.add(current.id());
+            } else if (!Objects.equals(wanted.getPersonId(), current.personId())) {
+                updated.add(new SeatRow(current.id(), current.side(), current.seatNumber(), wanted.getPersonId()));
+                if (current.personId() != null) {
+                    movingPersons.add(current.personId());
+                    vacated.add(current.id());
+                }
+            }
+        }
+        List<SeatRow> inserted = desired.values().stream()
+                .map(seat -> new SeatRow(null, seat.getSide(), seat.getSeatNumber(), seat.getPersonId()))
+                .toList();
+        boolean swaps = !Collections.disjoint(movingPersons, assignedPersons);
+
+        try {
+            lineupSeatBulkRepository.deleteSeats(removed);
+            if (swaps && !lineupSeatBulkRepository.deferSeatConstraints()) {
+                lineupSeatBulkRepository.clearPersons(vacated);
+            }
+            lineupSeatBulkRepository.updatePersons(updated, now);
+            lineupSeatBulkRepository.insertSeats(id, inserted, now);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Seat assignment rejected: unknown person or a paddler already seated in this lineup");
+        }
+        lineupBalanceService.rebuild(id);
+        lineupEventPublisher.seatsChanged(id);
+
+        return getFullLineupById(id);
+    }
+
+    /**
+     * Exchanges the occupants of two seats, or moves a seat to a free position, in one transaction. The lineup
+     * version is checked and bumped first, so a client editing an outdated lineup gets 409 straight away. Where
+     * the seat constraints are deferrable they are checked at commit; elsewhere the source seat is emptied first.
+     */
+    @Transactional
+    public LineupFullResponseDTO swapSeats(Long id, LineupSeatSwapRequestDTO requestDTO) {
+        LineupSeatPositionDTO from = requestDTO.getFrom();
+        LineupSeatPositionDTO to = requestDTO.getTo();
+        if (seatKey(from.getSide(), from.getSeatNumber()).equals(seatKey(to.getSide(), to.getSeatNumber()))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot swap a seat with itself");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int touched = requestDTO.getVersion() != null
+                ? lineupRepository.touch(id, requestDTO.getVersion(), now)
+                : lineupRepository.touch(id, now);
+        if (touched == 0) {
+            if (!lineupRepository.existsById(id)) {
+                throw new RuntimeException("Lineup not found with id: " + id);
+            }
+            throw new ObjectOptimisticLockingFailureException(Lineup.class, id);
+        }
+
+        LineupSeat source = lineupSeatRepository.findByLineupIdAndSideAndSeatNumber(id, from.getSide(), from.getSeatNumber())
+                .orElseThrow(() -> new RuntimeException("LineupSeat not found at " + from.getSide() + from.getSeatNumber()));
+        LineupSeat target = lineupSeatRepository.findByLineupIdAndSideAndSeatNumber(id, to.getSide(), to.getSeatNumber())
+                .orElse(null);
+        List<LineupSeat> seats = target != null ? List.of(source, target) : List.of(source);
+        LineupBalance before = lineupBalanceService.contribution(seats);
+
+        if (target == null) {
+            source.setSide(to.getSide());
+            source.setSeatNumber(to.getSeatNumber());
+        } else {
+            Person moving = source.getPerson();
+            Person staying = target.getPerson();
+            if (!lineupSeatBulkRepository.deferSeatConstraints()) {
+                // Hibernate orders the updates by id, so each step has to reach the database on its own
+                source.setPerson(null);
+                lineupSeatRepository.flush();
+                target.setPerson(moving);
+                lineupSeatRepository.flush();
+            }
+            target.setPerson(moving);
+            source.setPerson(staying);
+        }
+        lineupSeatRepository.flush();
+        lineupBalanceService.adjust(id, before, lineupBalanceService.contribution(seats));
+        lineupEventPublisher.seatsChanged(id);
+
+        return getFullLineupById(id);
+    }
+
+    // Replaces the seat map and moves the lineup back to DRAFT, e.g. for a generated seating the coach reviews
+    @Transactional
+    public LineupFullResponseDTO saveDraftSeats(Long id, LineupSeatsRequestDTO requestDTO) {
+        if (lineupRepository.updateState(id, Lineup.State.DRAFT, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Lineup not found with id: " + id);
+        }
+        lineupEventPublisher.updated(id, Lineup.State.DRAFT);
+        return replaceSeats(id, requestDTO);
     }
 
     @Transactional
@@ -61,6 +241,7 @@ public class LineupService {
                 .build();
 
         Lineup saved = lineupRepository.save(lineup);
+        lineupEventPublisher.created(saved.getId(), saved.getState());
         return toResponseDTO(saved);
     }
 
@@ -68,6 +249,9 @@ public class LineupService {
     public LineupResponseDTO updateLineup(Long id, LineupRequestDTO requestDTO) {
         Lineup lineup = lineupRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Lineup not found with id: " + id));
+        if (requestDTO.getVersion() != null && !requestDTO.getVersion().equals(lineup.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Lineup.class, id);
+        }
 
         Training training = trainingRepository.findById(requestDTO.getTrainingId())
                 .orElseThrow(() -> new RuntimeException("Training not found with id: " + requestDTO.getTrainingId()));
@@ -76,6 +260,7 @@ public class LineupService {
         lineup.setState(requestDTO.getState());
 
         Lineup updated = lineupRepository.save(lineup);
+        lineupEventPublisher.updated(id, updated.getState());
         return toResponseDTO(updated);
     }
 
@@ -84,17 +269,16 @@ public class LineupService {
         if (!lineupRepository.existsById(id)) {
             throw new RuntimeException("Lineup not found with id: " + id);
         }
+        lineupEventPublisher.deleted(id);
         lineupRepository.deleteById(id);
     }
 
     // DTO Conversion
     private LineupResponseDTO toResponseDTO(Lineup lineup) {
-        return LineupResponseDTO.builder()
-                .id(lineup.getId())
-                .training(trainingService.getTrainingById(lineup.getTraining().getId()))
-                .state(lineup.getState())
-                .createdAt(lineup.getCreatedAt())
-                .updatedAt(lineup.getUpdatedAt())
-                .build();
+        return dtoAssembler.toLineupDTO(lineup);
+    }
+
+    private static String seatKey(LineupSeat.Side side, Short seatNumber) {
+        return side.name() + seatNumber;
     }
-}
\ No newline at end of file
+}
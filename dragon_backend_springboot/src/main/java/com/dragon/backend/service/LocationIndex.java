@@ -0,0 +1,101 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.repository.LocationRepository;
+import com.dragon.backend.service.geo.GeoGrid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * All locations in a {@link GeoGrid}, for radius and nearest-location queries without touching the database.
+ * LocationService publishes a {@link Change} for every write and the grid applies it after commit. A periodic full
+ * reload picks up everything else, e.g. locations removed together with their team.
+ */
+@Slf4j
+@Component
+public class LocationIndex {
+
+    // lat/lon are null when the location was deleted
+    public record Change(Integer id, Double lat, Double lon) {
+
+        public static Change removed(Integer id) {
+            return new Change(id, null, null);
+        }
+    }
+
+    private final LocationRepository locationRepository;
+    private final LocationIndexProperties properties;
+    private final ReloadableIndex<GeoGrid, Change> grid;
+
+    public LocationIndex(LocationRepository locationRepository, LocationIndexProperties properties) {
+        this.locationRepository = locationRepository;
+        this.properties = properties;
+        this.grid = new ReloadableIndex<>(new GeoGrid(properties.getCellDegrees()), LocationIndex::apply);
+    }
+
+    // Without a radius, the k nearest within location-index.max-radius-km
+    public List<GeoGrid.Hit> nearest(double lat, double lon, int k, Double radiusKm) {
+        double radius = radiusKm == null ? properties.getMaxRadiusKm() : radiusKm;
+        checkQuery(lat, lon, radius);
+        return grid.current().nearest(lat, lon, k, radius);
+    }
+
+    public List<GeoGrid.Hit> within(double lat, double lon, double radiusKm, int limit) {
+        checkQuery(lat, lon, radiusKm);
+        return grid.current().within(lat, lon, radiusKm, limit);
+    }
+
+    public int size() {
+        return grid.current().size();
+    }
+
+    // Builds a new grid from the database and swaps it in, see ReloadableIndex
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${location-index.refresh-interval:PT10M}",
+            initialDelayString = "${location-index.refresh-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        GeoGrid loaded = grid.reload(() -> {
+            GeoGrid rebuilt = new GeoGrid(properties.getCellDegrees());
+            try (Stream<LocationRepository.LocationCoordinates> rows = locationRepository.streamAllCoordinates()) {
+                rows.forEach(row -> rebuilt.put(row.getId(), row.getLat(), row.getLon()));
+            }
+            return rebuilt;
+        });
+        log.debug("Location index loaded with {} locations", loaded.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLocationChanged(Change change) {
+        grid.apply(change);
+    }
+
+    private void checkQuery(double lat, double lon, double radiusKm) {
+        if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordinates out of range");
+        }
+        if (!(radiusKm > 0 && radiusKm <= properties.getMaxRadiusKm())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "radiusKm must be between 0 and " + properties.getMaxRadiusKm());
+        }
+    }
+
+    private static void apply(GeoGrid grid, Change change) {
+        if (change.lat() == null || change.lon() == null) {
+            grid.remove(change.id());
+        } else {
+            grid.put(change.id(), change.lat(), change.lon());
+        }
+    }
+}
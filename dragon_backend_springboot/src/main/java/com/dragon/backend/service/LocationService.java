@@ -1,17 +1,32 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.location.LocationDistanceDTO;
 import com.dragon.backend.dto.location.LocationRequestDTO;
 import com.dragon.backend.dto.location.LocationResponseDTO;
 import com.dragon.backend.model.Location;
 import com.dragon.backend.model.Team;
 import com.dragon.backend.repository.LocationRepository;
 import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.repository.projection.ResponseProjections;
+import com.dragon.backend.service.geo.GeoGrid;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,24 +36,42 @@ public class LocationService {
 
     private final LocationRepository locationRepository;
     private final TeamRepository teamRepository;
-    private final TeamService teamService;
+    private final DtoAssembler dtoAssembler;
+    private final KeysetPager keysetPager;
+    private final ProjectionQueries projectionQueries;
+    private final LocationIndex locationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CursorPageDTO<LocationResponseDTO> getAllLocations(UUID teamId, String cursor, Integer limit, String ordering) {
+        Specification<Location> filter = teamId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("team").get("id"), teamId);
+        return keysetPager.findPage(Location.class, filter, KeysetSort.parse(ordering, "createdAt", "name"), cursor, limit,
+                        ResponseProjections.location())
+                .toDTO();
+    }
 
-    public List<LocationResponseDTO> getAllLocations() {
-        return locationRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    /**
+     * Locations around a point, nearest first: within {@code radiusKm}, or the nearest ones when it is omitted.
+     * The search runs on {@link LocationIndex}; the DTOs mostly come from the locations cache.
+     */
+    public CursorPageDTO<LocationDistanceDTO> getNearbyLocations(double lat, double lon, Double radiusKm, Integer limit) {
+        List<GeoGrid.Hit> hits = locationIndex.nearest(lat, lon, KeysetPager.pageSize(limit), radiusKm);
+        Map<Integer, LocationResponseDTO> dtos = dtoAssembler.toLocationDTOs(
+                        hits.stream().map(hit -> locationRepository.getReferenceById(hit.id())).toList())
+                .stream()
+                .filter(dto -> dto != null)
+                .collect(Collectors.toMap(LocationResponseDTO::getId, Function.identity()));
+        // Locations deleted since the index was updated have no DTO
+        return CursorPageDTO.of(hits.stream()
+                .filter(hit -> dtos.containsKey(hit.id()))
+                .map(hit -> new LocationDistanceDTO(dtos.get(hit.id()), hit.distanceKm()))
+                .toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.LOCATIONS, key = "#id")
     public LocationResponseDTO getLocationById(Integer id) {
-        Location location = locationRepository.findById(id)
+        return projectionQueries.findById(Location.class, id, ResponseProjections.location())
                 .orElseThrow(() -> new RuntimeException("Location not found with id: " + id));
-        return toResponseDTO(location);
-    }
-
-    public List<LocationResponseDTO> getLocationsByTeamId(UUID teamId) {
-        return locationRepository.findByTeamId(teamId).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -54,10 +87,16 @@ public class LocationService {
                 .build();
 
         Location saved = locationRepository.save(location);
+        eventPublisher.publishEvent(new LocationIndex.Change(saved.getId(), saved.getLat(), saved.getLon()));
         return toResponseDTO(saved);
     }
 
+    // Cached calendar months embed the location of each training
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LOCATIONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_CALENDAR, allEntries = true)
+    })
     public LocationResponseDTO updateLocation(Integer id, LocationRequestDTO requestDTO) {
         Location location = locationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Location not found with id: " + id));
@@ -71,27 +110,25 @@ public class LocationService {
         location.setName(requestDTO.getName());
 
         Location updated = locationRepository.save(location);
+        eventPublisher.publishEvent(new LocationIndex.Change(id, updated.getLat(), updated.getLon()));
         return toResponseDTO(updated);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LOCATIONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_CALENDAR, allEntries = true)
+    })
     public void deleteLocation(Integer id) {
         if (!locationRepository.existsById(id)) {
             throw new RuntimeException("Location not found with id: " + id);
         }
         locationRepository.deleteById(id);
+        eventPublisher.publishEvent(LocationIndex.Change.removed(id));
     }
 
     // DTO Conversion
     private LocationResponseDTO toResponseDTO(Location location) {
-        return LocationResponseDTO.builder()
-                .id(location.getId())
-                .team(teamService.getTeamById(location.getTeam().getId()))
-                .lat(location.getLat())
-                .lon(location.getLon())
-                .name(location.getName())
-                .createdAt(location.getCreatedAt())
-                .updatedAt(location.getUpdatedAt())
-                .build();
+        return dtoAssembler.toLocationDTO(location);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.membership.MembershipRequestDTO;
 import com.dragon.backend.dto.membership.MembershipResponseDTO;
 import com.dragon.backend.model.Membership;
@@ -8,13 +9,15 @@ import com.dragon.backend.model.Team;
 import com.dragon.backend.repository.MembershipRepository;
 import com.dragon.backend.repository.PersonRepository;
 import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
+import com.dragon.backend.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,13 +27,16 @@ public class MembershipService {
     private final MembershipRepository membershipRepository;
     private final PersonRepository personRepository;
     private final TeamRepository teamRepository;
-    private final PersonService personService;
-    private final TeamService teamService;
-
-    public List<MembershipResponseDTO> getAllMemberships() {
-        return membershipRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    private final DtoAssembler dtoAssembler;
+    private final KeysetPager keysetPager;
+
+    public CursorPageDTO<MembershipResponseDTO> getAllMemberships(UUID teamId, UUID personId,
+                                                                  String cursor, Integer limit, String ordering) {
+        Specification<Membership> filter = (root, query, cb) -> cb.and(
+                teamId != null ? cb.equal(root.get("team").get("id"), teamId) : cb.conjunction(),
+                personId != null ? cb.equal(root.get("person").get("id"), personId) : cb.conjunction());
+        return keysetPager.findPage(Membership.class, filter, KeysetSort.parse(ordering, "createdAt"), cursor, limit)
+                .map(dtoAssembler::toMembershipDTOs);
     }
 
     public MembershipResponseDTO getMembershipById(UUID id) {
@@ -39,16 +45,8 @@ public class MembershipService {
         return toResponseDTO(membership);
     }
 
-    public List<MembershipResponseDTO> getMembershipsByTeamId(UUID teamId) {
-        return membershipRepository.findByTeamId(teamId).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
-    }
-
-    public List<MembershipResponseDTO> getMembershipsByPersonId(UUID personId) {
-        return membershipRepository.findByPersonId(personId).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public String getRosterETag(UUID teamId) {
+        return ETags.of("roster", teamId, membershipRepository.findChangeMarkerByTeamId(teamId));
     }
 
     @Transactional
@@ -102,13 +100,6 @@ public class MembershipService {
 
     // DTO Conversion
     private MembershipResponseDTO toResponseDTO(Membership membership) {
-        return MembershipResponseDTO.builder()
-                .id(membership.getId())
-                .person(personService.getPersonById(membership.getPerson().getId()))
-                .team(teamService.getTeamById(membership.getTeam().getId()))
-                .role(membership.getRole())
-                .createdAt(membership.getCreatedAt())
-                .updatedAt(membership.getUpdatedAt())
-                .build();
+        return dtoAssembler.toMembershipDTO(membership);
     }
 }
\ No newline at end of file
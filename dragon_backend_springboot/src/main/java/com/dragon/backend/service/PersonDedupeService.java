@@ -0,0 +1,146 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.PersonDedupeProperties;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.person.DuplicateCandidateDTO;
+import com.dragon.backend.dto.person.PersonMergeRequestDTO;
+import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.repository.LineupRepository;
+import com.dragon.backend.repository.PersonMergeRepository;
+import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.service.dedupe.DuplicateFinder;
+import com.dragon.backend.service.pagination.KeysetPager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds persons entered twice (typically once by each club they train with) and merges them. The scan runs in the
+ * background and keeps its best pairs for review; nothing is merged without a request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PersonDedupeService {
+
+    private final PersonRepository personRepository;
+    private final PersonMergeRepository personMergeRepository;
+    private final LineupRepository lineupRepository;
+    private final LineupBalanceService lineupBalanceService;
+    private final LineupEventPublisher lineupEventPublisher;
+    private final DtoAssembler dtoAssembler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PersonDedupeProperties properties;
+    private volatile List<DuplicateFinder.Candidate> candidates = List.of();
+
+    @Scheduled(fixedDelayString = "${person-dedupe.interval:PT6H}",
+            initialDelayString = "${person-dedupe.initial-delay:PT5M}")
+    public void scan() {
+        DuplicateFinder finder = new DuplicateFinder(properties.getDefaultCountryCode(), properties.getMinScore(),
+                properties.getMaxBlockSize());
+        try (Stream<PersonRepository.DedupeFields> rows = personRepository.streamAllDedupeFields()) {
+            rows.forEach(row -> finder.add(new DuplicateFinder.Row(
+                    row.getId(), row.getName(), row.getPhone(), row.getHeight(), row.getWeight())));
+        }
+        candidates = finder.candidates(properties.getMaxCandidates());
+        log.info("Duplicate scan of {} persons found {} candidate pairs ({} oversized blocks skipped)",
+                finder.size(), candidates.size(), finder.skippedBlocks());
+    }
+
+    // Pairs from the last scan, most likely first; pairs whose persons have been merged or deleted since are left out
+    public CursorPageDTO<DuplicateCandidateDTO> getCandidates(Integer limit) {
+        List<DuplicateFinder.Candidate> pairs = candidates;
+        List<Person> persons = pairs.stream()
+                .flatMap(pair -> Stream.of(pair.first(), pair.second()))
+                .distinct()
+                .map(personRepository::getReferenceById)
+                .toList();
+        Map<UUID, PersonResponseDTO> dtos = dtoAssembler.toPersonDTOs(persons).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(PersonResponseDTO::getId, Function.identity()));
+
+        int size = KeysetPager.pageSize(limit);
+        List<DuplicateCandidateDTO> result = new ArrayList<>();
+        for (DuplicateFinder.Candidate pair : pairs) {
+            if (result.size() == size) {
+                break;
+            }
+            if (dtos.containsKey(pair.first()) && dtos.containsKey(pair.second())) {
+                result.add(DuplicateCandidateDTO.builder()
+                        .person(dtos.get(pair.first()))
+                        .duplicate(dtos.get(pair.second()))
+                        .score(pair.score())
+                        .samePhone(pair.samePhone())
+                        .nameSimilarity(pair.nameSimilarity())
+                        .build());
+            }
+        }
+        return CursorPageDTO.of(result);
+    }
+
+    /**
+     * Merges the duplicate into the person and deletes it. Memberships, seats and RSVPs are moved over in set-based
+     * statements (see {@link PersonMergeRepository}); the person keeps its own details, and only takes the
+     * duplicate's height, weight and picture where it has none.
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#requestDTO.duplicateId")
+    })
+    public PersonResponseDTO merge(UUID id, PersonMergeRequestDTO requestDTO) {
+        UUID duplicateId = requestDTO.getDuplicateId();
+        if (id.equals(duplicateId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A person cannot be merged into itself");
+        }
+        Person person = personRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Person not found with id: " + id));
+        Person duplicate = personRepository.findById(duplicateId)
+                .orElseThrow(() -> new RuntimeException("Person not found with id: " + duplicateId));
+
+        // Lock the affected boats first, like any other seat write
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> lineupIds = personMergeRepository.findLineupIds(duplicateId);
+        lineupIds.forEach(lineupId -> lineupRepository.touch(lineupId, now));
+        lineupBalanceService.personWeightChanged(duplicateId);
+        personMergeRepository.moveMemberships(id, duplicateId, now);
+        personMergeRepository.moveSeats(id, duplicateId, now);
+        personMergeRepository.moveRsvps(id, duplicateId, now).forEach(rsvp -> eventPublisher.publishEvent(
+                new RsvpCounters.Change(rsvp.trainingId(), rsvp.startAt(), rsvp.response(), null)));
+
+        if (person.getHeight() == null) {
+            person.setHeight(duplicate.getHeight());
+        }
+        if (person.getWeight() == null && duplicate.getWeight() != null) {
+            person.setWeight(duplicate.getWeight());
+            lineupBalanceService.personWeightChanged(id);
+        }
+        if (person.getProfilePictureUrl() == null) {
+            person.setProfilePictureUrl(duplicate.getProfilePictureUrl());
+        }
+        personRepository.delete(duplicate);
+        eventPublisher.publishEvent(PersonSearchIndex.Change.removed(duplicateId));
+        lineupIds.forEach(lineupEventPublisher::seatsChanged);
+        return dtoAssembler.toPersonDTO(person);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.PersonSearchProperties;
+import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.service.search.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Names and phone numbers of all persons in a {@link TrigramIndex}, for the roster autocomplete.
+ * PersonService, RosterImportService and PersonDedupeService publish a {@link Change} for every person they write and
+ * the index applies it after commit. A periodic rebuild picks up everything else and drops the holes removals leave
+ * behind.
+ */
+@Slf4j
+@Component
+public class PersonSearchIndex {
+
+    // name is null when the person was deleted
+    public record Change(UUID id, String name, String phone) {
+
+        public static Change removed(UUID id) {
+            return new Change(id, null, null);
+        }
+    }
+
+    private final PersonRepository personRepository;
+    private final PersonSearchProperties properties;
+    private final ReloadableIndex<TrigramIndex<UUID>, Change> index;
+
+    public PersonSearchIndex(PersonRepository personRepository, PersonSearchProperties properties) {
+        this.personRepository = personRepository;
+        this.properties = properties;
+        this.index = new ReloadableIndex<>(new TrigramIndex<>(properties.getMinScore()), PersonSearchIndex::apply);
+    }
+
+    // Ids of the best matches, best first
+    public List<UUID> search(String query, int limit) {
+        return index.current().search(query, limit).stream().map(TrigramIndex.Match::key).toList();
+    }
+
+    public int size() {
+        return index.current().size();
+    }
+
+    // Builds a new index from the database and swaps it in, see ReloadableIndex
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${person-search.refresh-interval:PT30M}",
+            initialDelayString = "${person-search.refresh-interval:PT30M}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        TrigramIndex<UUID> loaded = index.reload(() -> {
+            TrigramIndex<UUID> rebuilt = new TrigramIndex<>(properties.getMinScore());
+            try (Stream<PersonRepository.SearchFields> rows = personRepository.streamAllSearchFields()) {
+                rows.forEach(row -> rebuilt.put(row.getId(), row.getName(), row.getPhone()));
+            }
+            return rebuilt;
+        });
+        log.debug("Person search index loaded with {} persons", loaded.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPersonChanged(Change change) {
+        index.apply(change);
+    }
+
+    private static void apply(TrigramIndex<UUID> index, Change change) {
+        if (change.name() == null) {
+            index.remove(change.id());
+        } else {
+            index.put(change.id(), change.name(), change.phone());
+        }
+    }
+}
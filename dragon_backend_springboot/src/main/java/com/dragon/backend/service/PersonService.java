@@ -1,16 +1,26 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.person.PersonRequestDTO;
 import com.dragon.backend.dto.person.PersonResponseDTO;
 import com.dragon.backend.model.Person;
 import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.repository.RsvpRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.repository.projection.ResponseProjections;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,17 +28,24 @@ import java.util.stream.Collectors;
 public class PersonService {
 
     private final PersonRepository personRepository;
+    private final DtoAssembler dtoAssembler;
+    private final LineupBalanceService lineupBalanceService;
+    private final KeysetPager keysetPager;
+    private final ProjectionQueries projectionQueries;
+    private final PersonSearchIndex personSearchIndex;
+    private final RsvpRepository rsvpRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<PersonResponseDTO> getAllPersons() {
-        return personRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<PersonResponseDTO> getAllPersons(String cursor, Integer limit, String ordering) {
+        return keysetPager.findPage(Person.class, null, KeysetSort.parse(ordering, "createdAt", "name"), cursor, limit,
+                        ResponseProjections.person())
+                .toDTO();
     }
 
+    @Cacheable(cacheNames = CacheConfig.PERSONS, key = "#id")
     public PersonResponseDTO getPersonById(UUID id) {
-        Person person = personRepository.findById(id)
+        return projectionQueries.findById(Person.class, id, ResponseProjections.person())
                 .orElseThrow(() -> new RuntimeException("Person not found with id: " + id));
-        return toResponseDTO(person);
     }
 
     @Transactional
@@ -47,14 +64,19 @@ public class PersonService {
                 .build();
 
         Person saved = personRepository.save(person);
+        eventPublisher.publishEvent(new PersonSearchIndex.Change(saved.getId(), saved.getName(), saved.getPhone()));
         return toResponseDTO(saved);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#id")
     public PersonResponseDTO updatePerson(UUID id, PersonRequestDTO requestDTO) {
         Person person = personRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Person not found with id: " + id));
 
+        if (!Objects.equals(person.getWeight(), requestDTO.getWeight())) {
+            lineupBalanceService.personWeightChanged(id);
+        }
         person.setName(requestDTO.getName());
         person.setPhone(requestDTO.getPhone());
         person.setHeight(requestDTO.getHeight());
@@ -63,35 +85,38 @@ public class PersonService {
         person.setProfilePictureUrl(requestDTO.getProfilePictureUrl());
 
         Person updated = personRepository.save(person);
+        eventPublisher.publishEvent(new PersonSearchIndex.Change(id, updated.getName(), updated.getPhone()));
         return toResponseDTO(updated);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#id")
     public void deletePerson(UUID id) {
         if (!personRepository.existsById(id)) {
             throw new RuntimeException("Person not found with id: " + id);
         }
+        rsvpRepository.findAllWithTrainingByPersonId(id).forEach(rsvp -> eventPublisher.publishEvent(
+                new RsvpCounters.Change(rsvp.getTraining().getId(), rsvp.getTraining().getStartAt(),
+                        rsvp.getResponse(), null)));
+        rsvpRepository.deleteByPersonId(id);
         personRepository.deleteById(id);
+        eventPublisher.publishEvent(PersonSearchIndex.Change.removed(id));
     }
 
-    public List<PersonResponseDTO> searchByName(String name) {
-        return personRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    /**
+     * Autocomplete over names and phone numbers, best match first (see {@link PersonSearchIndex}). The DTOs mostly
+     * come from the persons cache.
+     */
+    public List<PersonResponseDTO> search(String query, Integer limit) {
+        List<Person> matches = personSearchIndex.search(query, KeysetPager.pageSize(limit)).stream()
+                .map(personRepository::getReferenceById)
+                .toList();
+        // Persons deleted since the index was updated have no DTO
+        return dtoAssembler.toPersonDTOs(matches).stream().filter(Objects::nonNull).toList();
     }
 
     // DTO Conversion
     private PersonResponseDTO toResponseDTO(Person person) {
-        return PersonResponseDTO.builder()
-                .id(person.getId())
-                .name(person.getName())
-                .phone(person.getPhone())
-                .height(person.getHeight())
-                .weight(person.getWeight())
-                .side(person.getSide())
-                .profilePictureUrl(person.getProfilePictureUrl())
-                .createdAt(person.getCreatedAt())
-                .updatedAt(person.getUpdatedAt())
-                .build();
+        return dtoAssembler.toPersonDTO(person);
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.membership.MembershipResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Lineup;
+import com.dragon.backend.repository.ReactiveReadRepository;
+import com.dragon.backend.service.pagination.KeysetCursor;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
+import com.dragon.backend.util.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterparts of the hot reads in TrainingService, LineupService and MembershipService: same DTOs,
+ * orderings, cursors and ETags, but no request thread or JDBC connection is held while the database works.
+ * Writes, and every other read, stay on the JPA services.
+ */
+@Service
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final LineupBalanceService lineupBalanceService;
+
+    public Mono<CursorPageDTO<TrainingResponseDTO>> getTeamTrainings(UUID teamId, String cursor, Integer limit,
+                                                                     String ordering) {
+        KeysetSort sort = KeysetSort.parse(ordering, "startAt", "createdAt");
+        int size = KeysetPager.pageSize(limit);
+        return page(reactiveReadRepository.findTrainingsByTeamId(teamId, sort, cursor, size + 1), size,
+                training -> new KeysetCursor(String.valueOf(training.getId()), String.valueOf(
+                        "startAt".equals(sort.property()) ? training.getStartAt() : training.getCreatedAt())));
+    }
+
+    public Mono<String> getTeamTrainingsETag(UUID teamId) {
+        return reactiveReadRepository.findTrainingsChangeMarker(teamId)
+                .map(marker -> ETags.of("team-trainings", teamId, marker));
+    }
+
+    public Mono<CursorPageDTO<MembershipResponseDTO>> getRoster(UUID teamId, String cursor, Integer limit,
+                                                                String ordering) {
+        KeysetSort sort = KeysetSort.parse(ordering, "createdAt");
+        int size = KeysetPager.pageSize(limit);
+        return page(reactiveReadRepository.findMembershipsByTeamId(teamId, sort, cursor, size + 1), size,
+                membership -> new KeysetCursor(String.valueOf(membership.getId()),
+                        String.valueOf(membership.getCreatedAt())));
+    }
+
+    public Mono<String> getRosterETag(UUID teamId) {
+        return reactiveReadRepository.findRosterChangeMarker(teamId)
+                .map(marker -> ETags.of("roster", teamId, marker));
+    }
+
+    public Mono<LineupResponseDTO> getLineupByTrainingId(Long trainingId) {
+        return reactiveReadRepository.findLineupByTrainingId(trainingId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Lineup not found for training id: " + trainingId)))
+                .flatMap(row -> (row.balance().isStale()
+                        ? reactiveReadRepository.computeBalance(row.lineup().getId())
+                        : Mono.just(row.balance()))
+                        .map(balance -> {
+                            row.lineup().setBalance(lineupBalanceService.toDTO(balance));
+                            return row.lineup();
+                        }));
+    }
+
+    // Same filtering as LineupService.getLineupsByTrainingId
+    public Mono<CursorPageDTO<LineupResponseDTO>> getLineupsByTrainingId(Long trainingId, Lineup.State state) {
+        return getLineupByTrainingId(trainingId)
+                .map(lineup -> CursorPageDTO.of(
+                        state == null || state == lineup.getState() ? List.of(lineup) : List.<LineupResponseDTO>of()));
+    }
+
+    // The repository returns one row more than the page size; it only tells whether there is a next page
+    private static <T> Mono<CursorPageDTO<T>> page(Flux<T> rows, int size, Function<T, KeysetCursor> position) {
+        return rows.collectList().map(list -> {
+            boolean hasMore = list.size() > size;
+            List<T> items = hasMore ? list.subList(0, size) : list;
+            String next = hasMore ? position.apply(items.get(items.size() - 1)).encode() : null;
+            return new CursorPageDTO<>(items, next);
+        });
+    }
+}
@@ -22,7 +22,7 @@ public class RefreshTokenService {
     @Transactional
     public RefreshToken createRefreshToken(User user) {
         // Delete old refresh tokens for this user
-        refreshTokenRepository.deleteByUser(user);
+        refreshTokenRepository.deleteByUserId(user.getId());
 
         String token = jwtService.generateRefreshToken(user.getUsername());
 
@@ -0,0 +1,59 @@
+package com.dragon.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory index kept in step with committed changes and rebuilt from the database now and then, as behind
+ * LocationIndex and PersonSearchIndex. Changes that arrive while a rebuild reads its rows are replayed onto the
+ * rebuilt index before it is swapped in, so none is lost to the swap.
+ *
+ * @param <T> the index
+ * @param <C> a change to one of its entries
+ */
+final class ReloadableIndex<T, C> {
+
+    private final BiConsumer<T, C> apply;
+    private volatile T current;
+    private List<C> changesDuringReload;
+
+    ReloadableIndex(T initial, BiConsumer<T, C> apply) {
+        this.current = initial;
+        this.apply = apply;
+    }
+
+    T current() {
+        return current;
+    }
+
+    // Builds a new index with the loader and swaps it in; a failing loader leaves the current index in place
+    T reload(Supplier<T> loader) {
+        synchronized (this) {
+            changesDuringReload = new ArrayList<>();
+        }
+        T loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            changesDuringReload.forEach(change -> apply.accept(loaded, change));
+            changesDuringReload = null;
+            current = loaded;
+        }
+        return loaded;
+    }
+
+    synchronized void apply(C change) {
+        apply.accept(current, change);
+        if (changesDuringReload != null) {
+            changesDuringReload.add(change);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.PersonDedupeProperties;
+import com.dragon.backend.dto.importing.RosterImportErrorDTO;
+import com.dragon.backend.dto.importing.RosterImportReportDTO;
+import com.dragon.backend.model.Membership;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.repository.MembershipRepository;
+import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.util.CsvReader;
+import com.dragon.backend.util.PhoneNumbers;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Imports a roster CSV (name, phone, team, and optionally role, height, weight, side) in chunks. Each chunk
+ * resolves its persons, teams and existing memberships with one query apiece and is written in its own
+ * transaction with batched inserts, so a bad chunk only fails its own rows. Phones are brought to E.164 with the
+ * configured default country code, so "0532 ..." and "+90 532 ..." are the same paddler; existing persons are
+ * matched on that form, whichever way they were stored, and left unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+public class RosterImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "phone", "team");
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final int MAX_PHONE_DIGITS = 15; // E.164, and the most PersonRequestDTO accepts
+
+    private final PersonRepository personRepository;
+    private final TeamRepository teamRepository;
+    private final MembershipRepository membershipRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PersonDedupeProperties phoneProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // phone holds the E.164 digits, without the "+", which is also how new persons are stored
+    private record RosterRow(long line, String name, String phone, String team, Membership.Role role,
+                             Short height, Short weight, Person.Side side) {
+    }
+
+    private record ChunkResult(int personsCreated, int personsMatched, int membershipsCreated,
+                               int membershipsExisting, List<RosterImportErrorDTO> errors) {
+    }
+
+    // Not transactional as a whole: every chunk commits on its own
+    public RosterImportReportDTO importRoster(Reader input) throws IOException {
+        CsvReader csv = new CsvReader(input);
+        Map<String, Integer> columns = readHeader(readRow(csv));
+        RosterImportReportDTO report = new RosterImportReportDTO();
+        Map<String, UUID> teams = new HashMap<>();
+        List<RosterRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        long line = csv.getLine();
+        List<String> fields;
+        while ((fields = readRow(csv)) != null) {
+            if (!isBlank(fields)) {
+                report.setRows(report.getRows() + 1);
+                try {
+                    chunk.add(parseRow(line, fields, columns));
+                } catch (IllegalArgumentException e) {
+                    report.getErrors().add(new RosterImportErrorDTO(line, e.getMessage()));
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, teams, report);
+                    chunk.clear();
+                }
+            }
+            line = csv.getLine();
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, teams, report);
+        }
+        report.getErrors().sort(Comparator.comparingLong(RosterImportErrorDTO::getLine));
+        return report;
+    }
+
+    // Malformed input is the client's fault; rows of chunks already imported stay imported
+    private static List<String> readRow(CsvReader csv) throws IOException {
+        try {
+            return csv.readRow();
+        } catch (CsvReader.MalformedCsvException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void importChunk(List<RosterRow> chunk, Map<String, UUID> teams, RosterImportReportDTO report) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> writeChunk(chunk, teams));
+        } catch (DataAccessException e) {
+            String message = "Not imported, chunk failed: " + e.getMostSpecificCause().getMessage();
+            chunk.forEach(row -> report.getErrors().add(new RosterImportErrorDTO(row.line(), message)));
+            return;
+        }
+        report.setPersonsCreated(report.getPersonsCreated() + result.personsCreated());
+        report.setPersonsMatched(report.getPersonsMatched() + result.personsMatched());
+        report.setMembershipsCreated(report.getMembershipsCreated() + result.membershipsCreated());
+        report.setMembershipsExisting(report.getMembershipsExisting() + result.membershipsExisting());
+        report.getErrors().addAll(result.errors());
+    }
+
+    private ChunkResult writeChunk(List<RosterRow> chunk, Map<String, UUID> teams) {
+        resolveTeams(chunk, teams);
+
+        Map<String, Person> persons = new HashMap<>();
+        String countryCode = phoneProperties.getDefaultCountryCode();
+        Set<String> phones = new HashSet<>();
+        chunk.forEach(row -> phones.addAll(PhoneNumbers.storedForms("+" + row.phone(), countryCode)));
+        for (Person person : personRepository.findByPhoneIn(phones)) {
+            String e164 = PhoneNumbers.toE164(person.getPhone(), countryCode);
+            if (e164 != null) {
+                persons.putIfAbsent(e164.substring(1), person);
+            }
+        }
+        int personsMatched = persons.size();
+
+        List<RosterImportErrorDTO> errors = new ArrayList<>();
+        List<Person> newPersons = new ArrayList<>();
+        List<RosterRow> accepted = new ArrayList<>(chunk.size());
+        for (RosterRow row : chunk) {
+            if (teams.get(row.team()) == null) {
+                errors.add(new RosterImportErrorDTO(row.line(), "Team not found: " + row.team()));
+                continue;
+            }
+            accepted.add(row);
+            persons.computeIfAbsent(row.phone(), phone -> {
+                Person person = Person.builder()
+                        .name(row.name())
+                        .phone(phone)
+                        .height(row.height())
+                        .weight(row.weight())
+                        .side(row.side())
+                        .build();
+                newPersons.add(person);
+                return person;
+            });
+        }
+        personRepository.saveAll(newPersons);
+        newPersons.forEach(person -> eventPublisher.publishEvent(
+                new PersonSearchIndex.Change(person.getId(), person.getName(), person.getPhone())));
+
+        Set<String> existing = new HashSet<>();
+        Set<UUID> personIds = new HashSet<>();
+        Set<UUID> teamIds = new HashSet<>();
+        for (RosterRow row : accepted) {
+            personIds.add(persons.get(row.phone()).getId());
+            teamIds.add(teams.get(row.team()));
+        }
+        if (!accepted.isEmpty()) {
+            membershipRepository.findKeys(personIds, teamIds)
+                    .forEach(key -> existing.add(key.getPersonId() + ":" + key.getTeamId()));
+        }
+
+        List<Membership> memberships = new ArrayList<>();
+        int membershipsExisting = 0;
+        for (RosterRow row : accepted) {
+            Person person = persons.get(row.phone());
+            UUID teamId = teams.get(row.team());
+            if (!existing.add(person.getId() + ":" + teamId)) {
+                membershipsExisting++;
+                continue;
+            }
+            memberships.add(Membership.builder()
+                    .person(person)
+                    .team(teamRepository.getReferenceById(teamId))
+                    .role(row.role())
+                    .build());
+        }
+        membershipRepository.saveAll(memberships);
+
+        return new ChunkResult(newPersons.size(), personsMatched, memberships.size(), membershipsExisting, errors);
+    }
+
+    // Team column holds a team name or id; each distinct value is looked up once per import
+    private void resolveTeams(List<RosterRow> chunk, Map<String, UUID> teams) {
+        Map<UUID, String> byId = new HashMap<>();
+        Set<String> names = new HashSet<>();
+        for (RosterRow row : chunk) {
+            if (teams.containsKey(row.team())) {
+                continue;
+            }
+            UUID id = parseUuid(row.team());
+            if (id != null) {
+                byId.put(id, row.team());
+            } else {
+                names.add(row.team());
+            }
+            teams.put(row.team(), null);
+        }
+        if (!byId.isEmpty()) {
+            teamRepository.findAllById(byId.keySet()).forEach(team -> teams.put(byId.get(team.getId()), team.getId()));
+        }
+        if (!names.isEmpty()) {
+            teamRepository.findByNameIn(names).forEach(team -> teams.put(team.getName(), team.getId()));
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Roster file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private RosterRow parseRow(long line, List<String> fields, Map<String, Integer> columns) {
+        String name = field(fields, columns, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        String rawPhone = field(fields, columns, "phone");
+        String phone = PhoneNumbers.toE164(rawPhone, phoneProperties.getDefaultCountryCode());
+        if (phone == null || phone.length() - 1 > MAX_PHONE_DIGITS) {
+            throw new IllegalArgumentException("Invalid phone: " + (rawPhone == null ? "" : rawPhone));
+        }
+        String team = field(fields, columns, "team");
+        if (team == null) {
+            throw new IllegalArgumentException("Team is required");
+        }
+        return new RosterRow(line, name, phone.substring(1), team,
+                parseEnum(Membership.Role.class, field(fields, columns, "role"), Membership.Role.PLAYER),
+                parsePositive(field(fields, columns, "height"), "height"),
+                parsePositive(field(fields, columns, "weight"), "weight"),
+                parseEnum(Person.Side.class, field(fields, columns, "side"), Person.Side.BOTH));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName().toLowerCase(Locale.ROOT) + ": " + value);
+        }
+    }
+
+    private static Short parsePositive(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            short parsed = Short.parseShort(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid " + column + ": " + value);
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return value.length() == 36 ? UUID.fromString(value) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.stream().allMatch(String::isBlank);
+    }
+}
@@ -0,0 +1,145 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.RsvpProperties;
+import com.dragon.backend.model.Rsvp;
+import com.dragon.backend.model.RsvpCounts;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps {@link RsvpCounts} in step with RSVPs without making every answer wait for the training row.
+ * <p>
+ * When a training is announced, hundreds of paddlers answer within seconds; an UPDATE of the training per answer
+ * would queue them all on that row's lock. Instead each committed answer bumps a {@link LongAdder}, whose striped
+ * cells keep concurrent increments apart, and a scheduled flush adds what has accumulated to each training in one
+ * batched UPDATE. Deltas are added rather than assigned, so several instances can flush the same training. The
+ * flush also bumps updated_at, which keeps the training ETags honest.
+ * <p>
+ * Answers not yet flushed are lost if the process dies; the RSVP list counts its rows and is always exact.
+ */
+@Slf4j
+@Component
+public class RsvpCounters {
+
+    // A null response is no RSVP: previous is null for a new one, current for a withdrawn one
+    public record Change(Long trainingId, LocalDateTime startAt, Rsvp.Response previous, Rsvp.Response current) {
+    }
+
+    private static final Rsvp.Response[] RESPONSES = Rsvp.Response.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RsvpProperties properties;
+    private final Map<Long, Tally> tallies = new ConcurrentHashMap<>();
+
+    public RsvpCounters(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        RsvpProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRsvpChanged(Change change) {
+        if (change.previous() == change.current()) {
+            return;
+        }
+        Tally tally = tallies.computeIfAbsent(change.trainingId(), id -> new Tally(change.startAt()));
+        if (change.previous() != null) {
+            tally.added[change.previous().ordinal()].decrement();
+        }
+        if (change.current() != null) {
+            tally.added[change.current().ordinal()].increment();
+        }
+    }
+
+    /**
+     * Adds the answers counted since the last flush to their trainings, all in one transaction, and returns how many
+     * trainings were updated. A failed flush is retried in full next time.
+     * <p>
+     * Counters are dropped once their training has started and {@code retainAfterStart} has passed, as answers are
+     * no longer taken by then.
+     */
+    @Scheduled(fixedDelayString = "${rsvp.flush-interval:PT2S}", initialDelayString = "${rsvp.flush-interval:PT2S}")
+    public synchronized int flush() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Delta> deltas = new ArrayList<>();
+        tallies.forEach((trainingId, tally) -> {
+            long[] delta = new long[RESPONSES.length];
+            boolean changed = false;
+            for (int i = 0; i < delta.length; i++) {
+                // sum() is not a snapshot; whatever it misses is picked up by the next flush
+                delta[i] = tally.added[i].sum() - tally.flushed[i];
+                changed |= delta[i] != 0;
+            }
+            if (changed) {
+                deltas.add(new Delta(trainingId, tally, delta));
+            } else if (tally.startAt.plus(properties.getRetainAfterStart()).isBefore(now)) {
+                tallies.remove(trainingId, tally);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("""
+                        UPDATE training SET
+                            rsvp_yes = rsvp_yes + ?,
+                            rsvp_maybe = rsvp_maybe + ?,
+                            rsvp_no = rsvp_no + ?,
+                            updated_at = ?
+                        WHERE id = ?
+                        """,
+                deltas, properties.getBatchSize(), (ps, delta) -> {
+                    ps.setLong(1, delta.counts()[Rsvp.Response.YES.ordinal()]);
+                    ps.setLong(2, delta.counts()[Rsvp.Response.MAYBE.ordinal()]);
+                    ps.setLong(3, delta.counts()[Rsvp.Response.NO.ordinal()]);
+                    ps.setTimestamp(4, Timestamp.valueOf(now));
+                    ps.setLong(5, delta.trainingId());
+                }));
+        for (Delta delta : deltas) {
+            for (int i = 0; i < RESPONSES.length; i++) {
+                delta.tally().flushed[i] += delta.counts()[i];
+            }
+        }
+        log.debug("Flushed RSVP counts of {} trainings", deltas.size());
+        return deltas.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static final class Tally {
+
+        private final LocalDateTime startAt;
+        private final LongAdder[] added = new LongAdder[RESPONSES.length]; // By Response ordinal, since startup
+        private final long[] flushed = new long[RESPONSES.length]; // Only touched by flush, under its lock
+
+        private Tally(LocalDateTime startAt) {
+            this.startAt = startAt;
+            for (int i = 0; i < added.length; i++) {
+                added[i] = new LongAdder();
+            }
+        }
+    }
+
+    private record Delta(Long trainingId, Tally tally, long[] counts) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.dto.person.PersonSummaryDTO;
+import com.dragon.backend.dto.rsvp.RsvpCountsDTO;
+import com.dragon.backend.dto.rsvp.RsvpRequestDTO;
+import com.dragon.backend.dto.rsvp.RsvpResponseDTO;
+import com.dragon.backend.dto.rsvp.TrainingRsvpsDTO;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.model.Rsvp;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.MembershipRepository;
+import com.dragon.backend.repository.PersonRepository;
+import com.dragon.backend.repository.RsvpRepository;
+import com.dragon.backend.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Paddlers' answers to a training. Each write raises an {@link RsvpCounters.Change}; the counters pick it up after
+ * commit, so the training row is never locked by an answer.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RsvpService {
+
+    private final RsvpRepository rsvpRepository;
+    private final TrainingRepository trainingRepository;
+    private final PersonRepository personRepository;
+    private final MembershipRepository membershipRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Who is coming, from one query; the counts are taken from the list rather than from the training
+    public TrainingRsvpsDTO getRsvps(Long trainingId) {
+        List<Rsvp> rsvps = rsvpRepository.findAllWithPersonByTrainingId(trainingId);
+        if (rsvps.isEmpty() && !trainingRepository.existsById(trainingId)) {
+            throw new RuntimeException("Training not found with id: " + trainingId);
+        }
+        int[] counts = new int[Rsvp.Response.values().length];
+        rsvps.forEach(rsvp -> counts[rsvp.getResponse().ordinal()]++);
+        return TrainingRsvpsDTO.builder()
+                .trainingId(trainingId)
+                .counts(RsvpCountsDTO.builder()
+                        .yes(counts[Rsvp.Response.YES.ordinal()])
+                        .maybe(counts[Rsvp.Response.MAYBE.ordinal()])
+                        .no(counts[Rsvp.Response.NO.ordinal()])
+                        .build())
+                .rsvps(rsvps.stream().map(RsvpService::toResponseDTO).toList())
+                .build();
+    }
+
+    // Creates the person's RSVP or changes their answer
+    @Transactional
+    public RsvpResponseDTO respond(Long trainingId, RsvpRequestDTO requestDTO) {
+        UUID personId = requestDTO.getPersonId();
+        Training training = openTraining(trainingId);
+        if (!membershipRepository.existsByPersonIdAndTeamId(personId, training.getTeam().getId())) {
+            if (!personRepository.existsById(personId)) {
+                throw new RuntimeException("Person not found with id: " + personId);
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Person " + personId + " is not a member of the training's team");
+        }
+
+        Rsvp rsvp = rsvpRepository.findByTrainingIdAndPersonId(trainingId, personId)
+                .orElseGet(() -> Rsvp.builder()
+                        .training(training)
+                        .person(personRepository.getReferenceById(personId))
+                        .build());
+        Rsvp.Response previous = rsvp.getResponse();
+        rsvp.setResponse(requestDTO.getResponse());
+
+        Rsvp saved = rsvpRepository.save(rsvp);
+        eventPublisher.publishEvent(new RsvpCounters.Change(trainingId, training.getStartAt(), previous,
+                saved.getResponse()));
+        return toResponseDTO(saved);
+    }
+
+    @Transactional
+    public void withdraw(Long trainingId, UUID personId) {
+        Training training = openTraining(trainingId);
+        Rsvp rsvp = rsvpRepository.findByTrainingIdAndPersonId(trainingId, personId)
+                .orElseThrow(() -> new RuntimeException("RSVP not found for person: " + personId));
+        rsvpRepository.delete(rsvp);
+        eventPublisher.publishEvent(new RsvpCounters.Change(trainingId, training.getStartAt(), rsvp.getResponse(),
+                null));
+    }
+
+    // Answers are taken until the training starts
+    private Training openTraining(Long trainingId) {
+        Training training = trainingRepository.findById(trainingId)
+                .orElseThrow(() -> new RuntimeException("Training not found with id: " + trainingId));
+        if (!training.getStartAt().isAfter(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Training " + trainingId + " has already started");
+        }
+        return training;
+    }
+
+    // DTO Conversion
+    private static RsvpResponseDTO toResponseDTO(Rsvp rsvp) {
+        Person person = rsvp.getPerson();
+        return RsvpResponseDTO.builder()
+                .id(rsvp.getId())
+                .trainingId(rsvp.getTraining().getId())
+                .person(PersonSummaryDTO.builder()
+                        .id(person.getId())
+                        .name(person.getName())
+                        .height(person.getHeight())
+                        .weight(person.getWeight())
+                        .side(person.getSide())
+                        .profilePictureUrl(person.getProfilePictureUrl())
+                        .build())
+                .response(rsvp.getResponse())
+                .createdAt(rsvp.getCreatedAt())
+                .updatedAt(rsvp.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,16 +1,23 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.dto.common.CursorPageDTO;
 import com.dragon.backend.dto.team.TeamRequestDTO;
 import com.dragon.backend.dto.team.TeamResponseDTO;
 import com.dragon.backend.model.Team;
 import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.repository.projection.ResponseProjections;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,17 +25,20 @@ import java.util.stream.Collectors;
 public class TeamService {
 
     private final TeamRepository teamRepository;
+    private final DtoAssembler dtoAssembler;
+    private final KeysetPager keysetPager;
+    private final ProjectionQueries projectionQueries;
 
-    public List<TeamResponseDTO> getAllTeams() {
-        return teamRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<TeamResponseDTO> getAllTeams(String cursor, Integer limit, String ordering) {
+        return keysetPager.findPage(Team.class, null, KeysetSort.parse(ordering, "createdAt", "name"), cursor, limit,
+                        ResponseProjections.team())
+                .toDTO();
     }
 
+    @Cacheable(cacheNames = CacheConfig.TEAMS, key = "#id")
     public TeamResponseDTO getTeamById(UUID id) {
-        Team team = teamRepository.findById(id)
+        return projectionQueries.findById(Team.class, id, ResponseProjections.team())
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + id));
-        return toResponseDTO(team);
     }
 
     @Transactional
@@ -47,7 +57,13 @@ public class TeamService {
         return toResponseDTO(saved);
     }
 
+    // Cached locations and calendar months embed their team
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TEAMS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.LOCATIONS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_CALENDAR, allEntries = true)
+    })
     public TeamResponseDTO updateTeam(UUID id, TeamRequestDTO requestDTO) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + id));
@@ -61,6 +77,11 @@ public class TeamService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TEAMS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.LOCATIONS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_CALENDAR, allEntries = true)
+    })
     public void deleteTeam(UUID id) {
         if (!teamRepository.existsById(id)) {
             throw new RuntimeException("Team not found with id: " + id);
@@ -70,13 +91,6 @@ public class TeamService {
 
     // DTO Conversion
     private TeamResponseDTO toResponseDTO(Team team) {
-        return TeamResponseDTO.builder()
-                .id(team.getId())
-                .name(team.getName())
-                .city(team.getCity())
-                .maxMembers(team.getMaxMembers())
-                .createdAt(team.getCreatedAt())
-                .updatedAt(team.getUpdatedAt())
-                .build();
+        return dtoAssembler.toTeamDTO(team);
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.TrainingCalendarProperties;
+import com.dragon.backend.dto.location.LocationResponseDTO;
+import com.dragon.backend.dto.team.TeamResponseDTO;
+import com.dragon.backend.dto.training.TrainingCalendarMonthDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.repository.TrainingRepository;
+import com.dragon.backend.repository.projection.ChangeMarker;
+import com.dragon.backend.util.ETags;
+import com.dragon.backend.util.ICalWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * A team's trainings by calendar month, for calendar clients that poll the same schedule over and over. Each month
+ * is loaded once into {@link CacheConfig#TEAM_CALENDAR}; TrainingService evicts just the months a write touches, and
+ * TeamService and LocationService evict every month. RSVP counts change too often to be cached and are left out.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TrainingCalendarService {
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    public record TeamCalendar(TeamResponseDTO team, List<TrainingCalendarMonthDTO> months, String etag) {
+    }
+
+    private final TrainingRepository trainingRepository;
+    private final TeamRepository teamRepository;
+    private final DtoAssembler dtoAssembler;
+    private final CacheManager cacheManager;
+    private final TrainingCalendarProperties properties;
+
+    /**
+     * {@code months} consecutive months starting at {@code from}; both default to the configured window around
+     * the current month. The ETag is derived from the cached months, so it changes with their eviction.
+     */
+    public TeamCalendar getCalendar(UUID teamId, YearMonth from, Integer months) {
+        YearMonth first = from != null ? from : YearMonth.now().minusMonths(properties.getMonthsBack());
+        int count = months != null ? months : properties.getMonthsBack() + 1 + properties.getMonthsAhead();
+        if (count < 1 || count > properties.getMaxMonths()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "months must be between 1 and " + properties.getMaxMonths());
+        }
+        TeamResponseDTO team = dtoAssembler.toTeamDTOs(List.of(teamRepository.getReferenceById(teamId))).get(0);
+        if (team == null) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.TEAM_CALENDAR);
+        List<TrainingCalendarMonthDTO> calendar = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            YearMonth month = first.plusMonths(i);
+            calendar.add(cache.get(key(teamId, month), () -> loadMonth(teamId, month)));
+        }
+        return new TeamCalendar(team, calendar, etag(teamId, first, calendar));
+    }
+
+    // Called by TrainingService inside its transaction; the cache applies the eviction after commit
+    public void evict(UUID teamId, LocalDateTime startAt) {
+        if (teamId != null && startAt != null) {
+            cacheManager.getCache(CacheConfig.TEAM_CALENDAR).evict(key(teamId, YearMonth.from(startAt)));
+        }
+    }
+
+    public void writeICalendar(TeamCalendar calendar, OutputStream out) throws IOException {
+        ICalWriter ical = new ICalWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        ical.writeProperty("BEGIN", "VCALENDAR");
+        ical.writeProperty("VERSION", "2.0");
+        ical.writeProperty("PRODID", "-//Dragon//Team trainings//EN");
+        ical.writeProperty("CALSCALE", "GREGORIAN");
+        ical.writeText("X-WR-CALNAME", calendar.team().getName() + " trainings");
+        for (TrainingCalendarMonthDTO month : calendar.months()) {
+            for (TrainingResponseDTO training : month.getTrainings()) {
+                writeEvent(ical, calendar.team(), training);
+            }
+            ical.flush();
+        }
+        ical.writeProperty("END", "VCALENDAR");
+        ical.flush();
+    }
+
+    private TrainingCalendarMonthDTO loadMonth(UUID teamId, YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        // Between is inclusive; a training at midnight on the 1st belongs to the next month
+        List<Training> trainings = trainingRepository.findByTeamIdAndStartAtBetween(teamId, start, end).stream()
+                .filter(training -> training.getStartAt().isBefore(end))
+                .toList();
+        List<TrainingResponseDTO> dtos = dtoAssembler.toTrainingDTOs(trainings);
+        dtos.forEach(training -> training.setRsvps(null));
+        return new TrainingCalendarMonthDTO(month, dtos.stream()
+                .sorted(Comparator.comparing(TrainingResponseDTO::getStartAt).thenComparing(TrainingResponseDTO::getId))
+                .toList());
+    }
+
+    // Counts, id sum and latest change of everything in the window: a move, insert or delete shows in one of them
+    private static String etag(UUID teamId, YearMonth first, List<TrainingCalendarMonthDTO> calendar) {
+        List<TrainingResponseDTO> trainings = calendar.stream().flatMap(month -> month.getTrainings().stream()).toList();
+        LocalDateTime lastModified = trainings.stream()
+                .flatMap(training -> Stream.of(training.getUpdatedAt(),
+                        training.getLocation() == null ? null : training.getLocation().getUpdatedAt(),
+                        training.getTeam() == null ? null : training.getTeam().getUpdatedAt()))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        long idSum = trainings.stream().mapToLong(TrainingResponseDTO::getId).sum();
+        return ETags.of("team-calendar", teamId + ":" + first + ":" + calendar.size(),
+                new ChangeMarker(0L, trainings.size(), idSum, lastModified));
+    }
+
+    private void writeEvent(ICalWriter ical, TeamResponseDTO team, TrainingResponseDTO training) throws IOException {
+        LocationResponseDTO location = training.getLocation();
+        ical.writeProperty("BEGIN", "VEVENT");
+        ical.writeProperty("UID", "training-" + training.getId() + "@dragon");
+        ical.writeProperty("DTSTAMP", utc(training.getUpdatedAt() != null ? training.getUpdatedAt() : training.getCreatedAt()));
+        // Start times are stored without a zone, so they are written as floating local times
+        ical.writeProperty("DTSTART", training.getStartAt().format(LOCAL_DATE_TIME));
+        ical.writeProperty("DTEND", training.getStartAt().plus(properties.getEventDuration()).format(LOCAL_DATE_TIME));
+        ical.writeText("SUMMARY", team.getName() + " training");
+        if (location != null) {
+            ical.writeText("LOCATION", location.getName());
+            if (location.getLat() != null && location.getLon() != null) {
+                ical.writeProperty("GEO", location.getLat() + ";" + location.getLon());
+            }
+        }
+        if (training.getUpdatedAt() != null) {
+            ical.writeProperty("LAST-MODIFIED", utc(training.getUpdatedAt()));
+        }
+        ical.writeProperty("END", "VEVENT");
+    }
+
+    private static String utc(LocalDateTime time) {
+        LocalDateTime value = time != null ? time : LocalDateTime.now();
+        return value.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC_DATE_TIME);
+    }
+
+    private static String key(UUID teamId, YearMonth month) {
+        return teamId + ":" + month;
+    }
+}
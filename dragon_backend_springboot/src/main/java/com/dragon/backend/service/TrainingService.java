@@ -1,20 +1,40 @@
 package com.dragon.backend.service;
 
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.training.TrainingDistanceDTO;
 import com.dragon.backend.dto.training.TrainingRequestDTO;
 import com.dragon.backend.dto.training.TrainingResponseDTO;
 import com.dragon.backend.model.Location;
 import com.dragon.backend.model.Team;
 import com.dragon.backend.model.Training;
 import com.dragon.backend.repository.LocationRepository;
+import com.dragon.backend.repository.RsvpRepository;
 import com.dragon.backend.repository.TeamRepository;
 import com.dragon.backend.repository.TrainingRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.repository.projection.ResponseProjections;
+import com.dragon.backend.service.pagination.KeysetCursor;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
+import com.dragon.backend.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,25 +44,97 @@ public class TrainingService {
     private final TrainingRepository trainingRepository;
     private final TeamRepository teamRepository;
     private final LocationRepository locationRepository;
-    private final TeamService teamService;
-    private final LocationService locationService;
+    private final RsvpRepository rsvpRepository;
+    private final DtoAssembler dtoAssembler;
+    private final KeysetPager keysetPager;
+    private final ProjectionQueries projectionQueries;
+    private final LocationIndex locationIndex;
+    private final LocationIndexProperties locationIndexProperties;
+    private final TrainingCalendarService trainingCalendarService;
+
+    // Ordered by start time: backed by idx_training_start, or idx_training_team_start when filtered by team
+    public CursorPageDTO<TrainingResponseDTO> getAllTrainings(UUID teamId, String cursor, Integer limit, String ordering) {
+        Specification<Training> filter = teamId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("team").get("id"), teamId);
+        return keysetPager.findPage(Training.class, filter, KeysetSort.parse(ordering, "startAt", "createdAt"), cursor, limit,
+                        ResponseProjections.training())
+                .toDTO();
+    }
+
+    /**
+     * Trainings starting in the next {@code days} (7 by default) at a location within {@code radiusKm}, in start
+     * order. The locations come from {@link LocationIndex}; the time window is read off idx_training_start from the
+     * cursor's (startAt, id) on and filtered by location while streaming, so only the page's trainings are loaded.
+     */
+    public CursorPageDTO<TrainingDistanceDTO> getNearbyTrainings(double lat, double lon, double radiusKm, Integer days,
+                                                                 String cursor, Integer limit) {
+        int window = days == null ? 7 : days;
+        if (window < 1 || window > locationIndexProperties.getMaxDays()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "days must be between 1 and " + locationIndexProperties.getMaxDays());
+        }
+        Map<Integer, Double> distances = new HashMap<>();
+        locationIndex.within(lat, lon, radiusKm, Integer.MAX_VALUE)
+                .forEach(hit -> distances.put(hit.id(), hit.distanceKm()));
+        if (distances.isEmpty()) {
+            return CursorPageDTO.of(List.of());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime afterStart = now;
+        long afterId = Long.MIN_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            try {
+                afterStart = LocalDateTime.parse(position.key());
+                afterId = Long.parseLong(position.id());
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        // One extra row tells us whether there is a next page
+        int size = KeysetPager.pageSize(limit);
+        List<TrainingRepository.TrainingLocationKey> keys = new ArrayList<>(size + 1);
+        try (Stream<TrainingRepository.TrainingLocationKey> rows =
+                     trainingRepository.streamLocationsStartingBetween(afterStart, afterId, now.plusDays(window))) {
+            rows.filter(row -> distances.containsKey(row.getLocationId()))
+                    .limit(size + 1)
+                    .forEach(keys::add);
+        }
+        boolean hasMore = keys.size() > size;
+        List<TrainingRepository.TrainingLocationKey> page = hasMore ? keys.subList(0, size) : keys;
+
+        List<Long> ids = page.stream().map(TrainingRepository.TrainingLocationKey::getId).toList();
+        Map<Long, TrainingResponseDTO> dtos = dtoAssembler.toTrainingDTOs(trainingRepository.findAllById(ids))
+                .stream()
+                .collect(Collectors.toMap(TrainingResponseDTO::getId, Function.identity()));
+        List<TrainingDistanceDTO> results = page.stream()
+                .filter(key -> dtos.containsKey(key.getId()))
+                .map(key -> new TrainingDistanceDTO(dtos.get(key.getId()), distances.get(key.getLocationId())))
+                .toList();
+
+        String next = null;
+        if (hasMore) {
+            TrainingRepository.TrainingLocationKey last = page.get(page.size() - 1);
+            next = new KeysetCursor(String.valueOf(last.getId()), String.valueOf(last.getStartAt())).encode();
+        }
+        return new CursorPageDTO<>(results, next);
+    }
 
-    public List<TrainingResponseDTO> getAllTrainings() {
-        return trainingRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public TrainingResponseDTO getTrainingById(Long id) {
+        return projectionQueries.findById(Training.class, id, ResponseProjections.training())
+                .orElseThrow(() -> new RuntimeException("Training not found with id: " + id));
     }
 
-    public TrainingResponseDTO getTrainingById(Short id) {
-        Training training = trainingRepository.findById(id)
+    public String getTrainingETag(Long id) {
+        return trainingRepository.findChangeMarker(id)
+                .map(marker -> ETags.of("training", id, marker))
                 .orElseThrow(() -> new RuntimeException("Training not found with id: " + id));
-        return toResponseDTO(training);
     }
 
-    public List<TrainingResponseDTO> getTrainingsByTeamId(UUID teamId) {
-        return trainingRepository.findByTeamId(teamId).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public String getTeamTrainingsETag(UUID teamId) {
+        return ETags.of("team-trainings", teamId, trainingRepository.findChangeMarkerByTeamId(teamId));
     }
 
     @Transactional
@@ -60,11 +152,12 @@ public class TrainingService {
                 .build();
 
         Training saved = trainingRepository.save(training);
+        trainingCalendarService.evict(team.getId(), saved.getStartAt());
         return toResponseDTO(saved);
     }
 
     @Transactional
-    public TrainingResponseDTO updateTraining(Short id, TrainingRequestDTO requestDTO) {
+    public TrainingResponseDTO updateTraining(Long id, TrainingRequestDTO requestDTO) {
         Training training = trainingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Training not found with id: " + id));
 
@@ -74,31 +167,29 @@ public class TrainingService {
         Location location = locationRepository.findById(requestDTO.getLocationId())
                 .orElseThrow(() -> new RuntimeException("Location not found with id: " + requestDTO.getLocationId()));
 
+        // The month it leaves and the month it moves to; the same one unless the training moved
+        trainingCalendarService.evict(training.getTeam().getId(), training.getStartAt());
         training.setTeam(team);
         training.setLocation(location);
         training.setStartAt(requestDTO.getStartAt());
 
         Training updated = trainingRepository.save(training);
+        trainingCalendarService.evict(team.getId(), updated.getStartAt());
         return toResponseDTO(updated);
     }
 
     @Transactional
-    public void deleteTraining(Short id) {
-        if (!trainingRepository.existsById(id)) {
-            throw new RuntimeException("Training not found with id: " + id);
-        }
-        trainingRepository.deleteById(id);
+    public void deleteTraining(Long id) {
+        Training training = trainingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Training not found with id: " + id));
+        trainingCalendarService.evict(training.getTeam().getId(), training.getStartAt());
+        // The counts go with the training, so RsvpCounters needs no correction
+        rsvpRepository.deleteByTrainingId(id);
+        trainingRepository.delete(training);
     }
 
     // DTO Conversion
     private TrainingResponseDTO toResponseDTO(Training training) {
-        return TrainingResponseDTO.builder()
-                .id(training.getId())
-                .team(teamService.getTeamById(training.getTeam().getId()))
-                .location(locationService.getLocationById(training.getLocation().getId()))
-                .startAt(training.getStartAt())
-                .createdAt(training.getCreatedAt())
-                .updatedAt(training.getUpdatedAt())
-                .build();
+        return dtoAssembler.toTrainingDTO(training);
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.dragon.backend.service.dedupe;
+
+import com.dragon.backend.service.search.TrigramIndex;
+import com.dragon.backend.util.PhoneNumbers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Finds persons that are likely entered twice, without comparing every person with every other.
+ * <p>
+ * Each person gets up to three blocking keys: the phone number in E.164 form, the name's words in sorted order,
+ * and first initial plus last word. Keys are hashed and packed with the person's row into one long, so blocking a
+ * few hundred thousand persons is a primitive sort; only persons sharing a key are scored against each other.
+ * Blocks larger than {@code maxBlockSize} are skipped, as a very common name says little and would cost n² pairs.
+ * <p>
+ * A pair's score is name similarity (trigram Dice, 0.6 at most) plus 0.4 for the same phone, nudged up or down by
+ * how well height and weight agree. A shared phone alone is not enough: families often register under one number.
+ */
+public final class DuplicateFinder {
+
+    public record Row(UUID id, String name, String phone, Short height, Short weight) {
+    }
+
+    public record Candidate(UUID first, UUID second, double score, boolean samePhone, double nameSimilarity) {
+    }
+
+    private static final int ROW_BITS = 24;
+    private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+
+    private final String defaultCountryCode;
+    private final double minScore;
+    private final int maxBlockSize;
+    private final List<Row> rows = new ArrayList<>();
+    private final List<String> phones = new ArrayList<>(); // E.164, by row
+    private long[] keys = new long[1024]; // Key hash in the high bits, row in the low ROW_BITS
+    private int keyCount;
+    private int skippedBlocks;
+
+    public DuplicateFinder(String defaultCountryCode, double minScore, int maxBlockSize) {
+        this.defaultCountryCode = defaultCountryCode;
+        this.minScore = minScore;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    public void add(Row row) {
+        int index = rows.size();
+        if (index > ROW_MASK) {
+            throw new IllegalStateException("Too many persons for one scan: " + index);
+        }
+        String phone = PhoneNumbers.toE164(row.phone(), defaultCountryCode);
+        rows.add(row);
+        phones.add(phone);
+        if (phone != null) {
+            addKey("p" + phone, index);
+        }
+        String[] words = TrigramIndex.normalize(row.name()).split(" ");
+        if (!words[0].isEmpty()) {
+            String[] sorted = words.clone();
+            Arrays.sort(sorted);
+            addKey("n" + String.join(" ", sorted), index);
+        }
+        if (words.length > 1) {
+            addKey("i" + words[0].charAt(0) + " " + words[words.length - 1], index);
+        }
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // Blocks skipped by the last call to candidates
+    public int skippedBlocks() {
+        return skippedBlocks;
+    }
+
+    /**
+     * Pairs scoring at least {@code minScore}, best first, at most {@code limit} of them. Each pair is reported
+     * once, with its persons in the order they were added.
+     */
+    public List<Candidate> candidates(int limit) {
+        long[] sorted = Arrays.copyOf(keys, keyCount);
+        Arrays.sort(sorted);
+        long[][] grams = new long[rows.size()][];
+        Set<Long> seen = new HashSet<>();
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        skippedBlocks = 0;
+
+        for (int start = 0, end; start < sorted.length; start = end) {
+            long block = sorted[start] >>> ROW_BITS;
+            end = start + 1;
+            while (end < sorted.length && sorted[end] >>> ROW_BITS == block) {
+                end++;
+            }
+            if (end - start > maxBlockSize) {
+                skippedBlocks++;
+                continue;
+            }
+            for (int i = start; i < end; i++) {
+                for (int j = i + 1; j < end; j++) {
+                    int a = (int) (sorted[i] & ROW_MASK);
+                    int b = (int) (sorted[j] & ROW_MASK);
+                    // Rows within a block are in order, so this identifies the pair across blocks
+                    if (a == b || !seen.add((long) a << 32 | b)) {
+                        continue;
+                    }
+                    Candidate candidate = score(a, b, grams);
+                    if (candidate.score() < minScore) {
+                        continue;
+                    }
+                    best.add(candidate);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        return result;
+    }
+
+    private Candidate score(int a, int b, long[][] grams) {
+        Row first = rows.get(a);
+        Row second = rows.get(b);
+        if (grams[a] == null) {
+            grams[a] = TrigramIndex.trigrams(first.name());
+        }
+        if (grams[b] == null) {
+            grams[b] = TrigramIndex.trigrams(second.name());
+        }
+        double nameSimilarity = dice(grams[a], grams[b]);
+        boolean samePhone = phones.get(a) != null && phones.get(a).equals(phones.get(b));
+        double score = 0.6 * nameSimilarity + (samePhone ? 0.4 : 0)
+                + agreement(first.height(), second.height(), 3, 10)
+                + agreement(first.weight(), second.weight(), 5, 15);
+        return new Candidate(first.id(), second.id(), Math.max(0, Math.min(1, score)), samePhone, nameSimilarity);
+    }
+
+    // Measurements within "close" of each other back a match, beyond "far" they speak against it
+    private static double agreement(Short x, Short y, int close, int far) {
+        if (x == null || y == null) {
+            return 0;
+        }
+        int difference = Math.abs(x - y);
+        return difference <= close ? 0.1 : difference > far ? -0.2 : 0;
+    }
+
+    // Both arrays sorted and distinct
+    private static double dice(long[] x, long[] y) {
+        if (x.length + y.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        for (int i = 0, j = 0; i < x.length && j < y.length; ) {
+            if (x[i] == y[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (x[i] < y[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return 2.0 * shared / (x.length + y.length);
+    }
+
+    private void addKey(String key, int row) {
+        if (keyCount == keys.length) {
+            keys = Arrays.copyOf(keys, keyCount * 2);
+        }
+        keys[keyCount++] = hash(key) << ROW_BITS | row;
+    }
+
+    // FNV-1a, cut to the bits left over by the row; a rare collision only merges two blocks
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash >>> ROW_BITS;
+    }
+}
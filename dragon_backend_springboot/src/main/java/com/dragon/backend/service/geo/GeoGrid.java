@@ -0,0 +1,220 @@
+package com.dragon.backend.service.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of points on the sphere: a grid of equal-angle latitude/longitude cells (a geohash
+ * at fixed precision, without the string encoding), each holding the points inside it.
+ * <p>
+ * A radius search only visits the cells overlapping the circle's bounding box, which is exact on the sphere,
+ * including near the poles and across the antimeridian. Then it checks the great-circle distance of each point
+ * in them. A k-nearest search runs radius searches with a doubling radius until one finds k points; those
+ * contain the k nearest. When a box would cover more cells than there are points, the points are scanned instead.
+ * <p>
+ * Reads take no locks: every cell is an immutable array that writers replace. Writes are rare (locations
+ * change a few times a day) and synchronized.
+ */
+public final class GeoGrid {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+
+    public record Hit(int id, double distanceKm) {
+    }
+
+    private record Point(int id, double lat, double lon, double latRad, double lonRad, double cosLat) {
+    }
+
+    private static final Point[] EMPTY = new Point[0];
+    private static final Comparator<Hit> NEAREST_FIRST =
+            Comparator.comparingDouble(Hit::distanceKm).thenComparingInt(Hit::id);
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, Point[]> cells = new ConcurrentHashMap<>();
+    private final Map<Integer, Point> points = new ConcurrentHashMap<>();
+
+    /**
+     * @param cellDegrees cell edge, dividing 360 evenly; about the typical search radius works best
+     *                    (0.1° is 11 km north-south)
+     */
+    public GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.round(360 / cellDegrees);
+        this.rows = (int) Math.ceil(180 / cellDegrees - 1e-9);
+        if (!(cellDegrees > 0 && cellDegrees <= 90) || Math.abs(columns * cellDegrees - 360) > 1e-6) {
+            throw new IllegalArgumentException("Cell size must divide 360 degrees: " + cellDegrees);
+        }
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public synchronized void put(int id, double lat, double lon) {
+        Point point = new Point(id, lat, lon, Math.toRadians(lat), Math.toRadians(lon), Math.cos(Math.toRadians(lat)));
+        Point previous = points.put(id, point);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.merge(cellKey(lat, lon), new Point[]{point}, (current, added) -> {
+            Point[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = point;
+            return grown;
+        });
+    }
+
+    public synchronized void remove(int id) {
+        Point previous = points.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    /**
+     * Points within the radius, nearest first, at most {@code limit} of them.
+     */
+    public List<Hit> within(double lat, double lon, double radiusKm, int limit) {
+        return search(lat, lon, radiusKm, limit).sorted();
+    }
+
+    /**
+     * The {@code k} nearest points, nearest first, no farther than {@code maxDistanceKm}.
+     */
+    public List<Hit> nearest(double lat, double lon, int k, double maxDistanceKm) {
+        double limit = Math.min(maxDistanceKm, MAX_DISTANCE_KM);
+        double radius = Math.min(limit, cellDegrees * Math.PI / 180 * EARTH_RADIUS_KM);
+        while (true) {
+            Search search = search(lat, lon, radius, k);
+            if (search.found >= k || radius >= limit) {
+                return search.sorted();
+            }
+            radius = Math.min(limit, radius * 2);
+        }
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latRad1 = Math.toRadians(lat1);
+        double latRad2 = Math.toRadians(lat2);
+        return haversine(latRad1, Math.toRadians(lon1), Math.cos(latRad1),
+                latRad2, Math.toRadians(lon2), Math.cos(latRad2));
+    }
+
+    private Search search(double lat, double lon, double radiusKm, int limit) {
+        Search search = new Search(Math.toRadians(lat), Math.toRadians(lon), radiusKm, limit);
+        if (limit <= 0 || radiusKm < 0) {
+            return search;
+        }
+        double angle = radiusKm / EARTH_RADIUS_KM;
+        double minLat = lat - Math.toDegrees(angle);
+        double maxLat = lat + Math.toDegrees(angle);
+        double lonSpan = 360;
+        if (minLat > -90 && maxLat < 90) {
+            // Widest longitude offset of the circle (J. P. Matuschek, "Finding Points Within a Distance")
+            double ratio = Math.sin(angle) / Math.cos(Math.toRadians(lat));
+            if (ratio < 1) {
+                lonSpan = 2 * Math.toDegrees(Math.asin(ratio));
+            }
+        }
+        int firstRow = row(Math.max(-90, minLat));
+        int lastRow = row(Math.min(90, maxLat));
+        int firstColumn = unwrappedColumn(lon - lonSpan / 2);
+        int columnCount = lonSpan >= 360 ? columns
+                : Math.min(columns, unwrappedColumn(lon + lonSpan / 2) - firstColumn + 1);
+
+        if ((long) (lastRow - firstRow + 1) * columnCount > points.size()) {
+            points.values().forEach(search::offer);
+            return search;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < columnCount; i++) {
+                Point[] cell = cells.getOrDefault((long) row * columns + Math.floorMod(firstColumn + i, columns), EMPTY);
+                for (Point point : cell) {
+                    search.offer(point);
+                }
+            }
+        }
+        return search;
+    }
+
+    private void removeFromCell(Point point) {
+        cells.computeIfPresent(cellKey(point.lat(), point.lon()), (key, current) -> {
+            Point[] shrunk = Arrays.stream(current).filter(p -> p.id() != point.id()).toArray(Point[]::new);
+            return shrunk.length == 0 ? null : shrunk;
+        });
+    }
+
+    private long cellKey(double lat, double lon) {
+        return (long) row(lat) * columns + column(lon);
+    }
+
+    private int row(double lat) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((lat + 90) / cellDegrees)));
+    }
+
+    private int column(double lon) {
+        return Math.floorMod(unwrappedColumn(lon), columns);
+    }
+
+    // Keeps counting past the antimeridian, so a range of columns that crosses it stays contiguous
+    private int unwrappedColumn(double lon) {
+        return (int) Math.floor((lon + 180) / cellDegrees);
+    }
+
+    private static double haversine(double latRad1, double lonRad1, double cosLat1,
+                                    double latRad2, double lonRad2, double cosLat2) {
+        double sinLat = Math.sin((latRad2 - latRad1) / 2);
+        double sinLon = Math.sin((lonRad2 - lonRad1) / 2);
+        double a = sinLat * sinLat + cosLat1 * cosLat2 * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Keeps the nearest `limit` points within the radius in a max-heap, and counts all points within it
+    private static final class Search {
+
+        private final double latRad;
+        private final double lonRad;
+        private final double cosLat;
+        private final double radiusKm;
+        private final int limit;
+        private final PriorityQueue<Hit> nearest;
+        private int found;
+
+        Search(double latRad, double lonRad, double radiusKm, int limit) {
+            this.latRad = latRad;
+            this.lonRad = lonRad;
+            this.cosLat = Math.cos(latRad);
+            this.radiusKm = radiusKm;
+            this.limit = limit;
+            this.nearest = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), NEAREST_FIRST.reversed());
+        }
+
+        void offer(Point point) {
+            double distance = haversine(latRad, lonRad, cosLat, point.latRad(), point.lonRad(), point.cosLat());
+            if (distance > radiusKm) {
+                return;
+            }
+            found++;
+            Hit hit = new Hit(point.id(), distance);
+            if (nearest.size() < limit) {
+                nearest.add(hit);
+            } else if (NEAREST_FIRST.compare(hit, nearest.peek()) < 0) {
+                nearest.poll();
+                nearest.add(hit);
+            }
+        }
+
+        List<Hit> sorted() {
+            List<Hit> hits = new ArrayList<>(nearest);
+            hits.sort(NEAREST_FIRST);
+            return hits;
+        }
+    }
+}
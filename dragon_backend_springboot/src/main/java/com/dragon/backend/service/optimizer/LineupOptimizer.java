@@ -0,0 +1,285 @@
+package com.dragon.backend.service.optimizer;
+
+import com.dragon.backend.config.LineupOptimizerProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Seats candidates so that left/right weight difference and front/back trim moment are as small as possible.
+ * Side preferences are soft (a violation costs more than any realistic imbalance) so that a result is always
+ * produced; pinned seats are never touched.
+ * <p>
+ * Iterated local search on primitive arrays: each worker starts from its own random seating, applies seat swaps
+ * and bench substitutions that do not make the cost worse (evaluated incrementally in O(1)), and perturbs its
+ * best seating when it stalls. Workers run on a fork-join pool until the deadline; the best seating wins.
+ */
+@Component
+public class LineupOptimizer implements DisposableBean {
+
+    private static final double SIDE_VIOLATION_PENALTY = 10_000;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+    private static final int STALL_LIMIT = 4_000; // Non-improving moves before a worker perturbs its best seating
+    private static final int PERTURBATION_SWAPS = 3;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final Duration deadline;
+    private final double sideWeight;
+    private final double trimWeight;
+
+    public LineupOptimizer(LineupOptimizerProperties properties) {
+        this.parallelism = Math.max(1, properties.getParallelism());
+        this.pool = new ForkJoinPool(parallelism);
+        this.deadline = properties.getDeadline();
+        this.sideWeight = properties.getSideWeight();
+        this.trimWeight = properties.getTrimWeight();
+    }
+
+    public SeatingSolution optimize(SeatingProblem problem) {
+        return optimize(problem, deadline);
+    }
+
+    public SeatingSolution optimize(SeatingProblem problem, Duration timeLimit) {
+        long deadlineNanos = System.nanoTime() + timeLimit.toNanos();
+        long seed = System.nanoTime();
+        return pool.invoke(new SearchTask(problem, deadlineNanos, seed, 0, parallelism));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private final class SearchTask extends RecursiveTask<SeatingSolution> {
+
+        private final SeatingProblem problem;
+        private final long deadlineNanos;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        SearchTask(SeatingProblem problem, long deadlineNanos, long seed, int from, int to) {
+            this.problem = problem;
+            this.deadlineNanos = deadlineNanos;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SeatingSolution compute() {
+            if (to - from == 1) {
+                return new Search(problem, new SplittableRandom(seed + from)).run(deadlineNanos);
+            }
+            int middle = (from + to) >>> 1;
+            SearchTask left = new SearchTask(problem, deadlineNanos, seed, from, middle);
+            left.fork();
+            SeatingSolution right = new SearchTask(problem, deadlineNanos, seed, middle, to).compute();
+            SeatingSolution other = left.join();
+            SeatingSolution best = other.cost() <= right.cost() ? other : right;
+            return new SeatingSolution(best.seats(), best.imbalance(), best.trimMoment(), best.sideViolations(),
+                    best.cost(), other.moves() + right.moves());
+        }
+    }
+
+    private final class Search {
+
+        private final SeatingProblem problem;
+        private final SplittableRandom random;
+        private final double[] weights;
+        private final int[] preferredSides;
+        private final double center;
+        private final int[] occupant; // seat -> candidate or -1
+        private final int[] seatOf; // candidate -> seat or -1
+        private final int[] movableSeats;
+        private final int[] movableCandidates;
+
+        private double left;
+        private double right;
+        private double moment;
+        private int violations;
+
+        Search(SeatingProblem problem, SplittableRandom random) {
+            this.problem = problem;
+            this.random = random;
+            this.weights = problem.weights();
+            this.preferredSides = problem.preferredSides();
+            this.center = (problem.rows() - 1) / 2.0;
+            this.occupant = new int[problem.seats()];
+            this.seatOf = new int[problem.candidates()];
+            Arrays.fill(occupant, -1);
+            Arrays.fill(seatOf, -1);
+
+            int[] pinned = problem.pinned();
+            int movableSeatCount = 0;
+            for (int seat = 0; seat < pinned.length; seat++) {
+                if (pinned[seat] >= 0) {
+                    place(seat, pinned[seat]);
+                } else if (pinned[seat] == SeatingProblem.FREE) {
+                    movableSeatCount++;
+                }
+            }
+            this.movableSeats = new int[movableSeatCount];
+            for (int seat = 0, i = 0; seat < pinned.length; seat++) {
+                if (pinned[seat] == SeatingProblem.FREE) {
+                    movableSeats[i++] = seat;
+                }
+            }
+            this.movableCandidates = new int[problem.candidates() - (int) Arrays.stream(pinned)
+                    .filter(candidate -> candidate >= 0).count()];
+            for (int candidate = 0, i = 0; candidate < seatOf.length; candidate++) {
+                if (seatOf[candidate] < 0) {
+                    movableCandidates[i++] = candidate;
+                }
+            }
+
+            shuffle(movableSeats);
+            shuffle(movableCandidates);
+            for (int i = 0; i < Math.min(movableSeats.length, movableCandidates.length); i++) {
+                place(movableSeats[i], movableCandidates[i]);
+            }
+        }
+
+        SeatingSolution run(long deadlineNanos) {
+            int[] best = occupant.clone();
+            double bestCost = cost();
+            long moves = 0;
+            int stalled = 0;
+            boolean bench = movableCandidates.length > movableSeats.length;
+
+            while (movableSeats.length > 0 && bestCost > 0) {
+                if (moves % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() >= deadlineNanos) {
+                    break;
+                }
+                moves++;
+                double before = cost();
+                int seat = movableSeats[random.nextInt(movableSeats.length)];
+                if (bench && random.nextBoolean()) {
+                    int candidate = movableCandidates[random.nextInt(movableCandidates.length)];
+                    if (seatOf[candidate] >= 0) {
+                        continue;
+                    }
+                    int previous = occupant[seat];
+                    substitute(seat, candidate);
+                    if (cost() > before) {
+                        substitute(seat, previous);
+                    }
+                } else {
+                    int other = movableSeats[random.nextInt(movableSeats.length)];
+                    swap(seat, other);
+                    if (cost() > before) {
+                        swap(seat, other);
+                    }
+                }
+
+                double current = cost();
+                if (current < bestCost - 1e-9) {
+                    bestCost = current;
+                    System.arraycopy(occupant, 0, best, 0, best.length);
+                    stalled = 0;
+                } else if (++stalled >= STALL_LIMIT) {
+                    restore(best);
+                    for (int i = 0; i < PERTURBATION_SWAPS; i++) {
+                        swap(movableSeats[random.nextInt(movableSeats.length)],
+                                movableSeats[random.nextInt(movableSeats.length)]);
+                    }
+                    stalled = 0;
+                }
+            }
+
+            restore(best);
+            return new SeatingSolution(best, left - right, moment, violations, cost(), moves);
+        }
+
+        private double cost() {
+            return sideWeight * Math.abs(left - right) + trimWeight * Math.abs(moment)
+                    + SIDE_VIOLATION_PENALTY * violations;
+        }
+
+        private void swap(int a, int b) {
+            if (a == b) {
+                return;
+            }
+            int first = occupant[a];
+            int second = occupant[b];
+            if (first >= 0) {
+                remove(a);
+            }
+            if (second >= 0) {
+                remove(b);
+                place(a, second);
+            }
+            if (first >= 0) {
+                place(b, first);
+            }
+        }
+
+        // candidate may be -1 to leave the seat empty
+        private void substitute(int seat, int candidate) {
+            if (occupant[seat] >= 0) {
+                remove(seat);
+            }
+            if (candidate >= 0) {
+                place(seat, candidate);
+            }
+        }
+
+        // Recomputed from scratch, which also drops the rounding drift of incremental updates
+        private void restore(int[] seating) {
+            left = 0;
+            right = 0;
+            moment = 0;
+            violations = 0;
+            Arrays.fill(seatOf, -1);
+            for (int seat = 0; seat < seating.length; seat++) {
+                occupant[seat] = -1;
+                if (seating[seat] >= 0) {
+                    place(seat, seating[seat]);
+                }
+            }
+        }
+
+        private void place(int seat, int candidate) {
+            occupant[seat] = candidate;
+            seatOf[candidate] = seat;
+            apply(seat, candidate, 1);
+        }
+
+        private void remove(int seat) {
+            int candidate = occupant[seat];
+            occupant[seat] = -1;
+            seatOf[candidate] = -1;
+            apply(seat, candidate, -1);
+        }
+
+        private void apply(int seat, int candidate, int sign) {
+            double weight = weights[candidate] * sign;
+            int side = problem.sideOf(seat);
+            if (side == SeatingProblem.LEFT) {
+                left += weight;
+            } else {
+                right += weight;
+            }
+            moment += weight * (problem.rowOf(seat) - center);
+            int preferred = preferredSides[candidate];
+            if (preferred != SeatingProblem.ANY_SIDE && preferred != side) {
+                violations += sign;
+            }
+        }
+
+        private void shuffle(int[] values) {
+            for (int i = values.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int value = values[i];
+                values[i] = values[j];
+                values[j] = value;
+            }
+        }
+    }
+}
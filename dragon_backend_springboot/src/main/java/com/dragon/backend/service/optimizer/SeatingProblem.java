@@ -0,0 +1,61 @@
+package com.dragon.backend.service.optimizer;
+
+/**
+ * Input of {@link LineupOptimizer}. Seats are indexed {@code 0..2*rows-1}: left side first, then right, each
+ * from the front row to the back. Candidates are indexed by position in {@code weights}.
+ *
+ * @param rows           seats per side
+ * @param weights        candidate weights, kg
+ * @param preferredSides candidate side preference: {@link #ANY_SIDE}, {@link #LEFT} or {@link #RIGHT}
+ * @param pinned         per seat: a candidate index fixed there, {@link #FREE} or {@link #EMPTY}
+ */
+public record SeatingProblem(int rows, double[] weights, int[] preferredSides, int[] pinned) {
+
+    // Same values as Person.Side
+    public static final int ANY_SIDE = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+
+    public static final int FREE = -1;
+    public static final int EMPTY = -2;
+
+    public SeatingProblem {
+        if (rows < 1) {
+            throw new IllegalArgumentException("A boat needs at least one row");
+        }
+        if (preferredSides.length != weights.length) {
+            throw new IllegalArgumentException("One side preference per candidate is required");
+        }
+        if (pinned.length != 2 * rows) {
+            throw new IllegalArgumentException("One pin entry per seat is required");
+        }
+        boolean[] seen = new boolean[weights.length];
+        for (int candidate : pinned) {
+            if (candidate >= weights.length || candidate < EMPTY) {
+                throw new IllegalArgumentException("Unknown candidate pinned: " + candidate);
+            }
+            if (candidate >= 0) {
+                if (seen[candidate]) {
+                    throw new IllegalArgumentException("Candidate pinned to more than one seat: " + candidate);
+                }
+                seen[candidate] = true;
+            }
+        }
+    }
+
+    public int seats() {
+        return pinned.length;
+    }
+
+    public int candidates() {
+        return weights.length;
+    }
+
+    public int sideOf(int seat) {
+        return seat < rows ? LEFT : RIGHT;
+    }
+
+    public int rowOf(int seat) {
+        return seat % rows;
+    }
+}
@@ -0,0 +1,15 @@
+package com.dragon.backend.service.optimizer;
+
+/**
+ * Output of {@link LineupOptimizer}.
+ *
+ * @param seats          per seat: the candidate index seated there, or -1
+ * @param imbalance      left minus right weight, kg
+ * @param trimMoment     weight times rows behind the boat's middle, kg·row; positive is stern heavy
+ * @param sideViolations candidates seated against their side preference
+ * @param cost           the minimized objective
+ * @param moves          moves evaluated by all workers together
+ */
+public record SeatingSolution(int[] seats, double imbalance, double trimMoment, int sideViolations, double cost,
+                              long moves) {
+}
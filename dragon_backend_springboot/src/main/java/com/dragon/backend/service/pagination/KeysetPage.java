@@ -0,0 +1,17 @@
+package com.dragon.backend.service.pagination;
+
+import com.dragon.backend.dto.common.CursorPageDTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetPage<E>(List<E> items, String next) {
+
+    public <R> CursorPageDTO<R> map(Function<List<E>, List<R>> converter) {
+        return new CursorPageDTO<>(converter.apply(items), next);
+    }
+
+    public CursorPageDTO<E> toDTO() {
+        return new CursorPageDTO<>(items, next);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dragon.backend.service.pagination;
+
+import com.dragon.backend.repository.projection.RowProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cursor-based (keyset) pagination over (sort key, id).
+ * Each page is a "WHERE (key, id) > (:key, :id) ORDER BY key, id LIMIT n" range scan, so the cost of a
+ * page does not grow with the table size or with how deep the client has paged.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    public <E> KeysetPage<E> findPage(Class<E> type, Specification<E> filter, KeysetSort sort,
+                                      String cursor, Integer limit) {
+        return findPage(type, filter, sort, cursor, limit, RowProjection.entity(type));
+    }
+
+    public <E, R> KeysetPage<R> findPage(Class<E> type, Specification<E> filter, KeysetSort sort,
+                                         String cursor, Integer limit, RowProjection<E, R> projection) {
+        int size = pageSize(limit);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+        Path<Comparable<Object>> key = root.get(sort.property());
+        Path<Comparable<Object>> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            Comparable<Object> keyValue = parse(position.key(), key.getJavaType());
+            Comparable<Object> idValue = parse(position.id(), id.getJavaType());
+            predicates.add(sort.ascending()
+                    ? cb.or(cb.greaterThan(key, keyValue), cb.and(cb.equal(key, keyValue), cb.greaterThan(id, idValue)))
+                    : cb.or(cb.lessThan(key, keyValue), cb.and(cb.equal(key, keyValue), cb.lessThan(id, idValue))));
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(projection.select(root));
+        int keyIndex = selectionIndex(selections, key);
+        int idIndex = selectionIndex(selections, id);
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(sort.ascending()
+                        ? List.of(cb.asc(key), cb.asc(id))
+                        : List.of(cb.desc(key), cb.desc(id)));
+
+        // One extra row tells us whether there is a next page
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasMore = rows.size() > size;
+        List<Tuple> page = hasMore ? rows.subList(0, size) : rows;
+
+        List<R> items = new ArrayList<>(page.size());
+        page.forEach(row -> items.add(projection.map(row)));
+
+        String next = null;
+        if (hasMore) {
+            Tuple last = page.get(page.size() - 1);
+            next = new KeysetCursor(String.valueOf(last.get(idIndex)), String.valueOf(last.get(keyIndex))).encode();
+        }
+        return new KeysetPage<>(items, next);
+    }
+
+    public static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Paths are cached per root, so a projection usually already selects the sort key and id
+    private static int selectionIndex(List<Selection<?>> selections, Selection<?> selection) {
+        for (int i = 0; i < selections.size(); i++) {
+            if (selections.get(i) == selection) {
+                return i;
+            }
+        }
+        selections.add(selection);
+        return selections.size() - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parse(String value, Class<?> type) {
+        try {
+            Object parsed;
+            if (type == LocalDateTime.class) {
+                parsed = LocalDateTime.parse(value);
+            } else if (type == UUID.class) {
+                parsed = UUID.fromString(value);
+            } else if (type == Long.class) {
+                parsed = Long.valueOf(value);
+            } else if (type == Integer.class) {
+                parsed = Integer.valueOf(value);
+            } else if (type == Short.class) {
+                parsed = Short.valueOf(value);
+            } else if (type == String.class) {
+                parsed = value;
+            } else {
+                throw new IllegalStateException("Unsupported keyset type: " + type.getName());
+            }
+            return (Comparable<Object>) parsed;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
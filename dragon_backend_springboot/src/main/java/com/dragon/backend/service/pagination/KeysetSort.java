@@ -0,0 +1,29 @@
+package com.dragon.backend.service.pagination;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+/**
+ * Sort key for keyset pagination, parsed from a DRF-style ordering parameter ("startAt", "-createdAt").
+ * The id is always used as tie-breaker, so every sort is stable.
+ */
+public record KeysetSort(String property, boolean ascending) {
+
+    /**
+     * @param allowed properties backed by an index; the first one is the default
+     */
+    public static KeysetSort parse(String ordering, String... allowed) {
+        if (ordering == null || ordering.isBlank()) {
+            return new KeysetSort(allowed[0], true);
+        }
+        boolean descending = ordering.startsWith("-");
+        String property = descending ? ordering.substring(1) : ordering;
+        if (Arrays.stream(allowed).noneMatch(property::equals)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unsupported ordering '" + ordering + "', allowed: " + String.join(", ", allowed));
+        }
+        return new KeysetSort(property, !descending);
+    }
+}
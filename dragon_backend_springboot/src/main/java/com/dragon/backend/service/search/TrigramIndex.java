@@ -0,0 +1,309 @@
+package com.dragon.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over names and phone numbers, for ranked autocomplete.
+ * <p>
+ * Names are lowercased, stripped of accents and split into words. Each word is padded the way pg_trgm pads it
+ * (two spaces before, one after), so leading trigrams mark word starts. A query is split the same way, except its
+ * last word gets no trailing pad: it is usually still being typed. A name's score is the share of the query's
+ * trigrams it contains, which tolerates a typo or two, plus a bonus when the name or one of its words starts with
+ * the query. Phone numbers are indexed by digit trigrams, and a query of digits only matches the phones that
+ * contain it.
+ * <p>
+ * Removed entries only leave a hole behind; a fresh index is cheaper than compacting one. Reads share a lock and
+ * writes take it exclusively.
+ */
+public final class TrigramIndex<K> {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final long PHONE_GRAM = 1L << 62;
+    private static final int MIN_PHONE_DIGITS = 3;
+    private static final int MAX_QUERY_LENGTH = 50; // As long as a name; keeps a query under 128 trigrams
+
+    public record Match<K>(K key, double score) {
+    }
+
+    private record Entry<K>(K key, String name, String[] words, String phoneDigits) {
+    }
+
+    private final double minScore;
+    private final List<Entry<K>> entries = new ArrayList<>();
+    private int[] nameLengths = new int[16]; // By slot, so ties can be ruled out without loading the entry
+    private final Map<K, Integer> slots = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Shared trigrams per slot during a search; a byte keeps the array small enough to stay in cache
+    private final ThreadLocal<byte[]> hitCounts = ThreadLocal.withInitial(() -> new byte[0]);
+
+    /**
+     * @param minScore share of the query's trigrams a name needs to match, unless it starts with the query
+     */
+    public TrigramIndex(double minScore) {
+        this.minScore = minScore;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(K key, String name, String phone) {
+        String normalized = normalize(name);
+        String[] words = normalized.isEmpty() ? new String[0] : normalized.split(" ");
+        String phoneDigits = phone == null ? "" : NON_DIGITS.matcher(phone).replaceAll("");
+        Set<Long> grams = nameGrams(words, true);
+        grams.addAll(phoneGrams(phoneDigits));
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            int slot = entries.size();
+            entries.add(new Entry<>(key, normalized, words, phoneDigits));
+            if (slot == nameLengths.length) {
+                nameLengths = Arrays.copyOf(nameLengths, slot * 2);
+            }
+            nameLengths[slot] = normalized.length();
+            slots.put(key, slot);
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings(4)).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first, at most {@code limit} of them.
+     * <p>
+     * The query's postings are counted into a per-thread array. Most candidates are then ruled out on their count
+     * and name length alone, so only the few that can still make the result are loaded and scored.
+     */
+    public List<Match<K>> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH).trim();
+        }
+        String digits = normalized.replace(" ", "");
+        boolean phoneQuery = digits.chars().allMatch(Character::isDigit);
+        if (phoneQuery && digits.length() < MIN_PHONE_DIGITS) {
+            return List.of();
+        }
+        boolean typing = !Character.isWhitespace(query.charAt(query.length() - 1));
+        String[] words = normalized.split(" ");
+        Set<Long> grams = phoneQuery ? phoneGrams(digits) : nameGrams(words, !typing);
+        int total = grams.size();
+        // A name starting with the first query word has all of that word's leading trigrams
+        int required = phoneQuery ? total
+                : Math.min((int) Math.ceil(minScore * total), nameGrams(new String[]{words[0]}, false).size());
+
+        lock.readLock().lock();
+        try {
+            byte[] counts = hitCounts.get();
+            if (counts.length < entries.size()) {
+                counts = new byte[entries.size() + entries.size() / 4 + 16];
+                hitCounts.set(counts);
+            }
+            int postingCount = 0;
+            for (Long gram : grams) {
+                postingCount += postings.getOrDefault(gram, Postings.EMPTY).size;
+            }
+            Postings touched = new Postings(Math.min(postingCount, entries.size()));
+            for (Long gram : grams) {
+                Postings list = postings.getOrDefault(gram, Postings.EMPTY);
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (counts[slot]++ == 0) {
+                        touched.add(slot);
+                    }
+                }
+            }
+
+            // Ties go to the shorter name, then alphabetically; the heap keeps the worst of the best on top
+            Comparator<Scored> worstFirst = Comparator.comparingDouble(Scored::score)
+                    .thenComparing(Comparator.comparingInt(Scored::length).reversed())
+                    .thenComparing(Scored::name, Comparator.reverseOrder());
+            PriorityQueue<Scored> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, worstFirst);
+            for (int i = 0; i < touched.size; i++) {
+                int slot = touched.slots[i];
+                int shared = counts[slot];
+                counts[slot] = 0;
+                if (shared < required || best.size() == limit
+                        && cannotBeat(best.peek(), maxScore(phoneQuery, shared, total), nameLengths[slot])) {
+                    continue;
+                }
+                Entry<K> entry = entries.get(slot);
+                if (entry == null) {
+                    continue;
+                }
+                double score = phoneQuery
+                        ? phoneScore(entry, digits)
+                        : nameScore(entry, normalized, words, shared, total);
+                if (score <= 0) {
+                    continue;
+                }
+                Scored candidate = new Scored(slot, score, entry.name().length(), entry.name());
+                if (best.size() < limit) {
+                    best.add(candidate);
+                } else if (worstFirst.compare(candidate, best.peek()) > 0) {
+                    best.poll();
+                    best.add(candidate);
+                }
+            }
+
+            Match<K>[] matches = newArray(best.size());
+            for (int i = matches.length - 1; i >= 0; i--) {
+                Scored scored = best.poll();
+                matches[i] = new Match<>(entries.get(scored.slot()).key(), scored.score());
+            }
+            return Arrays.asList(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        // Dotless ı has no decomposition; folded by hand so Turkish names match either spelling
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT).replace('ı', 'i'), Normalizer.Form.NFD);
+        return SEPARATORS.matcher(MARKS.matcher(folded).replaceAll("")).replaceAll(" ").trim();
+    }
+
+    /**
+     * Distinct trigrams of a name, sorted, padded as in the index; for comparing two names directly.
+     */
+    public static long[] trigrams(String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        long[] grams = nameGrams(normalized.split(" "), true).stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(grams);
+        return grams;
+    }
+
+    private double nameScore(Entry<K> entry, String query, String[] words, int shared, int queryGrams) {
+        double score = (double) shared / queryGrams;
+        if (entry.name().startsWith(query)) {
+            return score + 1;
+        }
+        for (String word : entry.words()) {
+            if (word.startsWith(words[0])) {
+                return score + 0.5;
+            }
+        }
+        return score >= minScore ? score : 0;
+    }
+
+    // Every trigram of the digits is there; the digits themselves have to be too
+    private static double phoneScore(Entry<?> entry, String digits) {
+        if (!entry.phoneDigits().contains(digits)) {
+            return 0;
+        }
+        return entry.phoneDigits().startsWith(digits) ? 2 : 1;
+    }
+
+    private void removeLocked(K key) {
+        Integer slot = slots.remove(key);
+        if (slot != null) {
+            entries.set(slot, null);
+        }
+    }
+
+    private static Set<Long> nameGrams(String[] words, boolean padLastWord) {
+        Set<Long> grams = new HashSet<>();
+        for (int w = 0; w < words.length; w++) {
+            String padded = "  " + words[w] + (padLastWord || w < words.length - 1 ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<Long> phoneGrams(String digits) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= digits.length(); i++) {
+            grams.add(PHONE_GRAM | gram(digits.charAt(i), digits.charAt(i + 1), digits.charAt(i + 2)));
+        }
+        return grams;
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Match<K>[] newArray(int size) {
+        return (Match<K>[]) new Match[size];
+    }
+
+    // Starting with the whole query takes all of its trigrams; otherwise a name gets the word prefix bonus at most
+    private static double maxScore(boolean phoneQuery, int shared, int total) {
+        if (phoneQuery) {
+            return 2;
+        }
+        return (double) shared / total + (shared == total ? 1 : 0.5);
+    }
+
+    // Whether a candidate with at most this score, and this name length, would be turned away by the heap anyway
+    private static boolean cannotBeat(Scored worst, double maxScore, int length) {
+        return maxScore < worst.score() || maxScore == worst.score() && length > worst.length();
+    }
+
+    private record Scored(int slot, double score, int length, String name) {
+    }
+
+    // Growable int array of entry slots
+    private static final class Postings {
+
+        static final Postings EMPTY = new Postings(0);
+
+        private int[] slots;
+        private int size;
+
+        Postings(int capacity) {
+            slots = new int[Math.max(4, capacity)];
+        }
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.dragon.backend.util;
+
+import com.dragon.backend.repository.projection.ChangeMarker;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong entity tags for read endpoints, derived from a {@link ChangeMarker} instead of the serialized body, so
+ * an unchanged resource can be answered with 304 before any DTO is assembled.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(String resource, Object key, ChangeMarker marker) {
+        String source = resource + ':' + key + ':' + marker.version() + ':' + marker.rows() + ':'
+                + marker.nestedVersions() + ':' + marker.lastModified();
+        return '"' + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
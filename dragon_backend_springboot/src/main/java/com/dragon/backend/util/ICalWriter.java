@@ -0,0 +1,58 @@
+package com.dragon.backend.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal RFC 5545 content line writer: text values are escaped, lines end with CRLF and are folded at 75 octets.
+ */
+public class ICalWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer writer;
+
+    public ICalWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    // For values that are already in iCalendar syntax: dates, numbers, GEO
+    public void writeProperty(String name, String value) throws IOException {
+        writeLine(name + ':' + value);
+    }
+
+    public void writeText(String name, String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        writeProperty(name, text
+                .replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n"));
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int length = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            // Continuation lines start with a space, which counts towards their 75 octets
+            if (octets + length > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,78 @@
+package com.dragon.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phone numbers are stored as bare digits (see PersonRequestDTO). Imports arrive formatted by hand,
+ * e.g. "+90 (532) 123-45-67" or "0090 532 1234567", so they are reduced to the stored form first.
+ */
+public final class PhoneNumbers {
+
+    private static final int MIN_DIGITS = 10;
+    private static final int MAX_DIGITS = 15;
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Strips formatting and a leading international prefix ("+" or "00"). Returns null when the result
+     * is not 10-15 digits.
+     */
+    public static String normalize(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '+' && digits.isEmpty()) {
+                continue;
+            } else if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+                return null;
+            }
+        }
+        if (digits.length() > MIN_DIGITS && digits.charAt(0) == '0' && digits.charAt(1) == '0') {
+            digits.delete(0, 2);
+        }
+        return digits.length() >= MIN_DIGITS && digits.length() <= MAX_DIGITS ? digits.toString() : null;
+    }
+
+    /**
+     * E.164 form ("+905321234567") of a stored or hand-formatted number, for telling whether two numbers are the
+     * same line. National numbers, with or without the trunk 0, are taken to be in {@code defaultCountryCode};
+     * anything longer than that is taken to carry its own country code. Returns null when the number is unusable.
+     */
+    public static String toE164(String raw, String defaultCountryCode) {
+        String digits = normalize(raw);
+        if (digits == null) {
+            return null;
+        }
+        if (digits.charAt(0) == '0') {
+            return "+" + defaultCountryCode + digits.substring(1);
+        }
+        return digits.length() == MIN_DIGITS ? "+" + defaultCountryCode + digits : "+" + digits;
+    }
+
+    /**
+     * The stored forms a number may have been saved in before imports stored E.164 digits: with the country
+     * code, and for numbers in {@code defaultCountryCode} also national with and without the trunk 0.
+     */
+    public static List<String> storedForms(String e164, String defaultCountryCode) {
+        String digits = e164.substring(1);
+        List<String> forms = new ArrayList<>(3);
+        forms.add(digits);
+        if (digits.startsWith(defaultCountryCode)) {
+            String national = digits.substring(defaultCountryCode.length());
+            if (national.length() >= MIN_DIGITS) {
+                forms.add(national);
+            }
+            if (national.length() + 1 >= MIN_DIGITS) {
+                forms.add("0" + national);
+            }
+        }
+        return forms;
+    }
+}
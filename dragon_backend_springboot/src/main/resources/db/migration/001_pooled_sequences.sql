@@ -0,0 +1,35 @@
+-- Moves lineup, lineup_seat, training and location from IDENTITY columns to pooled sequences
+-- (allocationSize 50) and widens training.id to bigint.
+--
+-- Run once against an existing PostgreSQL database, with the application stopped, before deploying the
+-- version that introduces the sequences. Fresh databases get the same schema from ddl-auto.
+
+BEGIN;
+
+-- Training keys outgrow smallint with bulk season generation
+ALTER TABLE lineup ALTER COLUMN training_id TYPE bigint;
+ALTER TABLE training ALTER COLUMN id TYPE bigint;
+
+-- Ids are now assigned by Hibernate, not by the column default
+ALTER TABLE lineup ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE lineup ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE lineup_seat ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE lineup_seat ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE training ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE training ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE location ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE location ALTER COLUMN id DROP DEFAULT;
+
+-- The increment must equal allocationSize. The pooled optimizer treats each value as the top of a block
+-- (value - 49 .. value], so the first value handed out has to be at least MAX(id) + 50.
+CREATE SEQUENCE IF NOT EXISTS lineup_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS lineup_seat_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS training_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS location_seq INCREMENT BY 50;
+
+SELECT setval('lineup_seq', COALESCE((SELECT MAX(id) FROM lineup), 0) + 50, false);
+SELECT setval('lineup_seat_seq', COALESCE((SELECT MAX(id) FROM lineup_seat), 0) + 50, false);
+SELECT setval('training_seq', COALESCE((SELECT MAX(id) FROM training), 0) + 50, false);
+SELECT setval('location_seq', COALESCE((SELECT MAX(id) FROM location), 0) + 50, false);
+
+COMMIT;
@@ -0,0 +1,40 @@
+-- Adds the incrementally maintained balance totals to lineup (see LineupBalance).
+--
+-- Existing lineups get their totals backfilled from their seats here, so reads never have to rebuild them.
+-- Run with the application stopped. Fresh databases get the same schema from ddl-auto.
+
+BEGIN;
+
+ALTER TABLE lineup
+    ADD COLUMN IF NOT EXISTS balance_left_weight integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS balance_right_weight integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS balance_weighted_seats bigint DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS balance_seats integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS balance_empty_seats integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS balance_unknown_weights integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS balance_stale boolean DEFAULT false NOT NULL;
+
+-- Lineups without seats keep the zero defaults
+UPDATE lineup l SET
+    balance_left_weight = t.left_weight,
+    balance_right_weight = t.right_weight,
+    balance_weighted_seats = t.weighted_seats,
+    balance_seats = t.seats,
+    balance_empty_seats = t.empty_seats,
+    balance_unknown_weights = t.unknown_weights,
+    balance_stale = false
+FROM (
+    SELECT s.lineup_id,
+           COALESCE(SUM(CASE WHEN s.side = 'L' THEN p.weight ELSE 0 END), 0) AS left_weight,
+           COALESCE(SUM(CASE WHEN s.side = 'R' THEN p.weight ELSE 0 END), 0) AS right_weight,
+           COALESCE(SUM(CAST(p.weight AS integer) * s.seat_number), 0) AS weighted_seats,
+           COUNT(s.id) AS seats,
+           COUNT(s.id) - COUNT(s.person_id) AS empty_seats,
+           COUNT(s.person_id) - COUNT(p.weight) AS unknown_weights
+    FROM lineup_seat s
+    LEFT JOIN person p ON p.id = s.person_id
+    GROUP BY s.lineup_id
+) t
+WHERE l.id = t.lineup_id;
+
+COMMIT;
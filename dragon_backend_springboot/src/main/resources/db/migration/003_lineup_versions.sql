@@ -0,0 +1,20 @@
+-- Adds optimistic-locking versions to lineup and lineup_seat, and makes the seat uniqueness constraints
+-- deferrable so seat swaps can be checked at commit (see LineupSeatBulkRepository.deferSeatConstraints).
+--
+-- INITIALLY IMMEDIATE keeps today's behaviour for every other statement. Fresh databases created by ddl-auto
+-- get non-deferrable constraints; run the constraint part there too to enable deferred swaps.
+
+BEGIN;
+
+ALTER TABLE lineup ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE lineup_seat ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+ALTER TABLE lineup_seat
+    DROP CONSTRAINT IF EXISTS uq_lineup_side_seat,
+    ADD CONSTRAINT uq_lineup_side_seat UNIQUE (lineup_id, side, seat_number) DEFERRABLE INITIALLY IMMEDIATE;
+
+ALTER TABLE lineup_seat
+    DROP CONSTRAINT IF EXISTS uq_lineup_person_once,
+    ADD CONSTRAINT uq_lineup_person_once UNIQUE (lineup_id, person_id) DEFERRABLE INITIALLY IMMEDIATE;
+
+COMMIT;
@@ -0,0 +1,26 @@
+-- Adds the RSVP totals to training (see RsvpCounts) and the RSVP table behind them.
+--
+-- No training has RSVPs yet, so the totals start at zero. Fresh databases get the same schema from ddl-auto.
+
+BEGIN;
+
+ALTER TABLE training
+    ADD COLUMN IF NOT EXISTS rsvp_yes integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS rsvp_maybe integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS rsvp_no integer DEFAULT 0 NOT NULL;
+
+CREATE SEQUENCE IF NOT EXISTS training_rsvp_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS training_rsvp (
+    id bigint PRIMARY KEY,
+    training_id bigint NOT NULL REFERENCES training (id),
+    person_id uuid NOT NULL REFERENCES person (id),
+    response smallint NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    CONSTRAINT uq_rsvp_training_person UNIQUE (training_id, person_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rsvp_person ON training_rsvp (person_id);
+
+COMMIT;
@@ -0,0 +1,20 @@
+-- Adds the sum of seat numbers to the lineup balance totals (see LineupBalance), so the trim moment is taken
+-- around the middle of the lineup's own seats rather than a configured boat length.
+--
+-- Run with the application stopped. Fresh databases get the same schema from ddl-auto.
+
+BEGIN;
+
+ALTER TABLE lineup
+    ADD COLUMN IF NOT EXISTS balance_seat_numbers bigint DEFAULT 0 NOT NULL;
+
+-- Lineups without seats keep the zero default
+UPDATE lineup l SET balance_seat_numbers = t.seat_numbers
+FROM (
+    SELECT lineup_id, SUM(CAST(seat_number AS bigint)) AS seat_numbers
+    FROM lineup_seat
+    GROUP BY lineup_id
+) t
+WHERE l.id = t.lineup_id;
+
+COMMIT;
@@ -0,0 +1,88 @@
+package com.dragon.backend.benchmark;
+
+import com.dragon.backend.service.geo.GeoGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby queries over 100k locations: the grid behind LocationIndex against scanning every location.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=GeoGridBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoGridBenchmark {
+
+    private static final int LOCATIONS = 100_000;
+    private static final int QUERIES = 1024;
+
+    private GeoGrid grid;
+    private double[] lats;
+    private double[] lons;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        grid = new GeoGrid(0.1);
+        lats = new double[LOCATIONS];
+        lons = new double[LOCATIONS];
+        // Clustered around a few dozen cities, as clubs are
+        double[][] cities = new double[40][];
+        for (int i = 0; i < cities.length; i++) {
+            cities[i] = new double[]{random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180};
+        }
+        for (int id = 0; id < LOCATIONS; id++) {
+            double[] city = cities[random.nextInt(cities.length)];
+            lats[id] = Math.max(-90, Math.min(90, city[0] + random.nextGaussian() * 0.5));
+            lons[id] = city[1] + random.nextGaussian() * 0.5;
+            lons[id] = lons[id] >= 180 ? lons[id] - 360 : lons[id] < -180 ? lons[id] + 360 : lons[id];
+            grid.put(id, lats[id], lons[id]);
+        }
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            int around = random.nextInt(LOCATIONS);
+            queries[i] = new double[]{lats[around], lons[around]};
+        }
+    }
+
+    @Benchmark
+    public List<GeoGrid.Hit> within10Km() {
+        double[] query = nextQuery();
+        return grid.within(query[0], query[1], 10, 50);
+    }
+
+    @Benchmark
+    public List<GeoGrid.Hit> nearest20() {
+        double[] query = nextQuery();
+        return grid.nearest(query[0], query[1], 20, 500);
+    }
+
+    @Benchmark
+    public List<GeoGrid.Hit> scanWithin10Km() {
+        double[] query = nextQuery();
+        List<GeoGrid.Hit> hits = new ArrayList<>();
+        for (int id = 0; id < LOCATIONS; id++) {
+            double distance = GeoGrid.distanceKm(query[0], query[1], lats[id], lons[id]);
+            if (distance <= 10) {
+                hits.add(new GeoGrid.Hit(id, distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(GeoGrid.Hit::distanceKm));
+        return hits.subList(0, Math.min(50, hits.size()));
+    }
+
+    private double[] nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return queries[next];
+    }
+}
@@ -0,0 +1,58 @@
+package com.dragon.backend.benchmark;
+
+import com.dragon.backend.config.JwtProperties;
+import com.dragon.backend.model.User;
+import com.dragon.backend.security.JwtPrincipal;
+import com.dragon.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: issuing a token, verifying it, and building the principal from it.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-key-that-is-at-least-256-bits!!");
+        properties.setKeyId("k2");
+        properties.getVerificationKeys().put("k1", "retired-benchmark-secret-key-at-least-256-bits");
+        properties.setExpiration(900_000L);
+        properties.setRefreshExpiration(604_800_000L);
+        jwtService = new JwtService(properties);
+
+        user = User.builder().id(UUID.randomUUID()).username("paddler").email("paddler@example.com")
+                .password("x").isStaff(false).isSuperuser(false).isActive(true).build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal validate() {
+        return jwtService.parseAccessToken(token);
+    }
+}
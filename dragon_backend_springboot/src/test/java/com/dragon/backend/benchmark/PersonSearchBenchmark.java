@@ -0,0 +1,50 @@
+package com.dragon.backend.benchmark;
+
+import com.dragon.backend.service.search.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roster autocomplete over 100k persons: typed prefixes, a misspelt full name and a phone fragment.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=PersonSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonSearchBenchmark {
+
+    private static final int PERSONS = 100_000;
+    private static final String[] FIRST_NAMES = {"Ayşe", "Mehmet", "Zeynep", "Mustafa", "Elif", "Ahmet", "Emine",
+            "Ali", "Fatma", "Hüseyin", "Anna", "Ben", "Carla", "David", "Eva", "Felix", "Greta", "Hugo", "Ida", "Jonas"};
+    private static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım",
+            "Öztürk", "Aydın", "Özdemir", "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Müller", "Schmidt", "Smith",
+            "Johnson", "Brown"};
+
+    @Param({"a", "meh", "mehmet yil", "zeynep yildrim", "4455"})
+    private String query;
+
+    private TrigramIndex<Integer> index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex<>(0.5);
+        for (int id = 0; id < PERSONS; id++) {
+            // A suffix keeps the names apart, as middle names and initials do in a real roster
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + Integer.toString(id, 36);
+            index.put(id, name, String.format("5%09d", random.nextInt(1_000_000_000)));
+        }
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match<Integer>> search() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,157 @@
+package com.dragon.backend.benchmark;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.TrainingRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.repository.projection.ResponseProjections;
+import com.dragon.backend.service.DtoAssembler;
+import com.dragon.backend.service.LineupBalanceService;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training reads on H2, loading entities and assembling the DTO against selecting the DTO columns with
+ * ResponseProjections, for get-by-id and for a team's first page. The gc profiler reports the allocation per read.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ProjectionReadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionReadBenchmark {
+
+    private static final int TEAMS = 50;
+    private static final int TRAININGS_PER_TEAM = 40;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private TrainingRepository trainingRepository;
+    private DtoAssembler dtoAssembler;
+    private ProjectionQueries projectionQueries;
+    private KeysetPager keysetPager;
+    private List<Long> trainingIds;
+    private List<UUID> teamIds;
+    private int next;
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+            ConfigurationPropertiesAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Training.class)
+    @EnableJpaRepositories(basePackageClasses = TrainingRepository.class)
+    @Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class,
+            LineupBalanceService.class, LineupBalanceRepository.class, ProjectionQueries.class, KeysetPager.class})
+    static class Reads {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Reads.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        trainingRepository = context.getBean(TrainingRepository.class);
+        dtoAssembler = context.getBean(DtoAssembler.class);
+        projectionQueries = context.getBean(ProjectionQueries.class);
+        keysetPager = context.getBean(KeysetPager.class);
+
+        trainingIds = new ArrayList<>();
+        teamIds = new ArrayList<>();
+        // The shared EntityManager proxy, bound to each transaction
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            for (int t = 0; t < TEAMS; t++) {
+                Team team = Team.builder().name("Team " + t).maxMembers(22).build();
+                entityManager.persist(team);
+                Location location = Location.builder().team(team).name("Lake " + t).lat(41.0).lon(29.0).build();
+                entityManager.persist(location);
+                for (int i = 0; i < TRAININGS_PER_TEAM; i++) {
+                    Training training = Training.builder().team(team).location(location)
+                            .startAt(start.plusHours(i * 24L)).build();
+                    entityManager.persist(training);
+                    trainingIds.add(training.getId());
+                }
+                teamIds.add(team.getId());
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TrainingResponseDTO getByIdEntity() {
+        Long id = trainingIds.get(next++ % trainingIds.size());
+        return readOnly.execute(status -> dtoAssembler.toTrainingDTO(trainingRepository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public TrainingResponseDTO getByIdProjection() {
+        Long id = trainingIds.get(next++ % trainingIds.size());
+        return readOnly.execute(status ->
+                projectionQueries.findById(Training.class, id, ResponseProjections.training()).orElseThrow());
+    }
+
+    @Benchmark
+    public CursorPageDTO<TrainingResponseDTO> listEntity() {
+        Specification<Training> filter = nextTeamFilter();
+        return readOnly.execute(status -> keysetPager.findPage(Training.class, filter,
+                        KeysetSort.parse(null, "startAt", "createdAt"), null, KeysetPager.DEFAULT_PAGE_SIZE)
+                .map(dtoAssembler::toTrainingDTOs));
+    }
+
+    @Benchmark
+    public CursorPageDTO<TrainingResponseDTO> listProjection() {
+        Specification<Training> filter = nextTeamFilter();
+        return readOnly.execute(status -> keysetPager.findPage(Training.class, filter,
+                        KeysetSort.parse(null, "startAt", "createdAt"), null, KeysetPager.DEFAULT_PAGE_SIZE,
+                        ResponseProjections.training())
+                .toDTO());
+    }
+
+    private Specification<Training> nextTeamFilter() {
+        UUID teamId = teamIds.get(next++ % teamIds.size());
+        return (root, query, cb) -> cb.equal(root.get("team").get("id"), teamId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dragon.backend.repository;
+
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Season generation: inserting trainings in bulk must batch (sequence ids, jdbc.batch_size = 50).
+ * The assertion is on round trips, which does not depend on the machine.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class BatchInsertThroughputTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void trainingInsertsAreBatched() {
+        Team team = Team.builder().name("Season team").maxMembers(22).build();
+        entityManager.persist(team);
+        Location location = Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build();
+        entityManager.persist(location);
+        entityManager.flush();
+
+        List<Training> season = new ArrayList<>(ROWS);
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            season.add(Training.builder().team(team).location(location).startAt(start.plusHours(i)).build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        trainingRepository.saveAll(season);
+        entityManager.flush();
+
+        assertThat(season).allSatisfy(training -> assertThat(training.getId()).isNotNull());
+        // One sequence call per 50 ids plus one statement per 50-row batch, instead of one insert per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 * ROWS / 50 + 2);
+    }
+}
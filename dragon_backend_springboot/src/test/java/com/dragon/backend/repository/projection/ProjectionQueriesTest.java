@@ -0,0 +1,98 @@
+package com.dragon.backend.repository.projection;
+
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.dragon.backend.service.pagination.KeysetSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, ProjectionQueries.class, KeysetPager.class})
+class ProjectionQueriesTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private ProjectionQueries projectionQueries;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstTrainingId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Team team = Team.builder().name("Team " + i).maxMembers(22).build();
+            entityManager.persist(team);
+            Location location = Location.builder().team(team).name("Lake " + i).lat(41.0 + i).lon(29.0).build();
+            entityManager.persist(location);
+            Training training = Training.builder().team(team).location(location)
+                    .startAt(LocalDateTime.now().plusDays(i)).build();
+            entityManager.persist(training);
+            if (firstTrainingId == null) {
+                firstTrainingId = training.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdReadsOneRowWithoutManagedEntities() {
+        TrainingResponseDTO dto = projectionQueries.findById(Training.class, firstTrainingId, ResponseProjections.training())
+                .orElseThrow();
+
+        assertThat(dto.getTeam().getName()).isEqualTo("Team 0");
+        assertThat(dto.getLocation().getName()).isEqualTo("Lake 0");
+        assertThat(dto.getLocation().getTeam().getId()).isEqualTo(dto.getTeam().getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void keysetPageProjectsRows() {
+        CursorPageDTO<TrainingResponseDTO> first = keysetPager.findPage(Training.class, null,
+                KeysetSort.parse(null, "startAt"), null, 20, ResponseProjections.training()).toDTO();
+        CursorPageDTO<TrainingResponseDTO> second = keysetPager.findPage(Training.class, null,
+                KeysetSort.parse(null, "startAt"), first.getNext(), 20, ResponseProjections.training()).toDTO();
+
+        assertThat(first.getResults()).hasSize(20);
+        assertThat(second.getResults()).hasSize(ROWS - 20);
+        assertThat(second.getNext()).isNull();
+        assertThat(second.getResults().get(0).getStartAt()).isAfter(first.getResults().get(19).getStartAt());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
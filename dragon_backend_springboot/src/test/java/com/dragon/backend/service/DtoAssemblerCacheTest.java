@@ -0,0 +1,123 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.TrainingRepository;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Caches are only written on commit, so these tests manage their own transactions
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class,
+        LineupBalanceService.class, LineupBalanceRepository.class, LineupOptimizerProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DtoAssemblerCacheTest {
+
+    private static final int ROWS = 10;
+
+    @Autowired
+    private DtoAssembler dtoAssembler;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                Team team = Team.builder().name("Cached team " + i).maxMembers(22).build();
+                entityManager.persist(team);
+                Location location = Location.builder().team(team).name("Lake " + i).lat(41.0).lon(29.0).build();
+                entityManager.persist(location);
+                entityManager.persist(Training.builder().team(team).location(location)
+                        .startAt(LocalDateTime.now().plusDays(i)).build());
+            }
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Training").executeUpdate();
+            entityManager.createQuery("delete from Location").executeUpdate();
+            entityManager.createQuery("delete from Team").executeUpdate();
+        });
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void warmCachesServeNestedTeamsAndLocations() {
+        List<TrainingResponseDTO> cold = transaction.execute(status -> dtoAssembler.toTrainingDTOs(trainingRepository.findAll()));
+        // trainings, locations, teams
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        statistics.clear();
+        List<TrainingResponseDTO> warm = transaction.execute(status -> dtoAssembler.toTrainingDTOs(trainingRepository.findAll()));
+
+        // trainings only
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(warm).usingRecursiveFieldByFieldElementComparator().containsExactlyInAnyOrderElementsOf(cold);
+    }
+
+    @Test
+    void evictedEntriesAreReloaded() {
+        transaction.executeWithoutResult(status -> dtoAssembler.toTrainingDTOs(trainingRepository.findAll()));
+        cacheManager.getCache(CacheConfig.LOCATIONS).clear();
+
+        statistics.clear();
+        transaction.executeWithoutResult(status -> dtoAssembler.toTrainingDTOs(trainingRepository.findAll()));
+
+        // trainings, locations; the location teams are still cached
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,152 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupResponseDTO;
+import com.dragon.backend.dto.lineup.LineupSeatResponseDTO;
+import com.dragon.backend.dto.membership.MembershipResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class,
+        LineupBalanceService.class, LineupBalanceRepository.class, LineupOptimizerProperties.class})
+class DtoAssemblerTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private DtoAssembler dtoAssembler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private LineupRepository lineupRepository;
+
+    @Autowired
+    private LineupSeatRepository lineupSeatRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Team team = persist(Team.builder().name("Team " + i).maxMembers(22).build());
+            Location location = persist(Location.builder().team(team).name("Lake " + i).lat(41.0 + i).lon(29.0).build());
+            Training training = persist(Training.builder().team(team).location(location)
+                    .startAt(LocalDateTime.now().plusDays(i)).build());
+            Lineup lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+            Person person = persist(Person.builder().name("Paddler " + i).phone("55500000" + String.format("%02d", i))
+                    .side(Person.Side.BOTH).build());
+            persist(LineupSeat.builder().lineup(lineup).person(person).side(LineupSeat.Side.L)
+                    .seatNumber((short) 1).build());
+            persist(Membership.builder().person(person).team(team).role(Membership.Role.PLAYER).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void trainingListUsesFixedNumberOfStatements() {
+        List<TrainingResponseDTO> dtos = dtoAssembler.toTrainingDTOs(trainingRepository.findAll());
+
+        assertThat(dtos).hasSize(ROWS);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getTeam().getName()).startsWith("Team ");
+            assertThat(dto.getLocation().getTeam()).isSameAs(dto.getTeam());
+        });
+        // trainings, locations, teams
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void lineupListUsesFixedNumberOfStatements() {
+        List<LineupResponseDTO> dtos = dtoAssembler.toLineupDTOs(lineupRepository.findAll());
+
+        assertThat(dtos).hasSize(ROWS);
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getTraining().getLocation()).isNotNull());
+        // lineups, trainings, locations, teams
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void lineupSeatListUsesFixedNumberOfStatements() {
+        List<LineupSeatResponseDTO> dtos = dtoAssembler.toLineupSeatDTOs(lineupSeatRepository.findAll());
+
+        assertThat(dtos).hasSize(ROWS);
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getPerson().getName()).startsWith("Paddler "));
+        // seats, persons
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void membershipListUsesFixedNumberOfStatements() {
+        List<MembershipResponseDTO> dtos = dtoAssembler.toMembershipDTOs(membershipRepository.findAll());
+
+        assertThat(dtos).hasSize(ROWS);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getPerson()).isNotNull();
+            assertThat(dto.getTeam()).isNotNull();
+        });
+        // memberships, persons, teams
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void fullLineupIsOneStatement() {
+        Long lineupId = lineupRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        LineupFullResponseDTO dto = dtoAssembler.toLineupFullDTO(lineupRepository.findFullById(lineupId).orElseThrow());
+
+        assertThat(dto.getTraining().getLocation().getTeam()).isNotNull();
+        assertThat(dto.getLeft()).hasSize(1);
+        assertThat(dto.getLeft().get(0).getPerson().getName()).startsWith("Paddler ");
+        assertThat(dto.getRight()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.JwtProperties;
+import com.dragon.backend.model.User;
+import com.dragon.backend.security.JwtPrincipal;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String OLD_SECRET = "test-secret-key-that-is-at-least-256-bits-long!!";
+    private static final String NEW_SECRET = "rotated-secret-key-that-is-at-least-256-bits-long";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(properties("k1", OLD_SECRET));
+
+        user = User.builder().id(UUID.randomUUID()).username("coach").email("coach@example.com")
+                .password("x").isStaff(true).isSuperuser(false).isActive(true).build();
+    }
+
+    @Test
+    void accessTokenCarriesIdentityAndRoles() {
+        JwtPrincipal principal = jwtService.parseAccessToken(jwtService.generateToken(user));
+
+        assertThat(principal.id()).isEqualTo(user.getId());
+        assertThat(principal.getName()).isEqualTo("coach");
+        assertThat(principal.authorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_STAFF");
+    }
+
+    @Test
+    void refreshTokenIsNotAnAccessToken() {
+        String refresh = jwtService.generateRefreshToken(user.getUsername());
+
+        assertThat(jwtService.parseClaims(refresh).getSubject()).isEqualTo("coach");
+        assertThatThrownBy(() -> jwtService.parseAccessToken(refresh)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.parseAccessToken(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void rotatedKeyStillVerifiesTokensSignedWithRetiredKey() {
+        String oldToken = jwtService.generateToken(user);
+        JwtProperties rotated = properties("k2", NEW_SECRET);
+        rotated.getVerificationKeys().put("k1", OLD_SECRET);
+        JwtService rotatedService = new JwtService(rotated);
+
+        assertThat(rotatedService.parseAccessToken(oldToken).id()).isEqualTo(user.getId());
+        assertThat(rotatedService.parseAccessToken(rotatedService.generateToken(user)).id()).isEqualTo(user.getId());
+        // Once the retired key is dropped its tokens are rejected
+        assertThatThrownBy(() -> new JwtService(properties("k2", NEW_SECRET)).parseAccessToken(oldToken))
+                .isInstanceOf(JwtException.class);
+    }
+
+    private static JwtProperties properties(String keyId, String secret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setKeyId(keyId);
+        properties.setSecret(secret);
+        properties.setExpiration(60_000L);
+        properties.setRefreshExpiration(120_000L);
+        return properties;
+    }
+}
@@ -0,0 +1,266 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.PersonSearchProperties;
+import com.dragon.backend.dto.lineup.LineupBalanceDTO;
+import com.dragon.backend.dto.lineup.LineupSeatAssignmentDTO;
+import com.dragon.backend.dto.lineup.LineupSeatRequestDTO;
+import com.dragon.backend.dto.lineup.LineupSeatResponseDTO;
+import com.dragon.backend.dto.lineup.LineupSeatsRequestDTO;
+import com.dragon.backend.dto.person.PersonRequestDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.LineupRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, LineupSeatBulkRepository.class, LineupEventPublisher.class,
+        LineupService.class, LineupSeatService.class, PersonService.class, PersonSearchProperties.class,
+        PersonSearchIndex.class, LineupBalanceTest.StatementCounter.class})
+class LineupBalanceTest {
+
+    /**
+     * Counts every statement prepared on the test DataSource. Hibernate statistics only see JPA statements, while
+     * the balance queries go through JdbcTemplate.
+     */
+    @TestConfiguration
+    static class StatementCounter implements BeanPostProcessor {
+
+        static final AtomicInteger PREPARED = new AtomicInteger();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return counting(super.getConnection());
+                }
+            };
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                            PREPARED.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    @Autowired
+    private LineupSeatService lineupSeatService;
+
+    @Autowired
+    private LineupService lineupService;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private LineupBalanceService lineupBalanceService;
+
+    @Autowired
+    private LineupBalanceRepository lineupBalanceRepository;
+
+    @Autowired
+    private LineupRepository lineupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lineup lineup;
+    private Person anna;
+    private Person ben;
+    private Person cem;
+
+    @BeforeEach
+    void setUp() {
+        Team team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+        Location location = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+        Training training = persist(Training.builder().team(team).location(location)
+                .startAt(LocalDateTime.now().plusDays(1)).build());
+        lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+        anna = persist(person("Anna", "5550000001", (short) 60));
+        ben = persist(person("Ben", "5550000002", (short) 80));
+        cem = persist(person("Cem", "5550000003", null));
+        entityManager.flush();
+    }
+
+    @Test
+    void seatEditsAdjustTheTotals() {
+        lineupSeatService.createLineupSeat(seat(LineupSeat.Side.L, 1, anna));
+        LineupSeatResponseDTO benSeat = lineupSeatService.createLineupSeat(seat(LineupSeat.Side.R, 1, ben));
+        LineupSeatResponseDTO empty = lineupSeatService.createLineupSeat(seat(LineupSeat.Side.L, 2, null));
+        lineupSeatService.createLineupSeat(seat(LineupSeat.Side.R, 2, cem));
+        entityManager.flush();
+
+        LineupBalanceDTO balance = lineupBalanceService.getBalance(lineup.getId());
+        assertThat(balance.getLeftWeight()).isEqualTo(60);
+        assertThat(balance.getRightWeight()).isEqualTo(80);
+        assertThat(balance.getImbalance()).isEqualTo(-20);
+        assertThat(balance.getSeats()).isEqualTo(4);
+        assertThat(balance.getEmptySeats()).isEqualTo(1);
+        assertThat(balance.getUnknownWeights()).isEqualTo(1);
+        assertMatchesSeats();
+
+        lineupSeatService.updateLineupSeat(benSeat.getId(), seat(LineupSeat.Side.L, 5, ben));
+        lineupSeatService.deleteLineupSeat(empty.getId());
+        entityManager.flush();
+
+        balance = lineupBalanceService.getBalance(lineup.getId());
+        assertThat(balance.getLeftWeight()).isEqualTo(140);
+        assertThat(balance.getRightWeight()).isZero();
+        assertThat(balance.getEmptySeats()).isZero();
+        // 60 kg on seat 1 and 80 kg on seat 5, around the middle of the seats left (1, 5 and 2)
+        assertThat(balance.getTrimMoment()).isEqualTo(60 * 1 + 80 * 5 - (8 / 3.0) * 140);
+        assertMatchesSeats();
+    }
+
+    @Test
+    void weightChangeMarksTheLineupStaleUntilRebuilt() {
+        lineupSeatService.createLineupSeat(seat(LineupSeat.Side.L, 1, anna));
+        lineupSeatService.createLineupSeat(seat(LineupSeat.Side.R, 1, ben));
+        entityManager.flush();
+
+        personService.updatePerson(anna.getId(), PersonRequestDTO.builder()
+                .name("Anna").phone(anna.getPhone()).weight((short) 65).side(Person.Side.BOTH).build());
+        entityManager.flush();
+        assertThat(lineupBalanceRepository.findBalance(lineup.getId()).orElseThrow().isStale()).isTrue();
+
+        entityManager.clear();
+        assertThat(lineupService.getLineupById(lineup.getId()).getBalance().getLeftWeight()).isEqualTo(65);
+        assertThat(lineupBalanceService.getBalance(lineup.getId()).getLeftWeight()).isEqualTo(65);
+        assertThat(lineupBalanceRepository.findBalance(lineup.getId()).orElseThrow().isStale()).isFalse();
+    }
+
+    @Test
+    void wholeBoatReplaceRebuildsTheTotals() {
+        lineupSeatService.createLineupSeat(seat(LineupSeat.Side.L, 1, anna));
+        entityManager.flush();
+
+        lineupService.replaceSeats(lineup.getId(), new LineupSeatsRequestDTO(List.of(
+                new LineupSeatAssignmentDTO(LineupSeat.Side.R, (short) 1, anna.getId()),
+                new LineupSeatAssignmentDTO(LineupSeat.Side.R, (short) 2, ben.getId()))));
+
+        LineupBalanceDTO balance = lineupBalanceService.getBalance(lineup.getId());
+        assertThat(balance.getLeftWeight()).isZero();
+        assertThat(balance.getRightWeight()).isEqualTo(140);
+        assertMatchesSeats();
+    }
+
+    @Test
+    void trimIsTakenAroundTheMiddleOfTheBoatsOwnSeats() {
+        // A 6-row boat: Anna in the bow, Ben in the stern, everything else empty
+        List<LineupSeatAssignmentDTO> seats = new ArrayList<>();
+        for (short row = 1; row <= 6; row++) {
+            seats.add(new LineupSeatAssignmentDTO(LineupSeat.Side.L, row, row == 1 ? anna.getId() : null));
+            seats.add(new LineupSeatAssignmentDTO(LineupSeat.Side.R, row, row == 6 ? ben.getId() : null));
+        }
+        lineupService.replaceSeats(lineup.getId(), new LineupSeatsRequestDTO(seats));
+
+        LineupBalanceDTO balance = lineupBalanceService.getBalance(lineup.getId());
+        assertThat(balance.getSeats()).isEqualTo(12);
+        assertThat(balance.getTrimMoment()).isEqualTo(60 * 1 + 80 * 6 - 3.5 * 140);
+        assertMatchesSeats();
+    }
+
+    @Test
+    void stalePageIsComputedWithOneStatementAndNotWritten() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Training training = persist(Training.builder().team(lineup.getTraining().getTeam())
+                    .location(lineup.getTraining().getLocation()).startAt(LocalDateTime.now().plusDays(2 + i)).build());
+            Lineup other = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+            persist(LineupSeat.builder().lineup(other).side(LineupSeat.Side.L).seatNumber((short) 1).person(anna).build());
+            persist(LineupSeat.builder().lineup(other).side(LineupSeat.Side.R).seatNumber((short) 1).person(ben).build());
+            ids.add(other.getId());
+        }
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE lineup SET balance_stale = TRUE");
+        entityManager.clear();
+        List<Lineup> page = lineupRepository.findAllById(ids);
+
+        StatementCounter.PREPARED.set(0);
+        Map<Long, LineupBalanceDTO> balances = lineupBalanceService.toDTOs(page);
+        // One grouped query for the whole page, no locks and no writes
+        assertThat(StatementCounter.PREPARED.get()).isEqualTo(1);
+        assertThat(balances.values()).allSatisfy(balance -> {
+            assertThat(balance.getLeftWeight()).isEqualTo(60);
+            assertThat(balance.getRightWeight()).isEqualTo(80);
+        });
+        assertThat(lineupBalanceRepository.findBalance(ids.get(0)).orElseThrow().isStale()).isTrue();
+    }
+
+    private void assertMatchesSeats() {
+        LineupBalance stored = lineupBalanceRepository.findBalance(lineup.getId()).orElseThrow();
+        LineupBalance computed = lineupBalanceRepository.computeBalances(List.of(lineup.getId())).get(lineup.getId());
+        assertThat(stored).usingRecursiveComparison().isEqualTo(computed);
+    }
+
+    private LineupSeatRequestDTO seat(LineupSeat.Side side, int seatNumber, Person person) {
+        return LineupSeatRequestDTO.builder()
+                .lineupId(lineup.getId())
+                .side(side)
+                .seatNumber((short) seatNumber)
+                .personId(person != null ? person.getId() : null)
+                .build();
+    }
+
+    private static Person person(String name, String phone, Short weight) {
+        return Person.builder().name(name).phone(phone).weight(weight).side(Person.Side.BOTH).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
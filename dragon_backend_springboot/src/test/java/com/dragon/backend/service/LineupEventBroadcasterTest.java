@@ -0,0 +1,211 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupEventsProperties;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.dto.lineup.LineupEventDTO;
+import com.dragon.backend.dto.lineup.LineupSeatPositionDTO;
+import com.dragon.backend.dto.lineup.LineupSeatSwapRequestDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.LineupRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.repository.TeamRepository;
+import com.dragon.backend.service.pagination.KeysetPager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        LineupBalanceService.class, LineupBalanceRepository.class, LineupOptimizerProperties.class,
+        LineupSeatBulkRepository.class, LineupEventPublisher.class, LineupService.class})
+@RecordApplicationEvents
+class LineupEventBroadcasterTest {
+
+    @Autowired
+    private LineupService lineupService;
+
+    @Autowired
+    private LineupRepository lineupRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LineupEventsProperties properties = new LineupEventsProperties();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private LineupEventBroadcaster broadcaster;
+    private Team team;
+    private Lineup lineup;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBufferSize(4);
+        properties.setMaxSubscribers(3);
+        broadcaster = new LineupEventBroadcaster(properties, lineupRepository, teamRepository,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry()) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+
+        team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+        Location location = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+        Training training = persist(Training.builder().team(team).location(location)
+                .startAt(LocalDateTime.now().plusDays(1)).build());
+        lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+        Person anna = persist(Person.builder().name("Anna").phone("5550000001").side(Person.Side.BOTH).build());
+        persist(LineupSeat.builder().lineup(lineup).person(anna).side(LineupSeat.Side.L).seatNumber((short) 1).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        broadcaster.destroy();
+    }
+
+    @Test
+    void seatChangesRaiseOneEventWithTheTeam() {
+        lineupService.swapSeats(lineup.getId(), new LineupSeatSwapRequestDTO(
+                new LineupSeatPositionDTO(LineupSeat.Side.L, (short) 1),
+                new LineupSeatPositionDTO(LineupSeat.Side.R, (short) 1), null));
+
+        assertThat(applicationEvents.stream(LineupEventDTO.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getType()).isEqualTo(LineupEventDTO.Type.SEATS);
+                    assertThat(event.getLineupId()).isEqualTo(lineup.getId());
+                    assertThat(event.getTeamId()).isEqualTo(team.getId());
+                });
+    }
+
+    @Test
+    void eventsReachLineupAndTeamSubscribers() {
+        RecordingEmitter lineupSubscriber = (RecordingEmitter) broadcaster.subscribeToLineup(lineup.getId());
+        RecordingEmitter teamSubscriber = (RecordingEmitter) broadcaster.subscribeToTeam(team.getId());
+        lineupSubscriber.release.countDown();
+        teamSubscriber.release.countDown();
+
+        broadcaster.onLineupEvent(event(LineupEventDTO.Type.UPDATED));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(lineupSubscriber.sent()).contains("event:UPDATED").contains("\"state\":\"PUBLISHED\"");
+            assertThat(teamSubscriber.sent()).contains("event:UPDATED");
+        });
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWithoutHoldingUpOthers() {
+        RecordingEmitter slow = (RecordingEmitter) broadcaster.subscribeToLineup(lineup.getId());
+        RecordingEmitter fast = (RecordingEmitter) broadcaster.subscribeToLineup(lineup.getId());
+        fast.release.countDown();
+
+        // The slow one is stuck sending its first frame; one more event than its buffer holds drops it
+        for (int i = 1; i <= properties.getBufferSize() + 1; i++) {
+            broadcaster.onLineupEvent(event(LineupEventDTO.Type.SEATS));
+            int received = 1 + i;
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fast.frames.size() == received);
+        }
+
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        slow.release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.completed);
+    }
+
+    @Test
+    void subscribersAreCapped() {
+        for (int i = 0; i < properties.getMaxSubscribers(); i++) {
+            broadcaster.subscribeToTeam(team.getId());
+        }
+        assertThatThrownBy(() -> broadcaster.subscribeToTeam(team.getId()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private LineupEventDTO event(LineupEventDTO.Type type) {
+        return LineupEventDTO.builder()
+                .type(type)
+                .lineupId(lineup.getId())
+                .teamId(team.getId())
+                .state(Lineup.State.PUBLISHED)
+                .at(LocalDateTime.now())
+                .build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    // Stands in for the servlet response; sends block until released, like a client that stopped reading
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<Set<DataWithMediaType>> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            frames.add(items);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        String sent() {
+            StringBuilder text = new StringBuilder();
+            frames.forEach(frame -> frame.forEach(data -> text.append(data.getData())));
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupFullSeatDTO;
+import com.dragon.backend.dto.lineup.LineupSeatAssignmentDTO;
+import com.dragon.backend.dto.lineup.LineupSeatsRequestDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class,
+        LineupBalanceService.class, LineupBalanceRepository.class, LineupOptimizerProperties.class, KeysetPager.class,
+        LineupSeatBulkRepository.class, LineupEventPublisher.class, LineupService.class})
+class LineupSeatReplaceTest {
+
+    @Autowired
+    private LineupService lineupService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lineup lineup;
+    private Person anna;
+    private Person ben;
+    private Person cem;
+    private Person deniz;
+
+    @BeforeEach
+    void setUp() {
+        Team team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+        Location location = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+        Training training = persist(Training.builder().team(team).location(location)
+                .startAt(LocalDateTime.now().plusDays(1)).build());
+        lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+        anna = persist(person("Anna", "5550000001"));
+        ben = persist(person("Ben", "5550000002"));
+        cem = persist(person("Cem", "5550000003"));
+        deniz = persist(person("Deniz", "5550000004"));
+        persist(LineupSeat.builder().lineup(lineup).person(anna).side(LineupSeat.Side.L).seatNumber((short) 1).build());
+        persist(LineupSeat.builder().lineup(lineup).person(ben).side(LineupSeat.Side.L).seatNumber((short) 2).build());
+        persist(LineupSeat.builder().lineup(lineup).person(cem).side(LineupSeat.Side.R).seatNumber((short) 1).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void replacesSeatMapIncludingSwaps() {
+        LineupFullResponseDTO result = lineupService.replaceSeats(lineup.getId(), request(
+                seat(LineupSeat.Side.L, 1, ben.getId()),
+                seat(LineupSeat.Side.L, 2, anna.getId()),
+                seat(LineupSeat.Side.L, 3, null),
+                seat(LineupSeat.Side.R, 2, deniz.getId())));
+
+        assertThat(result.getLeft()).extracting(LineupFullSeatDTO::getSeatNumber)
+                .containsExactly((short) 1, (short) 2, (short) 3);
+        assertThat(result.getLeft()).extracting(s -> s.getPerson() == null ? null : s.getPerson().getName())
+                .containsExactly("Ben", "Anna", null);
+        assertThat(result.getRight()).extracting(LineupFullSeatDTO::getSeatNumber).containsExactly((short) 2);
+        assertThat(result.getRight().get(0).getPerson().getName()).isEqualTo("Deniz");
+    }
+
+    @Test
+    void rejectsPersonOnTwoSeats() {
+        assertThatThrownBy(() -> lineupService.replaceSeats(lineup.getId(), request(
+                seat(LineupSeat.Side.L, 1, anna.getId()),
+                seat(LineupSeat.Side.R, 1, anna.getId()))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void unknownPersonIsAConflict() {
+        assertThatThrownBy(() -> lineupService.replaceSeats(lineup.getId(), request(
+                seat(LineupSeat.Side.L, 5, UUID.randomUUID()))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    private static Person person(String name, String phone) {
+        return Person.builder().name(name).phone(phone).side(Person.Side.BOTH).build();
+    }
+
+    private static LineupSeatAssignmentDTO seat(LineupSeat.Side side, int number, UUID personId) {
+        return LineupSeatAssignmentDTO.builder().side(side).seatNumber((short) number).personId(personId).build();
+    }
+
+    private static LineupSeatsRequestDTO request(LineupSeatAssignmentDTO... seats) {
+        return LineupSeatsRequestDTO.builder().seats(List.of(seats)).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,144 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupFullSeatDTO;
+import com.dragon.backend.dto.lineup.LineupSeatPositionDTO;
+import com.dragon.backend.dto.lineup.LineupSeatSwapRequestDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.repository.LineupSeatRepository;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class,
+        LineupBalanceService.class, LineupBalanceRepository.class, LineupOptimizerProperties.class, KeysetPager.class,
+        LineupSeatBulkRepository.class, LineupEventPublisher.class, LineupService.class})
+class LineupSeatSwapTest {
+
+    @Autowired
+    private LineupService lineupService;
+
+    @Autowired
+    private LineupSeatRepository lineupSeatRepository;
+
+    @Autowired
+    private LineupBalanceRepository lineupBalanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lineup lineup;
+
+    @BeforeEach
+    void setUp() {
+        Team team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+        Location location = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+        Training training = persist(Training.builder().team(team).location(location)
+                .startAt(LocalDateTime.now().plusDays(1)).build());
+        lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+        Person anna = persist(person("Anna", "5550000001", 60));
+        Person ben = persist(person("Ben", "5550000002", 80));
+        Person cem = persist(person("Cem", "5550000003", 70));
+        persist(LineupSeat.builder().lineup(lineup).person(anna).side(LineupSeat.Side.L).seatNumber((short) 1).build());
+        persist(LineupSeat.builder().lineup(lineup).person(ben).side(LineupSeat.Side.L).seatNumber((short) 2).build());
+        persist(LineupSeat.builder().lineup(lineup).person(cem).side(LineupSeat.Side.R).seatNumber((short) 1).build());
+        entityManager.flush();
+        lineupBalanceRepository.rebuild(lineup.getId());
+        entityManager.clear();
+    }
+
+    @Test
+    void swapsOccupantsAndBumpsTheLineupVersion() {
+        LineupFullResponseDTO result = lineupService.swapSeats(lineup.getId(),
+                swap(LineupSeat.Side.L, 1, LineupSeat.Side.R, 1, 0L));
+
+        assertThat(result.getVersion()).isEqualTo(1L);
+        assertThat(result.getLeft()).extracting(s -> s.getPerson().getName()).containsExactly("Cem", "Ben");
+        assertThat(result.getRight()).extracting(s -> s.getPerson().getName()).containsExactly("Anna");
+        assertThat(result.getBalance().getLeftWeight()).isEqualTo(150);
+        assertThat(result.getBalance().getRightWeight()).isEqualTo(60);
+        assertBalanceMatchesSeats();
+    }
+
+    @Test
+    void movesASeatToAFreePosition() {
+        LineupFullResponseDTO result = lineupService.swapSeats(lineup.getId(),
+                swap(LineupSeat.Side.L, 2, LineupSeat.Side.R, 4, null));
+
+        assertThat(result.getLeft()).extracting(LineupFullSeatDTO::getSeatNumber).containsExactly((short) 1);
+        assertThat(result.getRight()).extracting(LineupFullSeatDTO::getSeatNumber).containsExactly((short) 1, (short) 4);
+        assertThat(result.getRight().get(1).getPerson().getName()).isEqualTo("Ben");
+        assertBalanceMatchesSeats();
+    }
+
+    @Test
+    void outdatedLineupVersionIsRejected() {
+        lineupService.swapSeats(lineup.getId(), swap(LineupSeat.Side.L, 1, LineupSeat.Side.L, 2, 0L));
+
+        assertThatThrownBy(() -> lineupService.swapSeats(lineup.getId(),
+                swap(LineupSeat.Side.L, 1, LineupSeat.Side.R, 1, 0L)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void concurrentSeatChangeFailsOnFlush() {
+        LineupSeat seat = lineupSeatRepository.findByLineupIdAndSideAndSeatNumber(
+                lineup.getId(), LineupSeat.Side.L, (short) 1).orElseThrow();
+        jdbcTemplate.update("UPDATE lineup_seat SET version = version + 1 WHERE id = ?", seat.getId());
+
+        seat.setSeatNumber((short) 9);
+        assertThatThrownBy(() -> lineupSeatRepository.flush())
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    private void assertBalanceMatchesSeats() {
+        entityManager.flush();
+        assertThat(lineupBalanceRepository.findBalance(lineup.getId()).orElseThrow())
+                .usingRecursiveComparison()
+                .isEqualTo(lineupBalanceRepository.computeBalances(List.of(lineup.getId())).get(lineup.getId()));
+    }
+
+    private static LineupSeatSwapRequestDTO swap(LineupSeat.Side fromSide, int fromSeat,
+                                                 LineupSeat.Side toSide, int toSeat, Long version) {
+        return new LineupSeatSwapRequestDTO(new LineupSeatPositionDTO(fromSide, (short) fromSeat),
+                new LineupSeatPositionDTO(toSide, (short) toSeat), version);
+    }
+
+    private static Person person(String name, String phone, int weight) {
+        return Person.builder().name(name).phone(phone).weight((short) weight).side(Person.Side.BOTH).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
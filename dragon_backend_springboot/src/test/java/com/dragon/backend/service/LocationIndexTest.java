@@ -0,0 +1,166 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.config.TrainingCalendarProperties;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.location.LocationDistanceDTO;
+import com.dragon.backend.dto.location.LocationRequestDTO;
+import com.dragon.backend.dto.location.LocationResponseDTO;
+import com.dragon.backend.dto.training.TrainingDistanceDTO;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The index follows commits, so these tests manage their own transactions
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, LocationIndexProperties.class, LocationIndex.class,
+        TrainingCalendarProperties.class, TrainingCalendarService.class,
+        LocationService.class, TrainingService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LocationIndexTest {
+
+    @Autowired
+    private LocationIndex locationIndex;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Team team;
+    private Location lake;
+    private Location bay;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+            lake = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+            bay = persist(Location.builder().team(team).name("Bay").lat(41.05).lon(29.05).build());
+            persist(Location.builder().team(team).name("Far").lat(48.85).lon(2.35).build());
+        });
+        locationIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"training", "location", "team"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        locationIndex.reload();
+    }
+
+    @Test
+    void followsWritesThroughLocationService() {
+        assertThat(locationIndex.size()).isEqualTo(3);
+        assertThat(nearbyNames(41.0, 29.0, 10.0)).containsExactly("Lake", "Bay");
+
+        LocationResponseDTO pier = locationService.createLocation(
+                LocationRequestDTO.builder().teamId(team.getId()).name("Pier").lat(41.001).lon(29.001).build());
+        locationService.updateLocation(bay.getId(),
+                LocationRequestDTO.builder().teamId(team.getId()).name("Bay").lat(43.0).lon(29.0).build());
+        locationService.deleteLocation(lake.getId());
+
+        assertThat(nearbyNames(41.0, 29.0, 10.0)).containsExactly("Pier");
+        assertThat(nearbyNames(41.0, 29.0, null)).containsExactly("Pier", "Bay"); // Far is beyond max-radius-km
+        assertThat(locationService.getNearbyLocations(41.0, 29.0, 10.0, null).getResults().get(0))
+                .satisfies(hit -> assertThat(hit.getLocation().getId()).isEqualTo(pier.getId()))
+                .satisfies(hit -> assertThat(hit.getDistanceKm()).isLessThan(0.2));
+    }
+
+    @Test
+    void findsTrainingsInTheNextDaysNearAPoint() {
+        LocalDateTime now = LocalDateTime.now();
+        transaction.executeWithoutResult(status -> {
+            Location far = entityManager.createQuery("select l from Location l where l.name = 'Far'", Location.class)
+                    .getSingleResult();
+            persist(Training.builder().team(team).location(bay).startAt(now.plusDays(2)).build());
+            persist(Training.builder().team(team).location(lake).startAt(now.plusDays(1)).build());
+            persist(Training.builder().team(team).location(far).startAt(now.plusDays(1)).build());
+            persist(Training.builder().team(team).location(lake).startAt(now.plusDays(9)).build());
+            persist(Training.builder().team(team).location(lake).startAt(now.minusDays(1)).build());
+        });
+
+        List<TrainingDistanceDTO> week = trainingService.getNearbyTrainings(41.0, 29.0, 10, null, null, null).getResults();
+        assertThat(week).extracting(hit -> hit.getTraining().getLocation().getName()).containsExactly("Lake", "Bay");
+        assertThat(week.get(0).getDistanceKm()).isZero();
+
+        CursorPageDTO<TrainingDistanceDTO> first = trainingService.getNearbyTrainings(41.0, 29.0, 10, 14, null, 2);
+        assertThat(first.getResults()).hasSize(2);
+        assertThat(first.getNext()).isNotNull();
+        CursorPageDTO<TrainingDistanceDTO> second =
+                trainingService.getNearbyTrainings(41.0, 29.0, 10, 14, first.getNext(), 2);
+        assertThat(second.getResults()).extracting(hit -> hit.getTraining().getStartAt().toLocalDate())
+                .containsExactly(now.plusDays(9).toLocalDate());
+        assertThat(second.getNext()).isNull();
+        assertThat(trainingService.getNearbyTrainings(41.0, 29.0, 10, 14, null, null).getResults()).hasSize(3);
+        assertThatThrownBy(() -> trainingService.getNearbyTrainings(41.0, 29.0, 10, 90, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> trainingService.getNearbyTrainings(91.0, 29.0, 10, null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private List<String> nearbyNames(double lat, double lon, Double radiusKm) {
+        return locationService.getNearbyLocations(lat, lon, radiusKm, null).getResults().stream()
+                .map(LocationDistanceDTO::getLocation)
+                .map(LocationResponseDTO::getName)
+                .toList();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,168 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.PersonDedupeProperties;
+import com.dragon.backend.dto.person.DuplicateCandidateDTO;
+import com.dragon.backend.dto.person.PersonMergeRequestDTO;
+import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.PersonMergeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class,
+        LineupBalanceService.class, LineupBalanceRepository.class, LineupOptimizerProperties.class,
+        LineupEventPublisher.class, PersonMergeRepository.class, PersonDedupeProperties.class,
+        PersonDedupeService.class})
+class PersonDedupeServiceTest {
+
+    @Autowired
+    private PersonDedupeService personDedupeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Person anna;
+    private Person annaAgain;
+    private Team dragons;
+    private Team tigers;
+    private Lineup shared;
+    private Lineup tigersOnly;
+
+    @BeforeEach
+    void setUp() {
+        dragons = persist(Team.builder().name("Dragons").maxMembers(22).build());
+        tigers = persist(Team.builder().name("Tigers").maxMembers(22).build());
+        anna = persist(person("Anna Kaya", "5550000001", null));
+        annaAgain = persist(person("Anna Kaya", "905550000001", 62));
+        Person ben = persist(person("Ben Aksoy", "5550000002", 80));
+        persist(Membership.builder().person(anna).team(dragons).role(Membership.Role.CAPTAIN).build());
+        persist(Membership.builder().person(annaAgain).team(dragons).role(Membership.Role.PLAYER).build());
+        persist(Membership.builder().person(annaAgain).team(tigers).role(Membership.Role.PLAYER).build());
+        persist(Membership.builder().person(ben).team(tigers).role(Membership.Role.PLAYER).build());
+
+        shared = lineup(dragons);
+        seat(shared, anna, LineupSeat.Side.L, 1);
+        seat(shared, annaAgain, LineupSeat.Side.R, 1);
+        tigersOnly = lineup(tigers);
+        seat(tigersOnly, annaAgain, LineupSeat.Side.L, 3);
+        seat(tigersOnly, ben, LineupSeat.Side.R, 3);
+        rsvp(shared, anna, Rsvp.Response.MAYBE);
+        rsvp(shared, annaAgain, Rsvp.Response.YES);
+        rsvp(tigersOnly, annaAgain, Rsvp.Response.YES);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void scanReportsPersonsEnteredTwice() {
+        personDedupeService.scan();
+
+        List<DuplicateCandidateDTO> candidates = personDedupeService.getCandidates(null).getResults();
+        assertThat(candidates).hasSize(1);
+        assertThat(candidates.get(0).getPerson().getId()).isIn(anna.getId(), annaAgain.getId());
+        assertThat(candidates.get(0).getDuplicate().getId()).isIn(anna.getId(), annaAgain.getId());
+        assertThat(candidates.get(0).getSamePhone()).isTrue();
+
+        personDedupeService.merge(anna.getId(), merge(annaAgain));
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(personDedupeService.getCandidates(null).getResults()).isEmpty();
+    }
+
+    @Test
+    void mergeMovesMembershipsAndSeatsToTheSurvivor() {
+        PersonResponseDTO merged = personDedupeService.merge(anna.getId(), merge(annaAgain));
+        entityManager.flush();
+
+        assertThat(merged.getPhone()).isEqualTo("5550000001");
+        assertThat(merged.getWeight()).isEqualTo((short) 62);
+        assertThat(entityManager.find(Person.class, annaAgain.getId())).isNull();
+        // Dragons keeps Anna's own captaincy; Tigers membership is moved over
+        assertThat(jdbcTemplate.queryForList("SELECT role FROM person_team WHERE person_id = ? ORDER BY role",
+                Integer.class, anna.getId()))
+                .containsExactly(Membership.Role.PLAYER.ordinal(), Membership.Role.CAPTAIN.ordinal());
+        // Already seated in the shared boat, so the duplicate's seat there is emptied
+        assertThat(seats(shared)).containsExactly(anna.getId().toString(), null);
+        assertThat(seats(tigersOnly)).startsWith(anna.getId().toString());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lineup WHERE balance_stale", Integer.class))
+                .isEqualTo(2);
+        // Same for RSVPs: Anna's own answer stands
+        assertThat(jdbcTemplate.queryForList("SELECT response FROM training_rsvp WHERE person_id = ? ORDER BY response",
+                Integer.class, anna.getId()))
+                .containsExactly(Rsvp.Response.YES.ordinal(), Rsvp.Response.MAYBE.ordinal());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM training_rsvp", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsMergingAPersonIntoItself() {
+        assertThatThrownBy(() -> personDedupeService.merge(anna.getId(), merge(anna)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    // Occupants in seat order, left side first
+    private List<String> seats(Lineup lineup) {
+        return jdbcTemplate.queryForList(
+                "SELECT CAST(person_id AS VARCHAR) FROM lineup_seat WHERE lineup_id = ? ORDER BY side, seat_number",
+                String.class, lineup.getId());
+    }
+
+    private Lineup lineup(Team team) {
+        Location location = persist(Location.builder().team(team).name(team.getName() + " Lake").lat(41.0).lon(29.0)
+                .build());
+        Training training = persist(Training.builder().team(team).location(location)
+                .startAt(LocalDateTime.now().plusDays(1)).build());
+        return persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+    }
+
+    private void seat(Lineup lineup, Person person, LineupSeat.Side side, int number) {
+        persist(LineupSeat.builder().lineup(lineup).person(person).side(side).seatNumber((short) number).build());
+    }
+
+    private void rsvp(Lineup lineup, Person person, Rsvp.Response response) {
+        persist(Rsvp.builder().training(lineup.getTraining()).person(person).response(response).build());
+    }
+
+    private static PersonMergeRequestDTO merge(Person duplicate) {
+        return PersonMergeRequestDTO.builder().duplicateId(duplicate.getId()).build();
+    }
+
+    private static Person person(String name, String phone, Integer weight) {
+        return Person.builder().name(name).phone(phone).weight(weight == null ? null : weight.shortValue())
+                .side(Person.Side.BOTH).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,120 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.PersonSearchProperties;
+import com.dragon.backend.dto.person.PersonRequestDTO;
+import com.dragon.backend.dto.person.PersonResponseDTO;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The index follows commits, so these tests manage their own transactions
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, PersonSearchProperties.class, PersonSearchIndex.class, PersonService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PersonSearchIndexTest {
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Person anna;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            anna = Person.builder().name("Anna Kaya").phone("5550000001").side(Person.Side.LEFT).build();
+            entityManager.persist(anna);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM person");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        personSearchIndex.reload();
+    }
+
+    @Test
+    void publishedChangesKeepTheIndexInStep() {
+        // Persisted straight through the EntityManager, so only a reload picks it up
+        assertThat(names("ann")).isEmpty();
+        personSearchIndex.reload();
+        assertThat(names("ann")).containsExactly("Anna Kaya");
+
+        PersonResponseDTO ben = personService.createPerson(person("Ben Aksoy", "5550000002"));
+        assertThat(names("aks")).containsExactly("Ben Aksoy");
+        assertThat(names("0002")).containsExactly("Ben Aksoy");
+
+        personService.updatePerson(ben.getId(), person("Benjamin Aksoy", "5550000002"));
+        assertThat(names("benj")).containsExactly("Benjamin Aksoy");
+
+        personService.deletePerson(anna.getId());
+        assertThat(names("ann")).isEmpty();
+        assertThat(personSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackWritesNeverReachTheIndex() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            personService.createPerson(person("Ghost", "5550000009"));
+            status.setRollbackOnly();
+        });
+        assertThat(names("ghost")).isEmpty();
+
+        personSearchIndex.reload();
+        assertThat(names("kaya")).containsExactly("Anna Kaya");
+    }
+
+    private List<String> names(String query) {
+        return personService.search(query, null).stream().map(PersonResponseDTO::getName).toList();
+    }
+
+    private static PersonRequestDTO person(String name, String phone) {
+        return PersonRequestDTO.builder().name(name).phone(phone).side(Person.Side.RIGHT).build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.config.TrainingCalendarProperties;
+import com.dragon.backend.config.ReactiveReadConfig;
+import com.dragon.backend.config.ReactiveReadProperties;
+import com.dragon.backend.controller.ReactiveReadController;
+import com.dragon.backend.dto.common.CursorPageDTO;
+import com.dragon.backend.dto.membership.MembershipResponseDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.repository.ReactiveReadRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The R2DBC pool opens its own connections to the same in-memory database, so the data has to be committed
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, LineupSeatBulkRepository.class, LineupEventPublisher.class,
+        LineupService.class, TrainingService.class, MembershipService.class, LocationIndexProperties.class, LocationIndex.class,
+        TrainingCalendarProperties.class, TrainingCalendarService.class,
+        ReactiveReadProperties.class, ReactiveReadConfig.class, ReactiveReadRepository.class, ReactiveReadService.class})
+@TestPropertySource(properties = {
+        "reactive-reads.enabled=true",
+        "reactive-reads.url=r2dbc:h2:mem:///dragon_test?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "reactive-reads.username=sa"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReactiveReadServiceTest {
+
+    @Autowired
+    private ReactiveReadService reactiveReadService;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private LineupService lineupService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Team team;
+    private Training training;
+    private Lineup lineup;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            team = persist(Team.builder().name("Dragons").city("Istanbul").maxMembers(22).build());
+            Team hosts = persist(Team.builder().name("Hosts").maxMembers(22).build());
+            Location location = persist(Location.builder().team(hosts).name("Lake").lat(41.0).lon(29.0).build());
+            for (int day = 3; day >= 1; day--) {
+                training = persist(Training.builder().team(team).location(location)
+                        .startAt(LocalDateTime.now().plusDays(day)).build());
+            }
+            lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+            Person anna = persist(Person.builder().name("Anna").phone("5550000001").weight((short) 60)
+                    .side(Person.Side.LEFT).build());
+            Person ben = persist(Person.builder().name("Ben").phone("5550000002").height((short) 185)
+                    .weight((short) 80).side(Person.Side.BOTH).build());
+            Person carl = persist(Person.builder().name("Carl").phone("5550000003").side(Person.Side.RIGHT).build());
+            persist(Membership.builder().team(team).person(anna).role(Membership.Role.CAPTAIN).build());
+            persist(Membership.builder().team(team).person(ben).role(Membership.Role.PLAYER).build());
+            persist(Membership.builder().team(team).person(carl).role(Membership.Role.COACH).build());
+            persist(LineupSeat.builder().lineup(lineup).person(anna).side(LineupSeat.Side.L).seatNumber((short) 1).build());
+            persist(LineupSeat.builder().lineup(lineup).person(ben).side(LineupSeat.Side.R).seatNumber((short) 2).build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"lineup_seat", "lineup", "training", "person_team", "location", "person", "team"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void teamTrainingsMatchTheJpaPathPageByPage() {
+        CursorPageDTO<TrainingResponseDTO> first = reactiveReadService.getTeamTrainings(team.getId(), null, 2, null).block();
+        assertThat(first).isEqualTo(trainingService.getAllTrainings(team.getId(), null, 2, null));
+        assertThat(first.getNext()).isNotNull();
+
+        // Cursors are interchangeable between the two paths
+        CursorPageDTO<TrainingResponseDTO> second = reactiveReadService.getTeamTrainings(team.getId(), first.getNext(), 2, null).block();
+        assertThat(second).isEqualTo(trainingService.getAllTrainings(team.getId(), first.getNext(), 2, null));
+        assertThat(second.getResults()).hasSize(1);
+        assertThat(second.getNext()).isNull();
+
+        assertThat(reactiveReadService.getTeamTrainings(team.getId(), null, null, "-createdAt").block())
+                .isEqualTo(trainingService.getAllTrainings(team.getId(), null, null, "-createdAt"));
+        assertThat(reactiveReadService.getTeamTrainingsETag(team.getId()).block())
+                .isEqualTo(trainingService.getTeamTrainingsETag(team.getId()));
+    }
+
+    @Test
+    void rosterAndLineupMatchTheJpaPath() {
+        CursorPageDTO<MembershipResponseDTO> roster = reactiveReadService.getRoster(team.getId(), null, null, null).block();
+        assertThat(roster).isEqualTo(membershipService.getAllMemberships(team.getId(), null, null, null, null));
+        assertThat(roster.getResults()).hasSize(3);
+        assertThat(reactiveReadService.getRosterETag(team.getId()).block())
+                .isEqualTo(membershipService.getRosterETag(team.getId()));
+
+        assertThat(reactiveReadService.getLineupByTrainingId(training.getId()).block())
+                .isEqualTo(lineupService.getLineupByTrainingId(training.getId()));
+
+        // A stale balance is computed from the seats, as on the JPA path
+        jdbcTemplate.update("UPDATE lineup SET balance_stale = TRUE WHERE id = ?", lineup.getId());
+        assertThat(reactiveReadService.getLineupByTrainingId(training.getId()).block().getBalance())
+                .isEqualTo(lineupService.getLineupByTrainingId(training.getId()).getBalance())
+                .satisfies(balance -> assertThat(balance.getLeftWeight()).isEqualTo(60));
+
+        // state filters the training's lineup on both paths
+        for (Lineup.State state : new Lineup.State[]{null, Lineup.State.DRAFT, Lineup.State.PUBLISHED}) {
+            assertThat(reactiveReadService.getLineupsByTrainingId(training.getId(), state).block())
+                    .isEqualTo(lineupService.getLineupsByTrainingId(training.getId(), state));
+        }
+        assertThat(reactiveReadService.getLineupsByTrainingId(training.getId(), Lineup.State.PUBLISHED).block()
+                .getResults()).isEmpty();
+
+        assertThatThrownBy(() -> reactiveReadService.getLineupByTrainingId(-1L).block())
+                .hasMessage("Lineup not found for training id: -1");
+    }
+
+    @Test
+    void matchingIfNoneMatchSkipsTheQuery() {
+        ReactiveReadController controller = new ReactiveReadController(reactiveReadService);
+        String etag = membershipService.getRosterETag(team.getId());
+
+        ResponseEntity<CursorPageDTO<MembershipResponseDTO>> revalidated =
+                controller.getRoster(team.getId(), null, null, null, "W/" + etag).block();
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getBody()).isNull();
+
+        ResponseEntity<CursorPageDTO<MembershipResponseDTO>> changed =
+                controller.getRoster(team.getId(), null, null, null, "\"outdated\"").block();
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(changed.getBody().getResults()).hasSize(3);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
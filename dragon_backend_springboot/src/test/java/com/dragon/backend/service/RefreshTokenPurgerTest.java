@@ -0,0 +1,74 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.RefreshTokenPurgeProperties;
+import com.dragon.backend.model.RefreshToken;
+import com.dragon.backend.model.User;
+import com.dragon.backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class RefreshTokenPurgerTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RefreshTokenPurger purger;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenPurgeProperties properties = new RefreshTokenPurgeProperties();
+        properties.setBatchSize(10);
+        purger = new RefreshTokenPurger(refreshTokenRepository, properties, meterRegistry);
+
+        user = User.builder().username("paddler").email("paddler@example.com").password("x")
+                .isStaff(false).isSuperuser(false).isActive(true).build();
+        entityManager.persist(user);
+        for (int i = 0; i < 25; i++) {
+            persistToken("expired-" + i, LocalDateTime.now().minusDays(1));
+        }
+        for (int i = 0; i < 3; i++) {
+            persistToken("live-" + i, LocalDateTime.now().plusDays(1));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void purgesExpiredTokensInBatches() {
+        assertThat(purger.purgeExpired()).isEqualTo(25);
+
+        assertThat(refreshTokenRepository.count()).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.refresh_tokens.purged").counter().count()).isEqualTo(25);
+        assertThat(meterRegistry.get("auth.refresh_tokens.rows").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void deletesAllTokensOfUserInBulk() {
+        assertThat(refreshTokenRepository.deleteByUserId(user.getId())).isEqualTo(28);
+    }
+
+    private void persistToken(String token, LocalDateTime expiresAt) {
+        entityManager.persist(RefreshToken.builder().token(token).user(user).expiresAt(expiresAt).build());
+    }
+}
@@ -0,0 +1,191 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.config.PersonSearchProperties;
+import com.dragon.backend.config.TrainingCalendarProperties;
+import com.dragon.backend.controller.LineupController;
+import com.dragon.backend.controller.LineupSeatController;
+import com.dragon.backend.dto.lineup.LineupFullResponseDTO;
+import com.dragon.backend.dto.lineup.LineupSeatPositionDTO;
+import com.dragon.backend.dto.lineup.LineupSeatSwapRequestDTO;
+import com.dragon.backend.dto.person.PersonRequestDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.LineupSeatBulkRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, LineupSeatBulkRepository.class, LineupEventPublisher.class,
+        LineupService.class, PersonService.class, TrainingService.class, MembershipService.class,
+        LocationIndexProperties.class, LocationIndex.class,
+        TrainingCalendarProperties.class, TrainingCalendarService.class, PersonSearchProperties.class,
+        PersonSearchIndex.class})
+class ResourceETagTest {
+
+    @Autowired
+    private LineupService lineupService;
+
+    @Autowired
+    private LineupBalanceService lineupBalanceService;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Team team;
+    private Training training;
+    private Lineup lineup;
+    private Person anna;
+
+    @BeforeEach
+    void setUp() {
+        team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+        Location location = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+        training = persist(Training.builder().team(team).location(location)
+                .startAt(LocalDateTime.now().plusDays(1)).build());
+        lineup = persist(Lineup.builder().training(training).state(Lineup.State.DRAFT).build());
+        anna = persist(Person.builder().name("Anna").phone("5550000001").weight((short) 60).side(Person.Side.BOTH).build());
+        Person ben = persist(Person.builder().name("Ben").phone("5550000002").weight((short) 80).side(Person.Side.BOTH).build());
+        persist(Membership.builder().team(team).person(anna).role(Membership.Role.PLAYER).build());
+        persist(LineupSeat.builder().lineup(lineup).person(anna).side(LineupSeat.Side.L).seatNumber((short) 1).build());
+        persist(LineupSeat.builder().lineup(lineup).person(ben).side(LineupSeat.Side.R).seatNumber((short) 1).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void lineupETagFollowsSeatsAndPaddlers() {
+        String initial = lineupService.getLineupETag(lineup.getId());
+        assertThat(lineupService.getLineupETag(lineup.getId())).isEqualTo(initial);
+
+        lineupService.swapSeats(lineup.getId(), new LineupSeatSwapRequestDTO(
+                new LineupSeatPositionDTO(LineupSeat.Side.L, (short) 1),
+                new LineupSeatPositionDTO(LineupSeat.Side.R, (short) 1), null));
+        entityManager.flush();
+        String swapped = lineupService.getLineupETag(lineup.getId());
+        assertThat(swapped).isNotEqualTo(initial);
+
+        personService.updatePerson(anna.getId(), PersonRequestDTO.builder()
+                .name("Anna K.").phone(anna.getPhone()).weight((short) 60).side(Person.Side.BOTH).build());
+        entityManager.flush();
+        assertThat(lineupService.getLineupETag(lineup.getId())).isNotEqualTo(swapped);
+    }
+
+    @Test
+    void teamListETagsFollowTheirRows() {
+        String trainings = trainingService.getTeamTrainingsETag(team.getId());
+        String roster = membershipService.getRosterETag(team.getId());
+        assertThat(trainingService.getTrainingETag(training.getId())).isNotEqualTo(trainings);
+
+        persist(Training.builder().team(entityManager.getReference(Team.class, team.getId()))
+                .location(entityManager.find(Training.class, training.getId()).getLocation())
+                .startAt(LocalDateTime.now().plusDays(2)).build());
+        entityManager.flush();
+        assertThat(trainingService.getTeamTrainingsETag(team.getId())).isNotEqualTo(trainings);
+        assertThat(membershipService.getRosterETag(team.getId())).isEqualTo(roster);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutABody() {
+        LineupController controller = new LineupController(lineupService, null, lineupBalanceService, null);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ResponseEntity<LineupFullResponseDTO> full = controller.getFullLineupById(lineup.getId(),
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/lineups/" + lineup.getId() + "/full"), first));
+        String etag = full.getHeaders().getETag();
+        assertThat(full.getBody()).isNotNull();
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/api/lineups/" + lineup.getId() + "/full");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(controller.getFullLineupById(lineup.getId(), new ServletWebRequest(revalidate, second))).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+
+        MockHttpServletRequest staleWrite = new MockHttpServletRequest("DELETE", "/api/lineups/" + lineup.getId());
+        staleWrite.addHeader(HttpHeaders.IF_MATCH, "\"outdated\"");
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertThat(controller.deleteLineup(lineup.getId(), new ServletWebRequest(staleWrite, third))).isNull();
+        assertThat(third.getStatus()).isEqualTo(412);
+    }
+
+    @Test
+    void readsByTrainingAndSeatListsAreRevalidatedWithTheLineupETag() {
+        LineupController lineups = new LineupController(lineupService, null, lineupBalanceService, null);
+        LineupSeatController seats = new LineupSeatController(null, lineupService);
+        String etag = lineupService.getLineupETag(lineup.getId());
+        assertThat(lineupService.getLineupETagByTrainingId(training.getId())).isEqualTo(etag);
+
+        MockHttpServletResponse full = new MockHttpServletResponse();
+        assertThat(lineups.getFullLineupByTrainingId(training.getId(), revalidate("/api/lineups/full", etag, full)))
+                .isNull();
+        assertThat(full.getStatus()).isEqualTo(304);
+
+        MockHttpServletResponse page = new MockHttpServletResponse();
+        assertThat(lineups.getAllLineups(null, training.getId(), null, null, null,
+                revalidate("/api/lineups", etag, page))).isNull();
+        assertThat(page.getStatus()).isEqualTo(304);
+
+        MockHttpServletResponse seatPage = new MockHttpServletResponse();
+        assertThat(seats.getAllLineupSeats(lineup.getId(), null, null, null, null,
+                revalidate("/api/lineup-seats", etag, seatPage))).isNull();
+        assertThat(seatPage.getStatus()).isEqualTo(304);
+
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        lineupService.swapSeats(lineup.getId(), new LineupSeatSwapRequestDTO(
+                new LineupSeatPositionDTO(LineupSeat.Side.L, (short) 1),
+                new LineupSeatPositionDTO(LineupSeat.Side.R, (short) 1), null));
+        entityManager.flush();
+        ResponseEntity<LineupFullResponseDTO> fresh = lineups.getFullLineupByTrainingId(training.getId(),
+                revalidate("/api/lineups/full", etag, changed));
+        assertThat(fresh.getBody()).isNotNull();
+        assertThat(fresh.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    private static ServletWebRequest revalidate(String uri, String etag, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return new ServletWebRequest(request, response);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,139 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.PersonDedupeProperties;
+import com.dragon.backend.dto.importing.RosterImportErrorDTO;
+import com.dragon.backend.dto.importing.RosterImportReportDTO;
+import com.dragon.backend.model.Membership;
+import com.dragon.backend.model.Person;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.repository.MembershipRepository;
+import com.dragon.backend.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, PersonDedupeProperties.class, RosterImportService.class})
+class RosterImportServiceTest {
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Team dragons;
+
+    @BeforeEach
+    void setUp() {
+        dragons = Team.builder().name("Dragons").maxMembers(22).build();
+        entityManager.persist(dragons);
+        entityManager.persist(Person.builder().name("Anna").phone("905321234567").side(Person.Side.LEFT).build());
+        entityManager.flush();
+    }
+
+    @Test
+    void importsRowsMatchesExistingPhonesAndReportsBadRows() throws IOException {
+        String csv = """
+                Name,Phone,Team,Role,Height,Side
+                "Anna, again",+90 (532) 123-45-67,Dragons,captain,,
+                Ben,5550000002,Dragons,,180,right
+                Ben twice,555-000-0002,%s,,,
+                Cem,12345,Dragons,,,
+                Deniz,5550000004,Sharks,,,
+                Ece,5550000005,Dragons,steerer,,
+
+                """.formatted(dragons.getId());
+
+        RosterImportReportDTO report = rosterImportService.importRoster(new StringReader(csv));
+
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getPersonsMatched()).isEqualTo(1);
+        assertThat(report.getPersonsCreated()).isEqualTo(1);
+        assertThat(report.getMembershipsCreated()).isEqualTo(2);
+        assertThat(report.getMembershipsExisting()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(RosterImportErrorDTO::getLine).containsExactly(5L, 6L, 7L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Invalid phone");
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("Team not found: Sharks");
+        assertThat(report.getErrors().get(2).getMessage()).isEqualTo("Invalid role: steerer");
+
+        Person anna = personRepository.findByPhone("905321234567").orElseThrow();
+        assertThat(anna.getName()).isEqualTo("Anna");
+        Person ben = personRepository.findByPhone("905550000002").orElseThrow();
+        assertThat(ben.getHeight()).isEqualTo((short) 180);
+        assertThat(ben.getSide()).isEqualTo(Person.Side.RIGHT);
+        assertThat(membershipRepository.findByPersonId(anna.getId()))
+                .singleElement()
+                .extracting(Membership::getRole)
+                .isEqualTo(Membership.Role.CAPTAIN);
+    }
+
+    @Test
+    void federationRosterImportsInChunks() throws IOException {
+        int rows = 5_000;
+        StringBuilder csv = new StringBuilder("name,phone,team,role\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Paddler ").append(i).append(',').append(5_551_000_000L + i).append(",Dragons,player\n");
+        }
+
+        RosterImportReportDTO report = rosterImportService.importRoster(new StringReader(csv.toString()));
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getPersonsCreated()).isEqualTo(rows);
+        assertThat(report.getMembershipsCreated()).isEqualTo(rows);
+        assertThat(membershipRepository.findByTeamId(dragons.getId())).hasSize(rows);
+    }
+
+    @Test
+    void nationalAndInternationalFormsMatchTheSamePerson() throws IOException {
+        entityManager.persist(Person.builder().name("Deniz").phone("05551112233").side(Person.Side.BOTH).build());
+        entityManager.persist(Person.builder().name("Ece").phone("5552223344").side(Person.Side.BOTH).build());
+        entityManager.flush();
+        String csv = """
+                name,phone,team
+                Deniz,+90 555 111 22 33,Dragons
+                Ece,0090 555 222 33 44,Dragons
+                Anna,0532 123 45 67,Dragons
+                """;
+
+        RosterImportReportDTO report = rosterImportService.importRoster(new StringReader(csv));
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getPersonsMatched()).isEqualTo(3);
+        assertThat(report.getPersonsCreated()).isZero();
+    }
+
+    @Test
+    void unterminatedQuoteIsABadRequest() {
+        String csv = """
+                name,phone,team
+                "Anna,5321234567,Dragons
+                """;
+
+        assertThatThrownBy(() -> rosterImportService.importRoster(new StringReader(csv)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
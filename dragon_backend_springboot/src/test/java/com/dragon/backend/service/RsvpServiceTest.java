@@ -0,0 +1,182 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.config.RsvpProperties;
+import com.dragon.backend.config.TrainingCalendarProperties;
+import com.dragon.backend.dto.rsvp.RsvpCountsDTO;
+import com.dragon.backend.dto.rsvp.RsvpRequestDTO;
+import com.dragon.backend.dto.rsvp.RsvpResponseDTO;
+import com.dragon.backend.dto.rsvp.TrainingRsvpsDTO;
+import com.dragon.backend.model.*;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The counters follow commits, so these tests manage their own transactions
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, LocationIndexProperties.class, LocationIndex.class,
+        TrainingCalendarProperties.class, TrainingCalendarService.class, TrainingService.class,
+        RsvpProperties.class, RsvpCounters.class, RsvpService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RsvpServiceTest {
+
+    @Autowired
+    private RsvpService rsvpService;
+
+    @Autowired
+    private RsvpCounters rsvpCounters;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Training training;
+    private Person anna;
+    private Person ben;
+    private Person outsider;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+            Location location = persist(Location.builder().team(team).name("Lake").lat(41.0).lon(29.0).build());
+            training = persist(Training.builder().team(team).location(location)
+                    .startAt(LocalDateTime.now().plusDays(2)).build());
+            anna = persist(Person.builder().name("Anna").phone("5550000001").side(Person.Side.LEFT).build());
+            ben = persist(Person.builder().name("Ben").phone("5550000002").side(Person.Side.RIGHT).build());
+            outsider = persist(Person.builder().name("Cem").phone("5550000003").side(Person.Side.BOTH).build());
+            persist(Membership.builder().person(anna).team(team).role(Membership.Role.PLAYER).build());
+            persist(Membership.builder().person(ben).team(team).role(Membership.Role.PLAYER).build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        rsvpCounters.flush();
+        jdbcTemplate.update("DELETE FROM training_rsvp");
+        jdbcTemplate.update("DELETE FROM person_team");
+        jdbcTemplate.update("DELETE FROM training");
+        jdbcTemplate.update("DELETE FROM location");
+        jdbcTemplate.update("DELETE FROM team");
+        jdbcTemplate.update("DELETE FROM person");
+    }
+
+    @Test
+    void answersAreCountedOnceFlushed() {
+        rsvpService.respond(training.getId(), rsvp(anna, Rsvp.Response.MAYBE));
+        RsvpResponseDTO changed = rsvpService.respond(training.getId(), rsvp(anna, Rsvp.Response.YES));
+        rsvpService.respond(training.getId(), rsvp(ben, Rsvp.Response.NO));
+        assertThat(changed.getPerson().getName()).isEqualTo("Anna");
+
+        // The list counts its rows; the training's totals wait for the flush
+        TrainingRsvpsDTO list = rsvpService.getRsvps(training.getId());
+        assertThat(list.getRsvps()).extracting(r -> r.getPerson().getName()).containsExactly("Anna", "Ben");
+        assertThat(list.getCounts()).isEqualTo(new RsvpCountsDTO(1, 0, 1));
+        assertThat(trainingService.getTrainingById(training.getId()).getRsvps()).isEqualTo(new RsvpCountsDTO(0, 0, 0));
+
+        assertThat(rsvpCounters.flush()).isEqualTo(1);
+        assertThat(trainingService.getTrainingById(training.getId()).getRsvps()).isEqualTo(new RsvpCountsDTO(1, 0, 1));
+
+        rsvpService.withdraw(training.getId(), ben.getId());
+        rsvpCounters.flush();
+        assertThat(trainingService.getTrainingById(training.getId()).getRsvps()).isEqualTo(new RsvpCountsDTO(1, 0, 0));
+        assertThat(rsvpCounters.flush()).isZero();
+    }
+
+    @Test
+    void trainingWithAnswersCanBeDeleted() {
+        rsvpService.respond(training.getId(), rsvp(anna, Rsvp.Response.YES));
+        rsvpService.respond(training.getId(), rsvp(ben, Rsvp.Response.NO));
+        rsvpCounters.flush();
+
+        trainingService.deleteTraining(training.getId());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM training_rsvp", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM training", Integer.class)).isZero();
+    }
+
+    @Test
+    void concurrentAnswersAreNotLost() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            Rsvp.Response response = i % 4 == 0 ? Rsvp.Response.NO : Rsvp.Response.YES;
+            executor.execute(() -> rsvpCounters.onRsvpChanged(
+                    new RsvpCounters.Change(training.getId(), training.getStartAt(), null, response)));
+            if (i % 100 == 0) {
+                executor.execute(rsvpCounters::flush);
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        rsvpCounters.flush();
+
+        assertThat(trainingService.getTrainingById(training.getId()).getRsvps())
+                .isEqualTo(new RsvpCountsDTO(750, 0, 250));
+    }
+
+    @Test
+    void onlyTeamMembersAnswerBeforeTheStart() {
+        assertThatThrownBy(() -> rsvpService.respond(training.getId(), rsvp(outsider, Rsvp.Response.YES)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        jdbcTemplate.update("UPDATE training SET start_at = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), training.getId());
+        assertThatThrownBy(() -> rsvpService.respond(training.getId(), rsvp(anna, Rsvp.Response.YES)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(rsvpService.getRsvps(training.getId()).getRsvps()).isEmpty();
+    }
+
+    private static RsvpRequestDTO rsvp(Person person, Rsvp.Response response) {
+        return RsvpRequestDTO.builder().personId(person.getId()).response(response).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,183 @@
+package com.dragon.backend.service;
+
+import com.dragon.backend.config.CacheConfig;
+import com.dragon.backend.config.CachingProperties;
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.config.LineupOptimizerProperties;
+import com.dragon.backend.config.LocationIndexProperties;
+import com.dragon.backend.config.TrainingCalendarProperties;
+import com.dragon.backend.dto.location.LocationRequestDTO;
+import com.dragon.backend.dto.team.TeamRequestDTO;
+import com.dragon.backend.dto.training.TrainingCalendarMonthDTO;
+import com.dragon.backend.dto.training.TrainingRequestDTO;
+import com.dragon.backend.dto.training.TrainingResponseDTO;
+import com.dragon.backend.model.Location;
+import com.dragon.backend.model.Team;
+import com.dragon.backend.model.Training;
+import com.dragon.backend.repository.LineupBalanceRepository;
+import com.dragon.backend.repository.projection.ProjectionQueries;
+import com.dragon.backend.service.pagination.KeysetPager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Evictions are applied on commit, so these tests manage their own transactions
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({JpaConfig.class, CacheConfig.class, CachingProperties.class, DtoAssembler.class, KeysetPager.class,
+        ProjectionQueries.class, LineupBalanceService.class, LineupBalanceRepository.class,
+        LineupOptimizerProperties.class, LocationIndexProperties.class, LocationIndex.class,
+        TrainingCalendarProperties.class, TrainingCalendarService.class, TrainingService.class, TeamService.class,
+        LocationService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrainingCalendarServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2030, 3);
+    private static final YearMonth APRIL = YearMonth.of(2030, 4);
+
+    @Autowired
+    private TrainingCalendarService trainingCalendarService;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Team team;
+    private Location location;
+    private Training lastOfMarch;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            team = persist(Team.builder().name("Dragons").maxMembers(22).build());
+            location = persist(Location.builder().team(team).name("Lake, north pier").lat(41.0).lon(29.0).build());
+            persist(Training.builder().team(team).location(location)
+                    .startAt(MARCH.atDay(10).atTime(18, 0)).build());
+            lastOfMarch = persist(Training.builder().team(team).location(location)
+                    .startAt(MARCH.atEndOfMonth().atTime(7, 30)).build());
+            // Midnight on the 1st is in April, not in both months
+            persist(Training.builder().team(team).location(location)
+                    .startAt(APRIL.atDay(1).atStartOfDay()).build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"training", "location", "team"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void servesMonthsFromTheCacheAndEvictsOnlyTheMonthsAWriteTouches() {
+        assertThat(startTimes(MARCH)).containsExactly(MARCH.atDay(10).atTime(18, 0), MARCH.atEndOfMonth().atTime(7, 30));
+        assertThat(startTimes(APRIL)).containsExactly(APRIL.atDay(1).atStartOfDay());
+        String etag = trainingCalendarService.getCalendar(team.getId(), MARCH, 2).etag();
+
+        // Written behind the service's back: the cached months do not see it
+        jdbcTemplate.update("UPDATE training SET start_at = ? WHERE id = ?",
+                MARCH.atDay(20).atTime(9, 0), lastOfMarch.getId());
+        assertThat(startTimes(MARCH)).hasSize(2).contains(MARCH.atEndOfMonth().atTime(7, 30));
+
+        // A training created in April evicts April only
+        trainingService.createTraining(new TrainingRequestDTO(team.getId(), location.getId(), APRIL.atDay(5).atTime(18, 0)));
+        assertThat(startTimes(APRIL)).hasSize(2);
+        assertThat(startTimes(MARCH)).contains(MARCH.atEndOfMonth().atTime(7, 30));
+        assertThat(trainingCalendarService.getCalendar(team.getId(), MARCH, 2).etag()).isNotEqualTo(etag);
+
+        // Moving a training from March to April evicts both
+        trainingService.updateTraining(lastOfMarch.getId(),
+                new TrainingRequestDTO(team.getId(), location.getId(), APRIL.atDay(2).atTime(7, 30)));
+        assertThat(startTimes(MARCH)).containsExactly(MARCH.atDay(10).atTime(18, 0));
+        assertThat(startTimes(APRIL)).hasSize(3);
+
+        trainingService.deleteTraining(lastOfMarch.getId());
+        assertThat(startTimes(APRIL)).hasSize(2);
+    }
+
+    @Test
+    void teamAndLocationRenamesEvictTheCachedMonths() {
+        TrainingCalendarService.TeamCalendar before = trainingCalendarService.getCalendar(team.getId(), MARCH, 1);
+        assertThat(before.months().get(0).getTrainings()).allSatisfy(training -> assertThat(training.getRsvps()).isNull());
+
+        teamService.updateTeam(team.getId(), new TeamRequestDTO("Golden Dragons", null, 22));
+        TrainingCalendarService.TeamCalendar renamed = trainingCalendarService.getCalendar(team.getId(), MARCH, 1);
+        assertThat(renamed.etag()).isNotEqualTo(before.etag());
+        assertThat(renamed.months().get(0).getTrainings())
+                .allSatisfy(training -> assertThat(training.getTeam().getName()).isEqualTo("Golden Dragons"));
+
+        locationService.updateLocation(location.getId(), new LocationRequestDTO(team.getId(), 41.0, 29.0, "Lake"));
+        TrainingCalendarService.TeamCalendar moved = trainingCalendarService.getCalendar(team.getId(), MARCH, 1);
+        assertThat(moved.etag()).isNotEqualTo(renamed.etag());
+        assertThat(moved.months().get(0).getTrainings())
+                .allSatisfy(training -> assertThat(training.getLocation().getName()).isEqualTo("Lake"));
+    }
+
+    @Test
+    void writesAnICalendarFeed() throws Exception {
+        TrainingCalendarService.TeamCalendar calendar = trainingCalendarService.getCalendar(team.getId(), MARCH, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trainingCalendarService.writeICalendar(calendar, out);
+        String ics = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics.split("BEGIN:VEVENT", -1)).hasSize(4);
+        assertThat(ics).contains("UID:training-" + lastOfMarch.getId() + "@dragon\r\n",
+                "DTSTART:20300331T073000\r\n", "DTEND:20300331T090000\r\n",
+                "LOCATION:Lake\\, north pier\r\n", "GEO:41.0;29.0\r\n", "SUMMARY:Dragons training\r\n");
+        assertThat(ics.split("\r\n")).allSatisfy(line -> assertThat(line.getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(75));
+    }
+
+    private List<LocalDateTime> startTimes(YearMonth month) {
+        TrainingCalendarMonthDTO calendarMonth = trainingCalendarService.getCalendar(team.getId(), month, 1).months().get(0);
+        return calendarMonth.getTrainings().stream().map(TrainingResponseDTO::getStartAt).toList();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
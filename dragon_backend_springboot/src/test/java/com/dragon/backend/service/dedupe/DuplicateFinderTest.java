@@ -0,0 +1,49 @@
+package com.dragon.backend.service.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DuplicateFinderTest {
+
+    private final DuplicateFinder finder = new DuplicateFinder("90", 0.75, 3);
+
+    @Test
+    void pairsPersonsSharingAKeyAndScoresThem() {
+        UUID ayse = add("Ayşe Yılmaz", "5321234567", 170, 60);
+        UUID ayseAgain = add("Yilmaz Ayse", "+90 (532) 123-45-67", 171, 61);
+        add("Mehmet Yılmaz", "05321234567", null, null); // Same family phone, different person
+        UUID can = add("Can Demir", "5330000001", 180, 80);
+        UUID canAgain = add("Can Demir", "5440000002", 181, 82); // Second club, own phone
+        add("Can Demir", "5550000003", 165, 95); // Namesake, measurements disagree
+
+        List<DuplicateFinder.Candidate> candidates = finder.candidates(10);
+
+        assertThat(candidates).extracting(DuplicateFinder.Candidate::first, DuplicateFinder.Candidate::second)
+                .containsExactly(tuple(ayse, ayseAgain), tuple(can, canAgain));
+        assertThat(candidates.get(0).samePhone()).isTrue();
+        assertThat(candidates.get(0).nameSimilarity()).isEqualTo(1.0);
+        assertThat(candidates.get(1).samePhone()).isFalse();
+    }
+
+    @Test
+    void skipsOversizedBlocks() {
+        for (int i = 0; i < 4; i++) {
+            add("Ali Kaya", "555000000" + i, 175, 70);
+        }
+
+        assertThat(finder.candidates(10)).isEmpty();
+        assertThat(finder.skippedBlocks()).isEqualTo(2);
+    }
+
+    private UUID add(String name, String phone, Integer height, Integer weight) {
+        UUID id = UUID.randomUUID();
+        finder.add(new DuplicateFinder.Row(id, name, phone,
+                height == null ? null : height.shortValue(), weight == null ? null : weight.shortValue()));
+        return id;
+    }
+}
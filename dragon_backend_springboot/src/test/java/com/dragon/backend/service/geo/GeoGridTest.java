@@ -0,0 +1,76 @@
+package com.dragon.backend.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoGridTest {
+
+    private static final Comparator<GeoGrid.Hit> NEAREST_FIRST =
+            Comparator.comparingDouble(GeoGrid.Hit::distanceKm).thenComparingInt(GeoGrid.Hit::id);
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(42);
+        GeoGrid grid = new GeoGrid(0.5);
+        double[][] points = new double[5000][];
+        for (int id = 0; id < points.length; id++) {
+            // Clustered like real locations, plus a few near the poles and the antimeridian
+            double lat = id % 10 == 0 ? random.nextDouble() * 180 - 90 : 40 + random.nextGaussian() * 2;
+            double lon = id % 10 == 0 ? random.nextDouble() * 360 - 180 : 29 + random.nextGaussian() * 2;
+            points[id] = new double[]{lat, lon};
+            grid.put(id, lat, lon);
+        }
+
+        double[][] queries = {{40, 29}, {41.5, 27.3}, {0, 180}, {-12, -179.9}, {89.9, 10}, {-90, 0}, {65, 179.5}};
+        for (double[] query : queries) {
+            for (double radius : new double[]{1, 25, 300, 2500}) {
+                assertThat(grid.within(query[0], query[1], radius, 50))
+                        .isEqualTo(bruteForce(points, query[0], query[1], radius, 50));
+            }
+            assertThat(grid.nearest(query[0], query[1], 20, GeoGrid.MAX_DISTANCE_KM))
+                    .isEqualTo(bruteForce(points, query[0], query[1], GeoGrid.MAX_DISTANCE_KM, 20));
+            assertThat(grid.nearest(query[0], query[1], 20, 100))
+                    .isEqualTo(bruteForce(points, query[0], query[1], 100, 20));
+        }
+    }
+
+    @Test
+    void movesAndRemovesPoints() {
+        GeoGrid grid = new GeoGrid(0.1);
+        grid.put(1, 41.0, 29.0);
+        grid.put(2, 41.01, 29.01);
+        grid.put(1, 48.85, 2.35);
+
+        assertThat(grid.size()).isEqualTo(2);
+        assertThat(grid.within(41.0, 29.0, 10, 10)).extracting(GeoGrid.Hit::id).containsExactly(2);
+        assertThat(grid.nearest(48.86, 2.34, 1, 10)).extracting(GeoGrid.Hit::id).containsExactly(1);
+
+        grid.remove(2);
+        assertThat(grid.within(41.0, 29.0, 10, 10)).isEmpty();
+        assertThat(grid.nearest(41.0, 29.0, 5, GeoGrid.MAX_DISTANCE_KM)).extracting(GeoGrid.Hit::id).containsExactly(1);
+    }
+
+    @Test
+    void rejectsCellsThatDoNotDivideTheCircle() {
+        assertThatThrownBy(() -> new GeoGrid(0.7)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<GeoGrid.Hit> bruteForce(double[][] points, double lat, double lon, double radiusKm, int limit) {
+        List<GeoGrid.Hit> hits = new ArrayList<>();
+        for (int id = 0; id < points.length; id++) {
+            double distance = GeoGrid.distanceKm(lat, lon, points[id][0], points[id][1]);
+            if (distance <= radiusKm) {
+                hits.add(new GeoGrid.Hit(id, distance));
+            }
+        }
+        hits.sort(NEAREST_FIRST);
+        return hits.subList(0, Math.min(limit, hits.size()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.dragon.backend.service.optimizer;
+
+import com.dragon.backend.config.LineupOptimizerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class LineupOptimizerTest {
+
+    private static final int ROWS = 10;
+
+    private final LineupOptimizer optimizer = new LineupOptimizer(new LineupOptimizerProperties());
+
+    @AfterEach
+    void tearDown() {
+        optimizer.destroy();
+    }
+
+    @Test
+    void balancesAFullBoatWithinTheDeadline() {
+        Random random = new Random(42);
+        int candidates = 22;
+        double[] weights = new double[candidates];
+        int[] sides = new int[candidates];
+        for (int i = 0; i < candidates; i++) {
+            weights[i] = 55 + random.nextInt(45);
+            sides[i] = i < 6 ? SeatingProblem.LEFT : i < 12 ? SeatingProblem.RIGHT : SeatingProblem.ANY_SIDE;
+        }
+        int[] pinned = free();
+        pinned[0] = 0; // L1
+        pinned[ROWS] = 6; // R1
+        SeatingProblem problem = new SeatingProblem(ROWS, weights, sides, pinned);
+
+        long began = System.nanoTime();
+        SeatingSolution solution = optimizer.optimize(problem, Duration.ofMillis(50));
+        long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(250);
+        assertThat(solution.seats()[0]).isZero();
+        assertThat(solution.seats()[ROWS]).isEqualTo(6);
+        assertThat(Arrays.stream(solution.seats()).filter(candidate -> candidate >= 0).distinct().count())
+                .isEqualTo(2 * ROWS);
+        assertThat(solution.sideViolations()).isZero();
+        assertThat(Math.abs(solution.imbalance())).isLessThanOrEqualTo(5);
+        assertThat(Math.abs(solution.trimMoment())).isLessThanOrEqualTo(20);
+        assertSideSumsMatch(problem, solution);
+    }
+
+    @Test
+    void leavesPinnedEmptySeatsEmptyAndSeatsEveryoneWhenShortHanded() {
+        double[] weights = {80, 60, 70, 90, 65};
+        int[] sides = new int[weights.length];
+        int[] pinned = free();
+        pinned[ROWS - 1] = SeatingProblem.EMPTY; // L10
+
+        SeatingSolution solution = optimizer.optimize(new SeatingProblem(ROWS, weights, sides, pinned),
+                Duration.ofMillis(20));
+
+        assertThat(solution.seats()[ROWS - 1]).isEqualTo(-1);
+        assertThat(Arrays.stream(solution.seats()).filter(candidate -> candidate >= 0).sorted().toArray())
+                .containsExactly(0, 1, 2, 3, 4);
+    }
+
+    private static int[] free() {
+        int[] pinned = new int[2 * ROWS];
+        Arrays.fill(pinned, SeatingProblem.FREE);
+        return pinned;
+    }
+
+    private static void assertSideSumsMatch(SeatingProblem problem, SeatingSolution solution) {
+        double left = 0;
+        double right = 0;
+        for (int seat = 0; seat < problem.seats(); seat++) {
+            int candidate = solution.seats()[seat];
+            if (candidate >= 0) {
+                if (problem.sideOf(seat) == SeatingProblem.LEFT) {
+                    left += problem.weights()[candidate];
+                } else {
+                    right += problem.weights()[candidate];
+                }
+            }
+        }
+        assertThat(solution.imbalance()).isCloseTo(left - right, offset(1e-6));
+    }
+}
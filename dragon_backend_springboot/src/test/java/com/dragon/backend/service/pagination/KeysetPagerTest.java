@@ -0,0 +1,82 @@
+package com.dragon.backend.service.pagination;
+
+import com.dragon.backend.config.JpaConfig;
+import com.dragon.backend.model.Person;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, KeysetPager.class})
+class KeysetPagerTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            // Duplicate names exercise the id tie-breaker
+            entityManager.persist(Person.builder().name("Paddler " + (i % 5)).phone("55500000" + String.format("%02d", i))
+                    .side(Person.Side.BOTH).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void walksEveryRowExactlyOnceInOrder() {
+        List<Person> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<Person> page = keysetPager.findPage(Person.class, null, KeysetSort.parse("name", "name"), cursor, 10);
+            seen.addAll(page.items());
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(ROWS);
+        assertThat(seen).extracting(Person::getId).doesNotHaveDuplicates();
+        // Databases order UUIDs by their unsigned bytes, which matches the hex string order (UUID.compareTo is signed)
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(Person::getName).thenComparing(p -> p.getId().toString()));
+    }
+
+    @Test
+    void descendingOrderingAndPageSizeCap() {
+        KeysetPage<Person> first = keysetPager.findPage(Person.class, null, KeysetSort.parse("-name", "name"), null, 1000);
+
+        assertThat(first.items()).hasSize(ROWS);
+        assertThat(first.next()).isNull();
+        assertThat(first.items().get(0).getName()).isEqualTo("Paddler 4");
+    }
+
+    @Test
+    void rejectsUnknownOrderingAndBrokenCursor() {
+        assertThatThrownBy(() -> KeysetSort.parse("phone", "createdAt", "name"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> keysetPager.findPage(Person.class, null, KeysetSort.parse(null, "createdAt"), "%%%", 10))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
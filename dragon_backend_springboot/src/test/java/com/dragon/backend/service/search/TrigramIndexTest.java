@@ -0,0 +1,62 @@
+package com.dragon.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex<Integer> index = new TrigramIndex<>(0.5);
+
+    @Test
+    void ranksPrefixesFirstAndToleratesTypos() {
+        index.put(1, "Ayşe Yılmaz", "5551112233");
+        index.put(2, "Mehmet Aydın", "5552223344");
+        index.put(3, "Ayla Demir", "5553334455");
+        index.put(4, "Zeynep Kaya", "5554445566");
+        index.put(5, "Can Ayyıldız", "5555556677");
+
+        // Whole-name prefix, then word prefix; ties by length, then alphabetically
+        assertThat(keys("ay")).containsExactly(3, 1, 5, 2);
+        assertThat(keys("ayşe y")).startsWith(1);
+        // Accents and dotless ı are folded on both sides
+        assertThat(keys("ayse yilmaz")).startsWith(1);
+        assertThat(keys("YILMAZ")).containsExactly(1);
+        // A swapped pair of letters still finds the name
+        assertThat(keys("zeyenp")).containsExactly(4);
+        assertThat(keys("qqq")).isEmpty();
+        assertThat(index.search("ay", 2)).hasSize(2);
+    }
+
+    @Test
+    void searchesPhoneNumbersByDigits() {
+        index.put(1, "Anna", "5550000001");
+        index.put(2, "Ben", "5550000002");
+        index.put(3, "Carl", "4441230001");
+
+        assertThat(keys("0001")).containsExactly(1, 3);
+        assertThat(keys("555 000 0002")).containsExactly(2);
+        assertThat(keys("123")).containsExactly(3);
+        assertThat(keys("55")).isEmpty();
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        index.put(1, "Anna", "5550000001");
+        index.put(2, "Anne", "5550000002");
+        index.put(1, "Hanna", "5550000009");
+        index.remove(2);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(keys("anne")).isEmpty();
+        assertThat(keys("hann")).containsExactly(1);
+        assertThat(keys("5550000001")).isEmpty();
+        assertThat(keys("0009")).containsExactly(1);
+    }
+
+    private List<Integer> keys(String query) {
+        return index.search(query, 10).stream().map(TrigramIndex.Match::key).toList();
+    }
+}